@@ -0,0 +1,173 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * One benchmarked operation. {@link #run()} is called for a number of warmup iterations, so the JIT compiles the hot
+ * path, and then timed for each measured iteration. {@link #setUp()} is called before every iteration and
+ * {@link #tearDown()} after it; neither is timed. The value returned by {@link #run()} is consumed, so the JIT cannot
+ * remove the work as dead code.
+ */
+public abstract class Benchmark {
+
+	/**
+	 * Construct a benchmark.
+	 *
+	 * @param name Benchmark name, such as the class and method measured
+	 */
+	public Benchmark( final String name ) {
+		this.name = name;
+	}
+
+	/**
+	 * Get the benchmark name.
+	 *
+	 * @return Benchmark name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Run the warmup iterations, then time the measured iterations.
+	 *
+	 * @param warmup Number of warmup iterations
+	 * @param iterations Number of measured iterations
+	 * @return Timing of each measured iteration
+	 * @throws Exception if the benchmarked operation fails
+	 */
+	public Result measure( final int warmup, final int iterations ) throws Exception {
+		for( int i = 0; i < warmup; i++ ) {
+			setUp();
+			try {
+				consume( run() );
+			} finally {
+				tearDown();
+			}
+		}
+
+		final long[] times = new long[ iterations ];
+		for( int i = 0; i < iterations; i++ ) {
+			setUp();
+			try {
+				final long start = System.nanoTime();
+				final Object val = run();
+				times[ i ] = System.nanoTime() - start;
+				consume( val );
+			} finally {
+				tearDown();
+			}
+		}
+		return new Result( this.name, times );
+	}
+
+	/**
+	 * Prepare the next iteration, not timed. By default, nothing is done.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	protected void setUp() throws Exception {}
+
+	/**
+	 * Run the benchmarked operation once.
+	 *
+	 * @return Result of the operation, or null
+	 * @throws Exception if errors occur
+	 */
+	protected abstract Object run() throws Exception;
+
+	/**
+	 * Clean up after each iteration, not timed. By default, nothing is done.
+	 *
+	 * @throws Exception if errors occur
+	 */
+	protected void tearDown() throws Exception {}
+
+	private static void consume( final Object val ) {
+		sink ^= val == null ? 0: System.identityHashCode( val );
+	}
+
+	/**
+	 * Timing of the measured iterations of a benchmark.
+	 */
+	public static final class Result {
+
+		Result( final String name, final long[] times ) {
+			this.name = name;
+			this.times = times.clone();
+			Arrays.sort( this.times );
+		}
+
+		/**
+		 * Get the benchmark name.
+		 *
+		 * @return Benchmark name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Get the number of measured iterations.
+		 *
+		 * @return Number of iterations
+		 */
+		public int getIterations() {
+			return this.times.length;
+		}
+
+		/**
+		 * Get the slowest iteration.
+		 *
+		 * @return Max time in nanoseconds
+		 */
+		public long getMax() {
+			return this.times.length == 0 ? 0L: this.times[ this.times.length - 1 ];
+		}
+
+		/**
+		 * Get the mean iteration time.
+		 *
+		 * @return Mean time in nanoseconds
+		 */
+		public long getMean() {
+			long total = 0L;
+			for( final long time: this.times )
+				total += time;
+			return this.times.length == 0 ? 0L: total / this.times.length;
+		}
+
+		/**
+		 * Get the median iteration time, which is less sensitive to GC pauses than the mean.
+		 *
+		 * @return Median time in nanoseconds
+		 */
+		public long getMedian() {
+			return this.times.length == 0 ? 0L: this.times[ this.times.length / 2 ];
+		}
+
+		/**
+		 * Get the fastest iteration.
+		 *
+		 * @return Min time in nanoseconds
+		 */
+		public long getMin() {
+			return this.times.length == 0 ? 0L: this.times[ 0 ];
+		}
+
+		private final String name;
+		private final long[] times;
+	}
+
+	private final String name;
+	private static volatile int sink = 0;
+}
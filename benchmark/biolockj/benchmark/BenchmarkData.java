@@ -0,0 +1,295 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.util.*;
+import biolockj.Constants;
+import biolockj.util.OtuUtil;
+
+/**
+ * Synthetic FASTQ, OTU count and metadata files for the benchmarks. The data is generated from a fixed seed, so the
+ * same number of samples and depth always produce the same files, without any downloaded test data.<br>
+ * Depth is the number of reads in each FASTQ file and the total OTU count of each sample. OTUs are drawn from a
+ * taxonomy tree with every level from domain to species, with a long tail of rare OTUs in each sample.
+ */
+public class BenchmarkData {
+
+	/**
+	 * Construct the generator.
+	 *
+	 * @param numSamples Number of samples
+	 * @param depth Reads per sample
+	 * @param numOtus Number of unique OTUs in the taxonomy
+	 * @param seed Random seed
+	 */
+	public BenchmarkData( final int numSamples, final int depth, final int numOtus, final long seed ) {
+		this.depth = depth;
+		this.numOtus = numOtus;
+		this.seed = seed;
+		for( int i = 1; i <= numSamples; i++ )
+			this.sampleIds.add( String.format( "S%04d", i ) );
+	}
+
+	/**
+	 * Get the reads per sample.
+	 *
+	 * @return Depth
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Get the OTU of each taxonomy tree leaf, with every level from domain to species.
+	 *
+	 * @return List of OTUs
+	 */
+	public List<String> getOtus() {
+		if( this.otus == null ) {
+			this.otus = new ArrayList<>();
+			for( int i = 0; i < this.numOtus; i++ )
+				this.otus.add( getOtu( i, LEVELS.length ) );
+		}
+		return this.otus;
+	}
+
+	/**
+	 * Get the OTU counts of every sample. Each sample has a random subset of the OTUs, with counts that sum to the
+	 * depth and decrease geometrically from the most abundant OTU.
+	 *
+	 * @return TreeMap(SampleId, TreeMap(OTU, count))
+	 */
+	public TreeMap<String, TreeMap<String, Long>> getSampleOtuCounts() {
+		if( this.sampleOtuCounts == null ) {
+			this.sampleOtuCounts = new TreeMap<>();
+			for( int i = 0; i < this.sampleIds.size(); i++ ) {
+				final Random random = new Random( this.seed + i );
+				final List<String> sampleOtus = new ArrayList<>();
+				for( final String otu: getOtus() )
+					if( random.nextInt( 3 ) > 0 ) sampleOtus.add( otu );
+				Collections.shuffle( sampleOtus, random );
+
+				final TreeMap<String, Long> otuCounts = new TreeMap<>();
+				long remaining = this.depth;
+				for( int j = 0; j < sampleOtus.size() && remaining > 0; j++ ) {
+					final long count = j == sampleOtus.size() - 1 ? remaining: Math.max( 1L, remaining / 20 );
+					otuCounts.put( sampleOtus.get( j ), count );
+					remaining -= count;
+				}
+				this.sampleOtuCounts.put( this.sampleIds.get( i ), otuCounts );
+			}
+		}
+		return this.sampleOtuCounts;
+	}
+
+	/**
+	 * Get the sample IDs.
+	 *
+	 * @return Sample IDs
+	 */
+	public List<String> getSampleIds() {
+		return this.sampleIds;
+	}
+
+	/**
+	 * Write one FASTQ file per sample, named by Sample ID. Most reads start with {@value #PRIMER_SEQ}, and a few reads
+	 * are shorter than {@value #MIN_READ_LEN} bases.
+	 *
+	 * @param dir Output directory
+	 * @return FASTQ files
+	 * @throws IOException if unable to write the files
+	 */
+	public List<File> writeFastq( final File dir ) throws IOException {
+		final List<File> files = new ArrayList<>();
+		final char[] quals = new char[ READ_LEN ];
+		Arrays.fill( quals, 'I' );
+		final String qualLine = new String( quals );
+		for( int i = 0; i < this.sampleIds.size(); i++ ) {
+			final Random random = new Random( this.seed + i );
+			final String id = this.sampleIds.get( i );
+			final File file = new File( dir, id + "." + Constants.FASTQ );
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+			try {
+				final StringBuilder seq = new StringBuilder( READ_LEN );
+				for( int j = 0; j < this.depth; j++ ) {
+					seq.setLength( 0 );
+					if( random.nextInt( 10 ) > 0 ) seq.append( PRIMER_SEQ );
+					final int len = random.nextInt( 100 ) == 0 ? MIN_READ_LEN / 2: READ_LEN;
+					while( seq.length() < len )
+						seq.append( BASES[ random.nextInt( BASES.length ) ] );
+					seq.setLength( len );
+					writer.write( "@" + id + "." + j + " 1:N:0:1" + Constants.RETURN );
+					writer.write( seq + Constants.RETURN );
+					writer.write( "+" + Constants.RETURN );
+					writer.write( qualLine.substring( 0, len ) + Constants.RETURN );
+				}
+			} finally {
+				writer.close();
+			}
+			files.add( file );
+		}
+		return files;
+	}
+
+	/**
+	 * Write a metadata file with one row per sample. Numeric and categorical fields alternate, and a few cells are
+	 * set to {@value #NULL_VALUE}.
+	 *
+	 * @param dir Output directory
+	 * @param numFields Number of metadata fields
+	 * @return Metadata file
+	 * @throws IOException if unable to write the file
+	 */
+	public File writeMetadata( final File dir, final int numFields ) throws IOException {
+		final Random random = new Random( this.seed );
+		final File file = new File( dir, "metadata" + Constants.TSV_EXT );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			writer.write( "SAMPLE_ID" );
+			for( final String field: getMetaFields( numFields ) )
+				writer.write( Constants.TAB_DELIM + field );
+			writer.write( Constants.RETURN );
+			for( final String id: this.sampleIds ) {
+				writer.write( id );
+				for( int i = 0; i < numFields; i++ )
+					if( random.nextInt( 20 ) == 0 ) writer.write( Constants.TAB_DELIM + NULL_VALUE );
+					else if( i % 2 == 0 ) writer.write( Constants.TAB_DELIM + random.nextInt( 1000 ) );
+					else writer.write( Constants.TAB_DELIM + "group_" + random.nextInt( 4 ) );
+				writer.write( Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Write one OTU count file per sample, named as in {@link biolockj.module.implicit.parser.ParserModule} output.
+	 *
+	 * @param dir Output directory
+	 * @return OTU count files
+	 * @throws IOException if unable to write the files
+	 */
+	public List<File> writeOtuCountFiles( final File dir ) throws IOException {
+		final List<File> files = new ArrayList<>();
+		final TreeMap<String, TreeMap<String, Long>> sampleCounts = getSampleOtuCounts();
+		for( final String id: sampleCounts.keySet() ) {
+			final File file = new File( dir, "benchmark_" + Constants.OTU_COUNT + "_" + id + Constants.TSV_EXT );
+			writeOtuCounts( file, sampleCounts.get( id ) );
+			files.add( file );
+		}
+		return files;
+	}
+
+	/**
+	 * Write the OTU counts of all samples combined, as in {@link biolockj.module.report.otu.CompileOtuCounts}
+	 * output.
+	 *
+	 * @param dir Output directory
+	 * @return OTU summary file
+	 * @throws IOException if unable to write the file
+	 */
+	public File writeOtuSummary( final File dir ) throws IOException {
+		final TreeMap<String, Long> totals = new TreeMap<>();
+		for( final TreeMap<String, Long> otuCounts: getSampleOtuCounts().values() )
+			for( final String otu: otuCounts.keySet() )
+				totals.merge( otu, otuCounts.get( otu ), Long::sum );
+		final File file = new File( dir, "benchmark_summary_" + Constants.OTU_COUNT + Constants.TSV_EXT );
+		writeOtuCounts( file, totals );
+		return file;
+	}
+
+	/**
+	 * Get the metadata field names written by {@link #writeMetadata(File, int)}.
+	 *
+	 * @param numFields Number of metadata fields
+	 * @return Field names
+	 */
+	public static List<String> getMetaFields( final int numFields ) {
+		final List<String> fields = new ArrayList<>();
+		for( int i = 1; i <= numFields; i++ )
+			fields.add( "field_" + i );
+		return fields;
+	}
+
+	/**
+	 * Get the OTU of a taxonomy tree node, down to the given number of levels. Each genus has 2 species, and each
+	 * higher level has 3 children, so OTUs that share a parent are next to each other.
+	 *
+	 * @param index OTU index
+	 * @param numLevels Number of levels, starting at domain
+	 * @return OTU path
+	 */
+	static String getOtu( final int index, final int numLevels ) {
+		final int[] nodes = new int[ LEVELS.length ];
+		nodes[ LEVELS.length - 1 ] = index;
+		nodes[ LEVELS.length - 2 ] = index / 2;
+		for( int i = LEVELS.length - 3; i > 0; i-- )
+			nodes[ i ] = nodes[ i + 1 ] / 3;
+		nodes[ 0 ] = nodes[ 1 ] % 2;
+
+		final StringBuilder otu = new StringBuilder();
+		for( int i = 0; i < numLevels; i++ ) {
+			final String taxa = i == 0 ? nodes[ 0 ] == 0 ? "Bacteria": "Archaea": LEVELS[ i ] + "_" + nodes[ i ];
+			otu.append( i == 0 ? "": Constants.OTU_SEPARATOR ).append( OtuUtil.buildOtuTaxa( LEVELS[ i ], taxa ) );
+		}
+		return otu.toString();
+	}
+
+	private static void writeOtuCounts( final File file, final Map<String, Long> otuCounts ) throws IOException {
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			for( final String otu: otuCounts.keySet() )
+				writer.write( otu + Constants.TAB_DELIM + otuCounts.get( otu ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Taxonomy levels of the generated OTUs
+	 */
+	public static final String[] LEVELS = { Constants.DOMAIN, Constants.PHYLUM, Constants.CLASS, Constants.ORDER,
+		Constants.FAMILY, Constants.GENUS, Constants.SPECIES };
+
+	/**
+	 * Reads shorter than this are written to test the min read length validation: {@value #MIN_READ_LEN}
+	 */
+	public static final int MIN_READ_LEN = 50;
+
+	/**
+	 * Metadata null value: {@value #NULL_VALUE}
+	 */
+	public static final String NULL_VALUE = "NA";
+
+	/**
+	 * Primer regular expression matched by {@link biolockj.module.seq.TrimPrimers}: {@value #PRIMER}
+	 */
+	public static final String PRIMER = "^GTGCCAGC[AC]GCCGCGGTAA";
+
+	/**
+	 * Primer sequence at the start of most reads: {@value #PRIMER_SEQ}
+	 */
+	public static final String PRIMER_SEQ = "GTGCCAGCAGCCGCGGTAA";
+
+	/**
+	 * Read length: {@value #READ_LEN}
+	 */
+	public static final int READ_LEN = 150;
+
+	private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+	private final int depth;
+	private final int numOtus;
+	private List<String> otus = null;
+	private final List<String> sampleIds = new ArrayList<>();
+	private TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = null;
+	private final long seed;
+}
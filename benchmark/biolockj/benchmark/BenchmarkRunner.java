@@ -0,0 +1,269 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.regex.Pattern;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.util.BioLockJUtil;
+import biolockj.util.MetaUtil;
+import biolockj.util.TaxaUtil;
+
+/**
+ * Run the benchmarks of the BioLockJ Java hot paths on synthetic data, then print the time per iteration of each
+ * benchmark. Run with the Ant target "benchmark", or with the benchmark classes, BioLockJ classes and lib jars on the
+ * classpath. All parameters are optional:
+ * <ul>
+ * <li>{@value #SAMPLES} Number of samples, default {@value #DEFAULT_SAMPLES}
+ * <li>{@value #DEPTH} Reads per sample, default {@value #DEFAULT_DEPTH}
+ * <li>{@value #OTUS} Number of unique OTUs, default {@value #DEFAULT_OTUS}
+ * <li>{@value #SEED} Random seed of the synthetic data, default {@value #DEFAULT_SEED}
+ * <li>{@value #THREADS} {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}, default 1
+ * <li>{@value #WARMUP} Number of warmup iterations, default {@value #DEFAULT_WARMUP}
+ * <li>{@value #ITERATIONS} Number of measured iterations, default {@value #DEFAULT_ITERATIONS}
+ * <li>{@value #FILTER} Regular expression, only run benchmarks with a matching name
+ * <li>{@value #DIR} Directory for the synthetic data, default is a new temp directory
+ * <li>{@value #OUT} Append the results to this tab delimited file, to compare runs of different builds
+ * <li>{@value #LABEL} Label of this run in the {@value #OUT} file, such as a git revision
+ * </ul>
+ * To compare BuildTaxaTables with its per-level baseline on a large study, run with 1,000 samples:
+ * {@code -samples 1000 -filter BuildTaxaTables -iterations 3}
+ */
+public class BenchmarkRunner {
+
+	// Prevent instantiation
+	private BenchmarkRunner() {}
+
+	/**
+	 * Generate the synthetic data, run the benchmarks and report the results.
+	 *
+	 * @param args Runtime parameters
+	 */
+	public static void main( final String[] args ) {
+		try {
+			final Map<String, String> params = parseParams( args );
+			final int numSamples = getInt( params, SAMPLES, DEFAULT_SAMPLES );
+			final int depth = getInt( params, DEPTH, DEFAULT_DEPTH );
+			final int numOtus = getInt( params, OTUS, DEFAULT_OTUS );
+			final File dir = params.get( DIR ) == null ? Files.createTempDirectory( "biolockj_benchmark" ).toFile():
+				requireDir( new File( params.get( DIR ) ), "" );
+
+			Log.enableLogs( false );
+			Config.partiallyInitialize( writeConfig( dir, getInt( params, THREADS, 1 ) ) );
+			TaxaUtil.initTaxaLevels();
+
+			System.out.println( "Generate " + numSamples + " samples with depth " + depth + " and " + numOtus +
+				" OTUs in: " + dir.getAbsolutePath() );
+			final BenchmarkData data =
+				new BenchmarkData( numSamples, depth, numOtus, Long.valueOf( get( params, SEED, DEFAULT_SEED ) ) );
+			final List<Benchmark> benchmarks = new ArrayList<>();
+			SeqBenchmarks.addBenchmarks( benchmarks, data, dir );
+			OtuBenchmarks.addBenchmarks( benchmarks, data, dir );
+			ReportBenchmarks.addBenchmarks( benchmarks, data, dir );
+
+			final Pattern filter = params.get( FILTER ) == null ? null: Pattern.compile( params.get( FILTER ) );
+			final int warmup = getInt( params, WARMUP, DEFAULT_WARMUP );
+			final int iterations = getInt( params, ITERATIONS, DEFAULT_ITERATIONS );
+			final List<Benchmark.Result> results = new ArrayList<>();
+			System.out.println( String.format( RESULT_FORMAT, "Benchmark", "Mean(ms)", "Median(ms)", "Min(ms)",
+				"Max(ms)" ) );
+			for( final Benchmark benchmark: benchmarks )
+				if( filter == null || filter.matcher( benchmark.getName() ).find() ) {
+					final Benchmark.Result result = benchmark.measure( warmup, iterations );
+					System.out.println( String.format( RESULT_FORMAT, result.getName(), toMillis( result.getMean() ),
+						toMillis( result.getMedian() ), toMillis( result.getMin() ), toMillis( result.getMax() ) ) );
+					results.add( result );
+				}
+
+			if( params.get( OUT ) != null ) writeResults( new File( params.get( OUT ) ),
+				get( params, LABEL, BioLockJUtil.getVersion() ), numSamples, depth, numOtus, results );
+		} catch( final Exception ex ) {
+			ex.printStackTrace();
+			System.exit( 1 );
+		}
+	}
+
+	/**
+	 * Get a sub-directory of the benchmark directory, created if it does not exist.
+	 *
+	 * @param dir Benchmark directory
+	 * @param name Sub-directory name
+	 * @return Sub-directory
+	 */
+	static File requireDir( final File dir, final String name ) {
+		final File subDir = name.isEmpty() ? dir: new File( dir, name );
+		if( !subDir.isDirectory() ) subDir.mkdirs();
+		return subDir;
+	}
+
+	private static String get( final Map<String, String> params, final String name, final Object defaultVal ) {
+		return params.get( name ) == null ? String.valueOf( defaultVal ): params.get( name );
+	}
+
+	private static int getInt( final Map<String, String> params, final String name, final int defaultVal )
+		throws Exception {
+		final int val = Integer.valueOf( get( params, name, defaultVal ) );
+		if( val < ( name.equals( WARMUP ) ? 0: 1 ) ) throw new Exception( "Invalid " + name + " value: " + val );
+		return val;
+	}
+
+	private static Map<String, String> parseParams( final String[] args ) throws Exception {
+		final Map<String, String> params = new HashMap<>();
+		for( int i = 0; i < args.length; i++ ) {
+			if( !PARAMS.contains( args[ i ] ) || i + 1 == args.length )
+				throw new Exception( "Invalid benchmark parameter: " + args[ i ] + " --> Valid parameters: " + PARAMS );
+			params.put( args[ i ], args[ ++i ] );
+		}
+		return params;
+	}
+
+	private static String toMillis( final long nanos ) {
+		return String.format( "%.3f", nanos / 1000000.0 );
+	}
+
+	/**
+	 * Write the benchmark Config file. Properties are set here so results do not depend on the standard properties
+	 * of the local install.
+	 */
+	private static File writeConfig( final File dir, final int numThreads ) throws IOException {
+		final File config = new File( dir, "benchmark" + Constants.PROPS_EXT );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( config ) );
+		try {
+			writer.write( Constants.INTERNAL_SEQ_TYPE + "=" + Constants.FASTQ + Constants.RETURN );
+			writer.write( Constants.INTERNAL_IS_MULTI_LINE_SEQ + "=" + Constants.FALSE + Constants.RETURN );
+			writer.write( Constants.LOG_LEVEL_PROPERTY + "=" + Log.INFO + Constants.RETURN );
+			writer.write( Constants.REPORT_BINARY_TABLES + "=" + Constants.TRUE + Constants.RETURN );
+			writer.write( Constants.REPORT_TAXONOMY_LEVELS + "=" +
+				BioLockJUtil.getCollectionAsString( Arrays.asList( BenchmarkData.LEVELS ) ) + Constants.RETURN );
+			writer.write( Constants.REPORT_UNCLASSIFIED_TAXA + "=" + Constants.TRUE + Constants.RETURN );
+			writer.write( Constants.SCRIPT_NUM_THREADS + "=" + numThreads + Constants.RETURN );
+			writer.write( MetaUtil.META_NULL_VALUE + "=" + BenchmarkData.NULL_VALUE + Constants.RETURN );
+			writer.write( SEQ_MIN_LEN + "=" + BenchmarkData.MIN_READ_LEN + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		return config;
+	}
+
+	private static void writeResults( final File file, final String label, final int numSamples, final int depth,
+		final int numOtus, final List<Benchmark.Result> results ) throws IOException {
+		final boolean addHeader = !file.isFile();
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file, true ) );
+		try {
+			if( addHeader ) writer.write( "Label" + Constants.TAB_DELIM + "Benchmark" + Constants.TAB_DELIM +
+				"Samples" + Constants.TAB_DELIM + "Depth" + Constants.TAB_DELIM + "OTUs" + Constants.TAB_DELIM +
+				"Iterations" + Constants.TAB_DELIM + "Mean(ns)" + Constants.TAB_DELIM + "Median(ns)" +
+				Constants.TAB_DELIM + "Min(ns)" + Constants.TAB_DELIM + "Max(ns)" + Constants.RETURN );
+			for( final Benchmark.Result result: results )
+				writer.write( label + Constants.TAB_DELIM + result.getName() + Constants.TAB_DELIM + numSamples +
+					Constants.TAB_DELIM + depth + Constants.TAB_DELIM + numOtus + Constants.TAB_DELIM +
+					result.getIterations() + Constants.TAB_DELIM + result.getMean() + Constants.TAB_DELIM +
+					result.getMedian() + Constants.TAB_DELIM + result.getMin() + Constants.TAB_DELIM +
+					result.getMax() + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		System.out.println( "Results saved to: " + file.getAbsolutePath() );
+	}
+
+	/**
+	 * Default number of samples: {@value #DEFAULT_SAMPLES}
+	 */
+	public static final int DEFAULT_SAMPLES = 24;
+
+	/**
+	 * Default reads per sample: {@value #DEFAULT_DEPTH}
+	 */
+	public static final int DEFAULT_DEPTH = 10000;
+
+	/**
+	 * Default measured iterations: {@value #DEFAULT_ITERATIONS}
+	 */
+	public static final int DEFAULT_ITERATIONS = 10;
+
+	/**
+	 * Default number of unique OTUs: {@value #DEFAULT_OTUS}
+	 */
+	public static final int DEFAULT_OTUS = 2000;
+
+	/**
+	 * Default random seed: {@value #DEFAULT_SEED}
+	 */
+	public static final long DEFAULT_SEED = 20260101L;
+
+	/**
+	 * Default warmup iterations: {@value #DEFAULT_WARMUP}
+	 */
+	public static final int DEFAULT_WARMUP = 3;
+
+	/**
+	 * Runtime parameter: {@value #DEPTH}
+	 */
+	public static final String DEPTH = "-depth";
+
+	/**
+	 * Runtime parameter: {@value #DIR}
+	 */
+	public static final String DIR = "-dir";
+
+	/**
+	 * Runtime parameter: {@value #FILTER}
+	 */
+	public static final String FILTER = "-filter";
+
+	/**
+	 * Runtime parameter: {@value #ITERATIONS}
+	 */
+	public static final String ITERATIONS = "-iterations";
+
+	/**
+	 * Runtime parameter: {@value #LABEL}
+	 */
+	public static final String LABEL = "-label";
+
+	/**
+	 * Runtime parameter: {@value #OTUS}
+	 */
+	public static final String OTUS = "-otus";
+
+	/**
+	 * Runtime parameter: {@value #OUT}
+	 */
+	public static final String OUT = "-out";
+
+	/**
+	 * Runtime parameter: {@value #SAMPLES}
+	 */
+	public static final String SAMPLES = "-samples";
+
+	/**
+	 * Runtime parameter: {@value #SEED}
+	 */
+	public static final String SEED = "-seed";
+
+	/**
+	 * Runtime parameter: {@value #THREADS}
+	 */
+	public static final String THREADS = "-threads";
+
+	/**
+	 * Runtime parameter: {@value #WARMUP}
+	 */
+	public static final String WARMUP = "-warmup";
+
+	private static final List<String> PARAMS =
+		Arrays.asList( DEPTH, DIR, FILTER, ITERATIONS, LABEL, OTUS, OUT, SAMPLES, SEED, THREADS, WARMUP );
+	private static final String RESULT_FORMAT = "%-50s %12s %12s %12s %12s";
+	private static final String SEQ_MIN_LEN = "seqFileValidator.seqMinLen";
+}
@@ -0,0 +1,317 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.*;
+import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import biolockj.ConfigSnapshot;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.module.report.otu.RarefyOtuCounts;
+import biolockj.module.report.taxa.BuildTaxaTables;
+import biolockj.node.OtuNode;
+import biolockj.node.OtuNodeImpl;
+import biolockj.node.ParsedSample;
+import biolockj.util.*;
+
+/**
+ * Benchmarks of the OTU count hot paths: parsed samples, rarefaction, taxa table construction and taxa table reads.
+ */
+public class OtuBenchmarks {
+
+	// Prevent instantiation
+	private OtuBenchmarks() {}
+
+	/**
+	 * Add the OTU count benchmarks to the list.
+	 *
+	 * @param benchmarks List of benchmarks
+	 * @param data Synthetic data
+	 * @param dir Benchmark directory
+	 * @throws Exception if unable to generate the data
+	 */
+	public static void addBenchmarks( final List<Benchmark> benchmarks, final BenchmarkData data, final File dir )
+		throws Exception {
+		final List<File> otuFiles = data.writeOtuCountFiles( BenchmarkRunner.requireDir( dir, "otuCounts" ) );
+		final List<List<OtuNode>> sampleNodes = getSampleNodes( data );
+
+		benchmarks.add( new Benchmark( "ParsedSample.getOtuCounts" ) {
+			@Override
+			protected Object run() throws Exception {
+				long numOtus = 0L;
+				for( final List<OtuNode> nodes: sampleNodes ) {
+					final ParsedSample sample = new ParsedSample( nodes.get( 0 ) );
+					for( int i = 1; i < nodes.size(); i++ )
+						sample.addNode( nodes.get( i ) );
+					numOtus += sample.getOtuCounts().size();
+				}
+				return numOtus;
+			}
+		} );
+
+		final TreeMap<String, OtuUtil.OtuCounts> sampleOtuCounts =
+			OtuUtil.getSampleOtuCounts( otuFiles, new OtuDictionary() );
+		benchmarks.add( new Benchmark( "RarefyOtuCounts.rarefy" ) {
+			@Override
+			protected Object run() {
+				long total = 0L;
+				final Random random = new Random( RANDOM_SEED );
+				for( final OtuUtil.OtuCounts otuCounts: sampleOtuCounts.values() )
+					total += Rarefier.rarefy( otuCounts, data.getDepth() / 2, random ).getTotal();
+				return total;
+			}
+		} );
+
+		final File tableDir = BenchmarkRunner.requireDir( dir, "BuildTaxaTables" );
+		benchmarks.add( new Benchmark( "BuildTaxaTables.buildTaxonomyTables" ) {
+			@Override
+			protected void setUp() {
+				this.builder = new TableBuilder( tableDir );
+			}
+
+			@Override
+			protected Object run() throws Exception {
+				this.builder.build( OtuUtil.getSampleOtuCounts( otuFiles, new OtuDictionary() ) );
+				return this.builder;
+			}
+
+			private TableBuilder builder = null;
+		} );
+
+		final File levelTableDir = BenchmarkRunner.requireDir( dir, "LevelTableBuilder" );
+		benchmarks.add( new Benchmark( "BuildTaxaTables per-level (baseline)" ) {
+			@Override
+			protected Object run() throws Exception {
+				return new LevelTableBuilder( levelTableDir, false ).build( OtuUtil.getSampleOtuCounts( otuFiles ) );
+			}
+		} );
+
+		final File logFile = new File( dir, "benchmark" + Constants.LOG_EXT );
+		addDebugOffBenchmark( benchmarks, "BuildTaxaTables DEBUG off, eager (baseline)", otuFiles, levelTableDir,
+			logFile, false );
+		addDebugOffBenchmark( benchmarks, "BuildTaxaTables DEBUG off, parameterized", otuFiles, levelTableDir,
+			logFile, true );
+
+		final TableBuilder builder = new TableBuilder( BenchmarkRunner.requireDir( dir, "taxaTables" ) );
+		builder.build( OtuUtil.getSampleOtuCounts( otuFiles, new OtuDictionary() ) );
+		final File table = TaxaUtil.getTaxonomyTableFile( builder.getOutputDir(), TaxaUtil.bottomTaxaLevel(), null );
+		final File textTable = new File( BenchmarkRunner.requireDir( dir, "textTables" ), table.getName() );
+		FileUtils.copyFile( table, textTable );
+
+		benchmarks.add( new Benchmark( "TaxaUtil.readTaxaTable (text)" ) {
+			@Override
+			protected Object run() throws Exception {
+				return TaxaUtil.readTaxaTable( textTable );
+			}
+		} );
+
+		if( BinaryTableUtil.getBinaryFile( table ).isFile() )
+			benchmarks.add( new Benchmark( "TaxaUtil.readTaxaTable (binary)" ) {
+				@Override
+				protected Object run() throws Exception {
+					return TaxaUtil.readTaxaTable( table );
+				}
+			} );
+	}
+
+	/**
+	 * Add a per-level BuildTaxaTables benchmark that writes a DEBUG message for every cell, with logs enabled as in a
+	 * pipeline whose log level is INFO. The eager form builds every message before {@link Log} drops it, the
+	 * parameterized form only checks {@link Log#doDebug(Class)}. The benchmarks run without a pipeline, so the log
+	 * file cannot be set by {@link Log#initialize(String)}; it is set directly and cleared after each iteration.
+	 */
+	private static void addDebugOffBenchmark( final List<Benchmark> benchmarks, final String name,
+		final List<File> otuFiles, final File outputDir, final File logFile, final boolean lazyDebug ) {
+		benchmarks.add( new Benchmark( name ) {
+			@Override
+			protected void setUp() throws Exception {
+				logFile.createNewFile();
+				this.rootLevel = LogManager.getRootLogger().getLevel();
+				LogManager.getRootLogger().setLevel( Level.INFO );
+				setLogFile( logFile );
+				Log.enableLogs( true );
+			}
+
+			@Override
+			protected Object run() throws Exception {
+				return new LevelTableBuilder( outputDir, lazyDebug ).build( OtuUtil.getSampleOtuCounts( otuFiles ) );
+			}
+
+			@Override
+			protected void tearDown() throws Exception {
+				Log.enableLogs( false );
+				setLogFile( null );
+				LogManager.getRootLogger().setLevel( this.rootLevel );
+			}
+
+			private Level rootLevel = null;
+		} );
+	}
+
+	/**
+	 * Build the OtuNodes a parser would create for each sample, one per OTU count. Every 5th OTU also has a node
+	 * classified only to the family level, with a higher count than the OTU, so unclassified taxa are added.
+	 */
+	private static List<List<OtuNode>> getSampleNodes( final BenchmarkData data ) throws Exception {
+		final List<String> otus = data.getOtus();
+		final List<List<OtuNode>> sampleNodes = new ArrayList<>();
+		for( final String id: data.getSampleOtuCounts().keySet() ) {
+			final TreeMap<String, Long> otuCounts = data.getSampleOtuCounts().get( id );
+			final List<OtuNode> nodes = new ArrayList<>();
+			for( int i = 0; i < otus.size(); i++ ) {
+				final Long count = otuCounts.get( otus.get( i ) );
+				if( count == null ) continue;
+				nodes.add( newNode( id, otus.get( i ), count ) );
+				if( i % 5 == 0 ) nodes.add( newNode( id, BenchmarkData.getOtu( i, 5 ), count + 1 ) );
+			}
+			for( final OtuNode node: nodes )
+				node.getOtuName();
+			sampleNodes.add( nodes );
+		}
+		return sampleNodes;
+	}
+
+	private static OtuNode newNode( final String sampleId, final String otu, final long count ) throws Exception {
+		final OtuNode node = new OtuNodeImpl() {};
+		node.setSampleId( sampleId );
+		node.setCount( count );
+		node.setLine( otu );
+		for( final String level: BenchmarkData.LEVELS ) {
+			final String taxa = TaxaUtil.getTaxaName( otu, level );
+			if( taxa != null ) node.addTaxa( taxa, level );
+		}
+		return node;
+	}
+
+	private static void setLogFile( final File logFile ) throws Exception {
+		final Field field = Log.class.getDeclaredField( "logFile" );
+		field.setAccessible( true );
+		field.set( null, logFile );
+	}
+
+	/**
+	 * Exposes {@link biolockj.module.report.otu.RarefyOtuCounts} rarefaction of one sample.
+	 */
+	private static final class Rarefier extends RarefyOtuCounts {
+
+		static OtuUtil.OtuCounts rarefy( final OtuUtil.OtuCounts otuCounts, final long quantileNum,
+			final Random random ) {
+			return rarefy( otuCounts, quantileNum, NUM_RAREFY_ITERATIONS, false, random );
+		}
+	}
+
+	/**
+	 * The BuildTaxaTables algorithm before the level tables were built in one pass, kept as the baseline. The unique
+	 * taxa and the taxa counts of every sample are rebuilt for each level, and each cell is looked up in the TreeMap of
+	 * the sample taxa counts. Each cell is logged with an eager DEBUG message, as it was, or a parameterized one.
+	 */
+	private static final class LevelTableBuilder {
+
+		LevelTableBuilder( final File outputDir, final boolean lazyDebug ) {
+			this.outputDir = outputDir;
+			this.lazyDebug = lazyDebug;
+		}
+
+		long build( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts ) throws Exception {
+			final TreeSet<String> otus = OtuUtil.findUniqueOtus( sampleOtuCounts );
+			long totalOtus = 0L;
+			boolean topLevel = true;
+			for( final String level: TaxaUtil.getTaxaLevels() ) {
+				final TreeSet<String> levelTaxa = TaxaUtil.findUniqueTaxa( otus, level );
+				final TreeMap<String, TreeMap<String, Long>> levelTaxaCounts =
+					getLevelTaxaCounts( sampleOtuCounts, level );
+				final BufferedWriter writer = new BufferedWriter(
+					new FileWriter( TaxaUtil.getTaxonomyTableFile( this.outputDir, level, null ) ) );
+				try {
+					writer.write( MetaUtil.getID() );
+					for( final String taxa: levelTaxa )
+						writer.write( Constants.TAB_DELIM + taxa );
+					writer.write( Constants.RETURN );
+
+					for( final String sampleId: sampleOtuCounts.keySet() ) {
+						final TreeMap<String, Long> taxaCounts = levelTaxaCounts.get( sampleId );
+						if( taxaCounts == null ) continue;
+						writer.write( sampleId );
+						for( final String taxa: levelTaxa ) {
+							Long count = 0L;
+							if( taxaCounts.keySet().contains( taxa ) ) {
+								count = taxaCounts.get( taxa );
+								if( topLevel ) totalOtus += count;
+							}
+							writer.write( Constants.TAB_DELIM + count );
+							if( this.lazyDebug ) Log.debug( BuildTaxaTables.class, "{}:{}={}", sampleId, taxa, count );
+							else Log.debug( BuildTaxaTables.class, sampleId + ":" + taxa + "=" + count );
+						}
+						writer.write( Constants.RETURN );
+					}
+				} finally {
+					writer.close();
+				}
+				topLevel = false;
+			}
+			return totalOtus;
+		}
+
+		private static TreeMap<String, TreeMap<String, Long>> getLevelTaxaCounts(
+			final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts, final String level ) {
+			final TreeMap<String, TreeMap<String, Long>> taxaCounts = new TreeMap<>();
+			for( final String sampleId: sampleOtuCounts.keySet() ) {
+				final TreeMap<String, Long> otuCounts = sampleOtuCounts.get( sampleId );
+				for( final String otu: otuCounts.keySet() ) {
+					final String taxa = TaxaUtil.getTaxaName( otu, level );
+					if( taxa != null ) {
+						if( taxaCounts.get( sampleId ) == null ) taxaCounts.put( sampleId, new TreeMap<>() );
+						if( taxaCounts.get( sampleId ).get( taxa ) == null ) taxaCounts.get( sampleId ).put( taxa, 0L );
+						taxaCounts.get( sampleId ).put( taxa,
+							taxaCounts.get( sampleId ).get( taxa ) + otuCounts.get( otu ) );
+					}
+				}
+			}
+			return taxaCounts;
+		}
+
+		private final boolean lazyDebug;
+		private final File outputDir;
+	}
+
+	/**
+	 * BuildTaxaTables that writes to a benchmark directory, so it runs without a pipeline.
+	 */
+	private static final class TableBuilder extends BuildTaxaTables {
+
+		TableBuilder( final File moduleDir ) {
+			this.moduleDir = moduleDir;
+		}
+
+		@Override
+		public File getModuleDir() {
+			return this.moduleDir;
+		}
+
+		@Override
+		protected ConfigSnapshot getConfig() {
+			return this.config;
+		}
+
+		void build( final TreeMap<String, OtuUtil.OtuCounts> sampleOtuCounts ) throws Exception {
+			buildTaxonomyTables( sampleOtuCounts );
+		}
+
+		private final ConfigSnapshot config = new ConfigSnapshot( this );
+		private final File moduleDir;
+	}
+
+	private static final int NUM_RAREFY_ITERATIONS = 10;
+	private static final long RANDOM_SEED = 42L;
+}
@@ -0,0 +1,165 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.util.*;
+import biolockj.ConfigSnapshot;
+import biolockj.Constants;
+import biolockj.module.report.JsonReport;
+import biolockj.node.JsonNode;
+import biolockj.util.MetaUtil;
+
+/**
+ * Benchmarks of the report hot paths: metadata field lookups and the JSON report tree.
+ */
+public class ReportBenchmarks {
+
+	// Prevent instantiation
+	private ReportBenchmarks() {}
+
+	/**
+	 * Add the report benchmarks to the list.
+	 *
+	 * @param benchmarks List of benchmarks
+	 * @param data Synthetic data
+	 * @param dir Benchmark directory
+	 * @throws Exception if unable to generate the data
+	 */
+	public static void addBenchmarks( final List<Benchmark> benchmarks, final BenchmarkData data, final File dir )
+		throws Exception {
+		final List<String> fields = BenchmarkData.getMetaFields( NUM_META_FIELDS );
+		final File metadata = data.writeMetadata( BenchmarkRunner.requireDir( dir, "metadata" ), NUM_META_FIELDS );
+		MetaUtil.setFile( metadata );
+		MetaUtil.refreshCache();
+
+		benchmarks.add( new Benchmark( "MetaUtil.getField" ) {
+			@Override
+			protected Object run() throws Exception {
+				int numNulls = 0;
+				for( final String id: MetaUtil.getSampleIds() )
+					for( final String field: fields )
+						if( MetaUtil.getField( id, field ).equals( BenchmarkData.NULL_VALUE ) ) numNulls++;
+				return numNulls;
+			}
+		} );
+
+		final RowMetadata rowMetadata = new RowMetadata( metadata );
+		benchmarks.add( new Benchmark( "MetaUtil.getField header scan (baseline)" ) {
+			@Override
+			protected Object run() {
+				int numNulls = 0;
+				for( final String id: rowMetadata.getSampleIds() )
+					for( final String field: fields )
+						if( rowMetadata.getField( id, field ).equals( BenchmarkData.NULL_VALUE ) ) numNulls++;
+				return numNulls;
+			}
+		} );
+
+		final File otuSummary = data.writeOtuSummary( BenchmarkRunner.requireDir( dir, "otuSummary" ) );
+		final File reportDir = BenchmarkRunner.requireDir( dir, "JsonReport" );
+		benchmarks.add( new Benchmark( "JsonReport.buildJsonMap + writeNodeAndChildren" ) {
+			@Override
+			protected void setUp() {
+				this.report = new Report( reportDir, otuSummary );
+			}
+
+			@Override
+			protected Object run() throws Exception {
+				return this.report.build();
+			}
+
+			private Report report = null;
+		} );
+	}
+
+	/**
+	 * JsonReport that reads the synthetic OTU summary and writes to a benchmark directory, so it runs without a
+	 * pipeline.
+	 */
+	private static final class Report extends JsonReport {
+
+		Report( final File moduleDir, final File otuSummary ) {
+			this.moduleDir = moduleDir;
+			this.otuSummary = otuSummary;
+		}
+
+		@Override
+		public List<File> getInputFiles() {
+			return Arrays.asList( this.otuSummary );
+		}
+
+		@Override
+		public File getModuleDir() {
+			return this.moduleDir;
+		}
+
+		@Override
+		protected ConfigSnapshot getConfig() {
+			return this.config;
+		}
+
+		File build() throws Exception {
+			final JsonNode root = new JsonNode( "root", 0L, null, null );
+			buildJsonMap( root );
+			final File file = new File( getOutputDir(), "otuSummary.json" );
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+			try {
+				writeNodeAndChildren( writer, root, false, 0 );
+			} finally {
+				writer.close();
+			}
+			return file;
+		}
+
+		private final ConfigSnapshot config = new ConfigSnapshot( this );
+		private final File moduleDir;
+		private final File otuSummary;
+	}
+
+	/**
+	 * Metadata cached as one row per Sample ID, as MetaUtil cached it before the column table: each field lookup scans
+	 * the header row, and every Sample ID list is copied from the row keys and sorted.
+	 */
+	private static final class RowMetadata {
+
+		RowMetadata( final File file ) throws IOException {
+			final BufferedReader reader = new BufferedReader( new FileReader( file ) );
+			try {
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final List<String> row = new ArrayList<>( Arrays.asList( line.split( Constants.TAB_DELIM, -1 ) ) );
+					final String id = row.remove( 0 );
+					this.rows.put( this.rows.isEmpty() ? HEADER_ID: id, row );
+				}
+			} finally {
+				reader.close();
+			}
+		}
+
+		String getField( final String sampleId, final String field ) {
+			final List<String> header = this.rows.get( HEADER_ID );
+			if( !header.contains( field ) || !this.rows.containsKey( sampleId ) ) return null;
+			return this.rows.get( sampleId ).get( header.indexOf( field ) );
+		}
+
+		List<String> getSampleIds() {
+			final List<String> ids = new ArrayList<>();
+			for( final String key: this.rows.keySet() )
+				if( !key.equals( HEADER_ID ) ) ids.add( key );
+			Collections.sort( ids );
+			return ids;
+		}
+
+		private final Map<String, List<String>> rows = new HashMap<>();
+		private static final String HEADER_ID = "SAMPLE_ID";
+	}
+
+	private static final int NUM_META_FIELDS = 20;
+}
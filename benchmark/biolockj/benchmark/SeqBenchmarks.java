@@ -0,0 +1,138 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import biolockj.ConfigSnapshot;
+import biolockj.module.seq.PrimerMatcher;
+import biolockj.module.seq.SeqFileValidator;
+import biolockj.util.BioLockJUtil;
+import biolockj.util.SeqUtil;
+
+/**
+ * Benchmarks of the sequence file hot paths: counting reads, validating reads and matching primers.
+ */
+public class SeqBenchmarks {
+
+	// Prevent instantiation
+	private SeqBenchmarks() {}
+
+	/**
+	 * Add the sequence file benchmarks to the list.
+	 *
+	 * @param benchmarks List of benchmarks
+	 * @param data Synthetic data
+	 * @param dir Benchmark directory
+	 * @throws Exception if unable to generate the data
+	 */
+	public static void addBenchmarks( final List<Benchmark> benchmarks, final BenchmarkData data, final File dir )
+		throws Exception {
+		final List<File> seqFiles = data.writeFastq( BenchmarkRunner.requireDir( dir, "fastq" ) );
+		final List<String> seqs = readSeqs( seqFiles.get( 0 ) );
+
+		benchmarks.add( new Benchmark( "SeqUtil.countNumReads" ) {
+			@Override
+			protected void setUp() {
+				// Touch the files, so the cached line counts are not used
+				for( final File file: seqFiles )
+					file.setLastModified( file.lastModified() + 1000L );
+			}
+
+			@Override
+			protected Object run() throws Exception {
+				long numReads = 0L;
+				for( final File file: seqFiles )
+					numReads += SeqUtil.countNumReads( file );
+				return numReads;
+			}
+		} );
+
+		benchmarks.add( new Benchmark( "SeqFileValidator.validateFile" ) {
+			@Override
+			protected void setUp() {
+				this.validator = new Validator( BenchmarkRunner.requireDir( dir, "SeqFileValidator" ) );
+			}
+
+			@Override
+			protected Object run() throws Exception {
+				int fileCount = 0;
+				for( final File file: seqFiles )
+					this.validator.validate( file, ++fileCount );
+				return this.validator;
+			}
+
+			private Validator validator = null;
+		} );
+
+		final PrimerMatcher matcher = new PrimerMatcher( BenchmarkData.PRIMER );
+		benchmarks.add( new Benchmark( "TrimPrimers.PrimerMatcher.matchLength" ) {
+			@Override
+			protected Object run() {
+				long trimmed = 0L;
+				for( final String seq: seqs )
+					trimmed += matcher.matchLength( seq, 0, seq.length() );
+				return trimmed;
+			}
+		} );
+
+		benchmarks.add( new Benchmark( "TrimPrimers.String.replaceFirst (baseline)" ) {
+			@Override
+			protected Object run() {
+				long trimmed = 0L;
+				for( final String seq: seqs )
+					trimmed += seq.length() - seq.replaceFirst( BenchmarkData.PRIMER, "" ).length();
+				return trimmed;
+			}
+		} );
+	}
+
+	private static List<String> readSeqs( final File file ) throws Exception {
+		final List<String> seqs = new ArrayList<>();
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			int lineCounter = 0;
+			for( String line = reader.readLine(); line != null; line = reader.readLine() )
+				if( lineCounter++ % SeqUtil.getNumLinesPerRead() == 1 ) seqs.add( line );
+		} finally {
+			reader.close();
+		}
+		return seqs;
+	}
+
+	/**
+	 * SeqFileValidator that writes to a benchmark directory, so it runs without a pipeline.
+	 */
+	private static final class Validator extends SeqFileValidator {
+
+		Validator( final File moduleDir ) {
+			this.moduleDir = moduleDir;
+		}
+
+		@Override
+		public File getModuleDir() {
+			return this.moduleDir;
+		}
+
+		@Override
+		protected ConfigSnapshot getConfig() {
+			return this.config;
+		}
+
+		void validate( final File file, final int fileCount ) throws Exception {
+			validateFile( file, fileCount );
+		}
+
+		private final ConfigSnapshot config = new ConfigSnapshot( this );
+		private final File moduleDir;
+	}
+}
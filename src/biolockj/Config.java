@@ -18,6 +18,8 @@ import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.exception.*;
@@ -363,12 +365,13 @@ public class Config {
 				Log.info(Config.class, "Setting property [" + prop + "] to [" 
 								+ val + "], the default value supplied by my module: " + ModuleUtil.displaySignature( module ) + ".");
 				props.setProperty( prop, val );
+				revision.incrementAndGet();
 			}
 		}
 		if( val != null ) val = val.trim();
 		val = replaceEnvVar( val );
 		if( val != null && val.isEmpty() ) val = null;
-		moduleUsedProps.put( prop, val );
+		usedProps().put( prop, val );
 		return val;
 	}
 	public static String getString( final BioModule module, final String property ) {
@@ -395,8 +398,10 @@ public class Config {
 	 */
 	public static Map<String, String> getUsedProps() {
 		getString( null, Constants.PIPELINE_DEFAULT_PROPS );
-		allUsedProps.putAll( moduleUsedProps );
-		return new HashMap<>( allUsedProps );
+		synchronized( allUsedProps ) {
+			collectUsedProps();
+			return new HashMap<>( allUsedProps );
+		}
 	}
 
 	/**
@@ -412,6 +417,7 @@ public class Config {
 		props = Properties.loadProperties( configFile );
 		Properties tempProps = replaceEnvVars( props );
 		props = tempProps;
+		revision.incrementAndGet();
 		setFilePathProperty( Constants.INTERNAL_PIPELINE_DIR, BioLockJ.getPipelineDir().getAbsolutePath() );
 		setConfigProperty( Constants.INTERNAL_PIPELINE_NAME, BioLockJ.getProjectName() );
 		setConfigProperty( Constants.INTERNAL_PIPELINE_ID, BioLockJ.getPipelineId() );
@@ -427,6 +433,7 @@ public class Config {
 		props = Properties.loadProperties( tempConfig );
 		Properties tempProps = replaceEnvVars( props );
 		props = tempProps;
+		revision.incrementAndGet();
 	}
 
 	/**
@@ -748,8 +755,9 @@ public class Config {
 			Log.info(Config.class, "Overwriting [" + name + "=" + origProp + "] to set config property [" + name + "=" + val + "]");
 		else  Log.info( Config.class, "Set config property [ " + name + " ] = " + val );
 		
-		moduleUsedProps.put( name, val );
+		usedProps().put( name, val );
 		props.setProperty( name, val );
+		revision.incrementAndGet();
 	}
 	/**
 	 * Sets a property value in the props cache
@@ -944,8 +952,30 @@ public class Config {
 	private static void addEnvVarToMap(String key, String value) throws ConfigNotFoundException {
 		if( value != null && !value.trim().isEmpty() ) {
 			envVarMap.put( key, value );
-			moduleUsedProps.put( key, value );
+			usedProps().put( key, value );
+		}
+	}
+
+	/**
+	 * Add the used props of every module to allUsedProps, called while holding the allUsedProps lock.
+	 */
+	private static void collectUsedProps() {
+		synchronized( pipelineUsedProps ) {
+			allUsedProps.putAll( pipelineUsedProps );
 		}
+		for( final Map<String, String> used: moduleUsedProps.values() )
+			synchronized( used ) {
+				allUsedProps.putAll( used );
+			}
+	}
+
+	/**
+	 * Get the used props of the module running in this thread, or the pipeline used props if no module is running.
+	 */
+	private static Map<String, String> usedProps() {
+		final BioModule module = Pipeline.exeModule();
+		if( module == null ) return pipelineUsedProps;
+		return moduleUsedProps.computeIfAbsent( module, key -> Collections.synchronizedMap( new HashMap<>() ) );
 	}
 	
 
@@ -981,7 +1011,7 @@ public class Config {
 		}
 		if( props != null && props.getProperty( bashVar ) != null ) {
 			bashVal = props.getProperty( bashVar );
-			moduleUsedProps.put( bashVar, bashVal );
+			usedProps().put( bashVar, bashVal );
 
 		}
 		return bashVal;
@@ -1047,6 +1077,16 @@ public class Config {
 		return prop.indexOf( "." ) > -1 ? prop.substring( prop.indexOf( "." ) + 1 ): prop;
 	}
 	
+	/**
+	 * Get the current revision of the properties, which changes each time a property is set or the used properties are
+	 * reset. Used by {@link biolockj.ConfigSnapshot} to find out-of-date cached values.
+	 *
+	 * @return Properties revision
+	 */
+	public static int getRevision() {
+		return revision.get();
+	}
+
 	public static boolean isInternalProperty( final String property ) {
 		return property.startsWith( Constants.INTERNAL_PREFIX );
 	}
@@ -1054,23 +1094,32 @@ public class Config {
 	/**
 	 * Dump all of the properties stored for the current module into the allUsedProps set,
 	 * and clear out the module-used-props to start with a clean slate.
+	 * Modules that run at the same time each keep their own used props, so only the current module is reset.
 	 */
 	public static void resetUsedProps() {
-		allUsedProps.putAll( moduleUsedProps );
-		moduleUsedProps.clear();
+		synchronized( allUsedProps ) {
+			collectUsedProps();
+			usedProps().clear();
+		}
+		revision.incrementAndGet();
 	}
 	
 	public static void saveModuleProps( BioModule module ) throws IOException {
+		final Map<String, String> used = moduleUsedProps.remove( module );
+		final TreeMap<String, String> sortedProps = new TreeMap<>();
+		if( used != null ) synchronized( used ) {
+			sortedProps.putAll( used );
+		}
+		synchronized( allUsedProps ) {
+			allUsedProps.putAll( sortedProps );
+		}
 		File modConfig = new File(module.getLogDir(), ModuleUtil.displayName( module ) + USED_PROPS_SUFFIX);
 		BufferedWriter writer = new BufferedWriter( new FileWriter( modConfig ) );
 		try {
 			writer.write( "# Properties used during the execution of module: " + ModuleUtil.displaySignature( module ) + Constants.RETURN);
-			List<String> names = new ArrayList<>();
-			names.addAll( moduleUsedProps.keySet() );
-			Collections.sort(names);
-			for( final String key: names )
-				if (moduleUsedProps.get( key ) != null) {
-					writer.write( key + "=" + moduleUsedProps.get( key ) + Constants.RETURN );
+			for( final String key: sortedProps.keySet() )
+				if (sortedProps.get( key ) != null) {
+					writer.write( key + "=" + sortedProps.get( key ) + Constants.RETURN );
 				}
 		}finally {
 			writer.close();
@@ -1078,7 +1127,9 @@ public class Config {
 	}
 	
 	public static void showUnusedProps() throws FileNotFoundException, IOException {
-		allUsedProps.putAll( moduleUsedProps );
+		synchronized( allUsedProps ) {
+			collectUsedProps();
+		}
 		Properties props = new Properties();
 		Log.info(Config.class, "Path to configFile: " + configFile.getAbsolutePath());
 		props.load( new FileInputStream( configFile) );
@@ -1165,9 +1216,11 @@ public class Config {
 	private static final Map<String, String> envVarMap = new HashMap<>();
 	private static File configFile = null;
 	static Properties props = null;
+	private static final AtomicInteger revision = new AtomicInteger();
 	private static Properties unmodifiedInputProps = new Properties();
 	private static final Map<String, String> allUsedProps = new HashMap<>();
-	private static final Map<String, String> moduleUsedProps = new HashMap<>();
+	private static final Map<BioModule, Map<String, String>> moduleUsedProps = new ConcurrentHashMap<>();
+	private static final Map<String, String> pipelineUsedProps = Collections.synchronizedMap( new HashMap<>() );
 	private static final String USED_PROPS_SUFFIX = "_used.properties";
 	private static final String UNUSED_PROPS_FILE = "unused.properties";
 	
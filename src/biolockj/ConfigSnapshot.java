@@ -0,0 +1,162 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import biolockj.exception.ConfigFormatException;
+import biolockj.exception.ConfigNotFoundException;
+import biolockj.module.BioModule;
+
+/**
+ * Read-only view of the {@link biolockj.Config} properties of one BioModule, for properties read inside loops.<br>
+ * Each property is resolved and parsed by the matching {@link biolockj.Config} getter the first time it is read, then
+ * the typed value is cached. Cached values are resolved again after {@link biolockj.Config} properties change, or
+ * after {@link biolockj.Config#resetUsedProps()} starts a new module, so the properties used by each module are still
+ * saved by {@link biolockj.Config#saveModuleProps(BioModule)}.<br>
+ * Invalid or missing required properties are not cached, so the same exception is thrown on every read.
+ */
+public final class ConfigSnapshot {
+
+	/**
+	 * Construct a snapshot for the module.
+	 *
+	 * @param module BioModule to check for module-specific forms of each property, or null for pipeline properties
+	 */
+	public ConfigSnapshot( final BioModule module ) {
+		this.module = module;
+	}
+
+	/**
+	 * Get the snapshot of pipeline properties, not specific to any module, for the module running in this thread.
+	 * Each running module gets its own pipeline snapshot, so a property cached while another module runs is still
+	 * resolved, and saved as used, by this module.
+	 *
+	 * @return Pipeline snapshot
+	 */
+	public static ConfigSnapshot getPipelineSnapshot() {
+		final BioModule module = Pipeline.exeModule();
+		if( module == null ) return pipelineSnapshot;
+		return moduleSnapshots.computeIfAbsent( module, key -> new ConfigSnapshot( null ) );
+	}
+
+	/**
+	 * Cached {@link biolockj.Config#getBoolean(BioModule, String)}
+	 *
+	 * @param property Property name
+	 * @return boolean value
+	 * @throws ConfigFormatException if property is not a boolean value
+	 */
+	public boolean getBoolean( final String property ) throws ConfigFormatException {
+		return get( this.booleans, property, () -> Config.getBoolean( this.module, property ) );
+	}
+
+	/**
+	 * Cached {@link biolockj.Config#getIntegerProp(BioModule, String)}
+	 *
+	 * @param property Property name
+	 * @return Integer value or null
+	 * @throws ConfigFormatException if property is not an integer value
+	 */
+	public Integer getIntegerProp( final String property ) throws ConfigFormatException {
+		return get( this.integers, property, () -> Config.getIntegerProp( this.module, property ) );
+	}
+
+	/**
+	 * Get the module this snapshot reads properties for.
+	 *
+	 * @return BioModule, or null for pipeline properties
+	 */
+	public BioModule getModule() {
+		return this.module;
+	}
+
+	/**
+	 * Cached {@link biolockj.Config#getPositiveInteger(BioModule, String)}
+	 *
+	 * @param property Property name
+	 * @return Positive Integer value or null
+	 * @throws ConfigFormatException if property is defined, but not set with a positive integer
+	 */
+	public Integer getPositiveInteger( final String property ) throws ConfigFormatException {
+		return get( this.positiveIntegers, property, () -> Config.getPositiveInteger( this.module, property ) );
+	}
+
+	/**
+	 * Cached {@link biolockj.Config#getString(BioModule, String)}
+	 *
+	 * @param property Property name
+	 * @return String or null
+	 */
+	public String getString( final String property ) {
+		return get( this.strings, property, () -> Config.getString( this.module, property ) );
+	}
+
+	/**
+	 * Cached {@link biolockj.Config#requirePositiveInteger(BioModule, String)}
+	 *
+	 * @param property Property name
+	 * @return Positive Integer
+	 * @throws ConfigNotFoundException if property is undefined
+	 * @throws ConfigFormatException if property is defined, but not set to a positive integer value
+	 */
+	public Integer requirePositiveInteger( final String property )
+		throws ConfigNotFoundException, ConfigFormatException {
+		final Integer val = getPositiveInteger( property );
+		if( val == null ) throw new ConfigNotFoundException( property );
+		return val;
+	}
+
+	/**
+	 * Cached {@link biolockj.Config#requireString(BioModule, String)}
+	 *
+	 * @param property Property name
+	 * @return String value
+	 * @throws ConfigNotFoundException if property is undefined
+	 */
+	public String requireString( final String property ) throws ConfigNotFoundException {
+		final String val = getString( property );
+		if( val == null ) throw new ConfigNotFoundException( property );
+		return val;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T, E extends Exception> T get( final Map<String, Value> values, final String property,
+		final Resolver<T, E> resolver ) throws E {
+		final Value cached = values.get( property );
+		final int revision = Config.getRevision();
+		if( cached != null && cached.revision == revision ) return (T) cached.val;
+		final T val = resolver.resolve();
+		values.put( property, new Value( revision, val ) );
+		return val;
+	}
+
+	private interface Resolver<T, E extends Exception> {
+		T resolve() throws E;
+	}
+
+	private static final class Value {
+		Value( final int revision, final Object val ) {
+			this.revision = revision;
+			this.val = val;
+		}
+
+		final int revision;
+		final Object val;
+	}
+
+	private final Map<String, Value> booleans = new ConcurrentHashMap<>();
+	private final Map<String, Value> integers = new ConcurrentHashMap<>();
+	private final BioModule module;
+	private final Map<String, Value> positiveIntegers = new ConcurrentHashMap<>();
+	private final Map<String, Value> strings = new ConcurrentHashMap<>();
+	private static final Map<BioModule, ConfigSnapshot> moduleSnapshots = new ConcurrentHashMap<>();
+	private static final ConfigSnapshot pipelineSnapshot = new ConfigSnapshot( null );
+}
@@ -67,8 +67,10 @@ public class Constants {
 		Properties.registerProp( R_TIMEOUT, Properties.INTEGER_TYPE, R_TIMEOUT_DESC );
 		Properties.registerProp( R_USE_UINQUE_COLORS, Properties.BOOLEAN_TYPE, "force to use a unique color for every value in every field plotted; only recommended for low numbers of metadata columns/values." );
 		
+		Properties.registerProp( SCRIPT_BALANCE_WORKERS, Properties.BOOLEAN_TYPE, SCRIPT_BALANCE_WORKERS_DESC );
 		Properties.registerProp( SCRIPT_DEFAULT_HEADER, Properties.STRING_TYPE, SCRIPT_DEFAULT_HEADER_DESC);
 		Properties.registerProp( SCRIPT_DELAY_FOR_FILE_UPDATES, Properties.INTEGER_TYPE, SCRIPT_DELAY_FOR_FILE_UPDATES_DESC );
+		Properties.registerProp( SCRIPT_LOCAL_PARALLEL, Properties.BOOLEAN_TYPE, SCRIPT_LOCAL_PARALLEL_DESC );
 		Properties.registerProp( SCRIPT_NUM_WORKERS, Properties.INTEGER_TYPE, SCRIPT_NUM_WORKERS_DESC);
 		Properties.registerProp( SCRIPT_NUM_THREADS, Properties.INTEGER_TYPE, SCRIPT_NUM_THREADS_DESC);
 		Properties.registerProp( SCRIPT_PERMISSIONS, Properties.STRING_TYPE, SCRIPT_PERMISSIONS_DESC);
@@ -77,11 +79,13 @@ public class Constants {
 		Properties.registerProp( PIPELINE_DEFAULT_PROPS, Properties.FILE_PATH_LIST, PIPELINE_DEFAULT_PROPS_DESC );
 		Properties.registerProp( PIPELINE_ENV, Properties.STRING_TYPE, "Environment in which a pipeline is run. Options: " + PIPELINE_ENV_CLUSTER + ", " + PIPELINE_ENV_AWS + ", " + PIPELINE_ENV_LOCAL );
 		Properties.registerProp( PIPELINE_ENV_VARS, Properties.LIST_TYPE, PIPELINE_ENV_VARS_DESC );
+		Properties.registerProp( PIPELINE_MAX_MODULES, Properties.INTEGER_TYPE, PIPELINE_MAX_MODULES_DESC );
 		Properties.registerProp( PIPELINE_USE_EVARS, Properties.BOOLEAN_TYPE, PIPELINE_USE_EVARS_DESC );
 		Properties.registerProp( PIPELINE_PRIVS, Properties.STRING_TYPE, PIPELINE_PRIVS_DESC );
 		Properties.registerProp( DOWNLOAD_DIR, Properties.FILE_PATH, DOWNLOAD_DIR_DESC );
 		Properties.registerProp( LIMIT_DEBUG_CLASSES, Properties.LIST_TYPE, LIMIT_DEBUG_CLASSES_DESC );
 		Properties.registerProp( LOG_LEVEL_PROPERTY, Properties.STRING_TYPE, "Options: DEBUG, INFO, WARN, ERROR" );
+		Properties.registerProp( REPORT_BINARY_TABLES, Properties.BOOLEAN_TYPE, REPORT_BINARY_TABLES_DESC );
 		Properties.registerProp( REPORT_LOG_BASE, Properties.STRING_TYPE, "Options: 10,e,null. If e, use natural log (base e); if 10, use log base 10; if not set, counts will not be converted to a log scale." );
 		Properties.registerProp( REPORT_MIN_COUNT, Properties.INTEGER_TYPE, "minimum table count allowed, if a count less that this value is found, it is set to 0." );
 		Properties.registerProp( REPORT_NUM_HITS, Properties.BOOLEAN_TYPE, "Options: Y/N. If Y, and add Num_Hits to metadata" );
@@ -682,6 +686,13 @@ public class Constants {
 	 */
 	public static final String PIPELINE_LOCATION_KEY = "Pipeline root directory: ";
 
+	/**
+	 * {@link biolockj.Config} Integer property: {@value #PIPELINE_MAX_MODULES}<br>
+	 * {@value #PIPELINE_MAX_MODULES_DESC}
+	 */
+	public static final String PIPELINE_MAX_MODULES = "pipeline.maxConcurrentModules";
+	public static final String PIPELINE_MAX_MODULES_DESC = "Maximum number of independent report modules (R modules and JsonReport) to run at the same time. If not set, modules run one at a time.";
+
 	/**
 	 * {@link biolockj.Config} property to assign a name to a pipeline: {@value #PIPELINE_NAME} TODO: needs to be
 	 * implemented.
@@ -869,6 +880,13 @@ public class Constants {
 	 */
 	public static final String RDP_THRESHOLD_SCORE = "rdp.minThresholdScore";
 
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #REPORT_BINARY_TABLES}<br>
+	 * {@value REPORT_BINARY_TABLES_DESC}
+	 */
+	public static final String REPORT_BINARY_TABLES = "report.binaryTables";
+	public static final String REPORT_BINARY_TABLES_DESC = "Options: Y/N. If Y, taxa tables are also saved in a hidden binary file next to each table, which downstream Java modules read instead of parsing the table text.";
+
 	/**
 	 * {@link biolockj.Config} String property: {@value #REPORT_LOG_BASE}<br>
 	 * Required to be set to "e" or "10" to build log normalized reports.
@@ -954,6 +972,13 @@ public class Constants {
 	public static final String SCRIPT_DELAY_FOR_FILE_UPDATES = "script.fileRefreshDelay";
 	private static final String SCRIPT_DELAY_FOR_FILE_UPDATES_DESC = "delay this many seconds after scripts complete to allow the file system to reflect changes from a worker node/container/virtual machine.";
 	
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #SCRIPT_BALANCE_WORKERS}<br>
+	 * {@value SCRIPT_BALANCE_WORKERS_DESC}
+	 */
+	public static final String SCRIPT_BALANCE_WORKERS = "script.balanceWorkers";
+	public static final String SCRIPT_BALANCE_WORKERS_DESC = "Options: Y/N. If Y, sequence modules assign samples to worker scripts by number of reads (or file size if read counts are not in the metadata) so each worker gets about the same amount of work, instead of the same number of samples.";
+
 	/**
 	 * Name of the script sub-directory: {@value #SCRIPT_DIR}
 	 */
@@ -964,6 +989,13 @@ public class Constants {
 	 */
 	public static final String SCRIPT_FAILURES = "Failures";
 
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #SCRIPT_LOCAL_PARALLEL}<br>
+	 * {@value SCRIPT_LOCAL_PARALLEL_DESC}
+	 */
+	public static final String SCRIPT_LOCAL_PARALLEL = "script.localParallel";
+	public static final String SCRIPT_LOCAL_PARALLEL_DESC = "Options: Y/N. If Y, pipelines run without a cluster or Docker run the worker scripts of each module at the same time, as many as fit in the available cores when each uses script.numThreads cores.";
+
 	/**
 	 * {@link biolockj.Config} Integer property: {@value #SCRIPT_NUM_THREADS}<br>
 	 * {@value SCRIPT_NUM_THREADS_DESC}
@@ -13,8 +13,14 @@ package biolockj;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.apache.log4j.Appender;
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.LogManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
 import biolockj.exception.ConfigFormatException;
 import biolockj.util.*;
 
@@ -30,6 +36,9 @@ import biolockj.util.*;
  * <li>{@link biolockj.Log#out(Class)}.{@link #out(Class)}.warn( logMessage )
  * <li>{@link biolockj.Log#out(Class)}.{@link #out(Class)}.error( logMessage, exception )
  * </ul>
+ * DEBUG messages built inside loops should use the parameterized or {@link java.util.function.Supplier} forms of
+ * {@link #debug(Class, String)}, or check {@link #doDebug(Class)} first, so the message is only built if it will be
+ * written. The log file is written by a background thread, see {@link #initialize(String)}.
  */
 public class Log {
 
@@ -44,17 +53,14 @@ public class Log {
 	 * @param msg Message to log
 	 */
 	public static void debug( final Class<?> loggingClass, final String msg ) {
-		if( !enableLogs ) return;
+		if( !enableLogs || holdMsg( loggingClass, DEBUG, msg, null ) ) return;
 		if( RuntimeParamUtil.logToSystemOut() ) {
 			System.out.println( "[ DEBUG ] " + msg );
 			return;
 		}
 
-		if( isInitialized() && !getAlwaysDebugClasses().contains( loggingClass.getName() ) && !debugClasses().isEmpty() ) {
-			boolean isDebugClass = false;
-			for( final String val: debugClasses() )
-				if( loggingClass.getName().contains( val ) ) isDebugClass = true;
-			if( !isDebugClass ) {
+		if( isInitialized() ) {
+			if( !isDebugClass( loggingClass ) ) {
 				if( !gaveDebugWarning ) {
 					gaveDebugWarning = true;
 					warn( loggingClass, "DEBUG DISABLED for " + loggingClass.getName() + " because Config property [ " +
@@ -70,13 +76,85 @@ public class Log {
 		else out( loggingClass ).debug( msg );
 	}
 
+	/**
+	 * Print log level DEBUG message, formatted by replacing the "{}" in the pattern with the arg, only if DEBUG is
+	 * enabled for the logging class.
+	 * 
+	 * @param loggingClass Logging class
+	 * @param pattern Message pattern
+	 * @param arg Message argument
+	 */
+	public static void debug( final Class<?> loggingClass, final String pattern, final Object arg ) {
+		if( doDebug( loggingClass ) ) debug( loggingClass, MessageFormatter.format( pattern, arg ).getMessage() );
+	}
+
+	/**
+	 * Print log level DEBUG message, formatted by replacing each "{}" in the pattern with the next arg, only if DEBUG is
+	 * enabled for the logging class.
+	 * 
+	 * @param loggingClass Logging class
+	 * @param pattern Message pattern
+	 * @param arg1 1st message argument
+	 * @param arg2 2nd message argument
+	 */
+	public static void debug( final Class<?> loggingClass, final String pattern, final Object arg1,
+		final Object arg2 ) {
+		if( doDebug( loggingClass ) )
+			debug( loggingClass, MessageFormatter.format( pattern, arg1, arg2 ).getMessage() );
+	}
+
+	/**
+	 * Print log level DEBUG message, formatted by replacing each "{}" in the pattern with the next arg, only if DEBUG is
+	 * enabled for the logging class.
+	 * 
+	 * @param loggingClass Logging class
+	 * @param pattern Message pattern
+	 * @param arg1 1st message argument
+	 * @param arg2 2nd message argument
+	 * @param arg3 3rd message argument
+	 */
+	public static void debug( final Class<?> loggingClass, final String pattern, final Object arg1, final Object arg2,
+		final Object arg3 ) {
+		if( doDebug( loggingClass ) ) debug( loggingClass,
+			MessageFormatter.arrayFormat( pattern, new Object[] { arg1, arg2, arg3 } ).getMessage() );
+	}
+
+	/**
+	 * Print log level DEBUG message built by the supplier, only if DEBUG is enabled for the logging class.
+	 * 
+	 * @param loggingClass Logging class
+	 * @param msg Message supplier
+	 */
+	public static void debug( final Class<?> loggingClass, final Supplier<String> msg ) {
+		if( doDebug( loggingClass ) ) debug( loggingClass, msg.get() );
+	}
+
 	/**
 	 * Return TRUE if {@value Constants#LOG_LEVEL_PROPERTY} = DEBUG.
 	 * 
 	 * @return TRUE if DEBUG
 	 */
 	public static boolean doDebug() {
-		return Config.getString( null, Constants.LOG_LEVEL_PROPERTY ).toUpperCase().equals( DEBUG );
+		return ConfigSnapshot.getPipelineSnapshot().getString( Constants.LOG_LEVEL_PROPERTY ).toUpperCase()
+			.equals( DEBUG );
+	}
+
+	/**
+	 * Return TRUE if DEBUG messages of the logging class will be written. The answer for each class is cached once the
+	 * log file is initialized, so this check is cheap enough to guard debug messages built inside loops.
+	 * 
+	 * @param loggingClass Logging class
+	 * @return TRUE if DEBUG is enabled for the class
+	 */
+	public static boolean doDebug( final Class<?> loggingClass ) {
+		if( !enableLogs ) return false;
+		if( logFile == null || RuntimeParamUtil.logToSystemOut() ) return true;
+		Boolean enabled = debugEnabled.get( loggingClass );
+		if( enabled == null ) {
+			enabled = out( loggingClass ).isDebugEnabled() && ( !isInitialized() || isDebugClass( loggingClass ) );
+			debugEnabled.put( loggingClass, enabled );
+		}
+		return enabled;
 	}
 
 	/**
@@ -107,7 +185,7 @@ public class Log {
 	 * @param exception Cause of the error
 	 */
 	public static void error( final Class<?> myClass, final String msg, final Exception exception ) {
-		if( !enableLogs ) return;
+		if( !enableLogs || holdMsg( myClass, ERROR, msg, exception ) ) return;
 		if( RuntimeParamUtil.logToSystemOut() ) {
 			System.out.println( "[ DEBUG ] " + msg + " --> " + exception.getMessage() );
 			return;
@@ -142,7 +220,7 @@ public class Log {
 	 * @param msg Message to log
 	 */
 	public static void info( final Class<?> myClass, final String msg ) {
-		if( !enableLogs ) return;
+		if( !enableLogs || holdMsg( myClass, INFO, msg, null ) ) return;
 		if( RuntimeParamUtil.logToSystemOut() ) {
 			System.out.println( "[ INFO ] " + msg );
 			return;
@@ -151,6 +229,41 @@ public class Log {
 		else out( myClass ).info( msg );
 	}
 
+	/**
+	 * Hold the log messages of the current thread instead of writing them, until {@link #releaseMsgs()} is called.
+	 * Worker threads hold their messages so they can be written in a fixed order with {@link #writeMsgs(List)}.<br>
+	 * At most {@value #MAX_HELD_MSGS} messages are held, any more are written immediately, out of order.
+	 */
+	public static void holdMsgs() {
+		heldMsgs.set( new ArrayList<>() );
+	}
+
+	/**
+	 * Stop holding log messages for the current thread.
+	 * 
+	 * @return Messages held since {@link #holdMsgs()} as [ Class, level, message, exception ]
+	 */
+	public static List<Object[]> releaseMsgs() {
+		final List<Object[]> msgs = heldMsgs.get();
+		heldMsgs.remove();
+		return msgs == null ? new ArrayList<>(): msgs;
+	}
+
+	/**
+	 * Write log messages returned by {@link #releaseMsgs()}.
+	 * 
+	 * @param msgs Held messages
+	 */
+	public static void writeMsgs( final List<Object[]> msgs ) {
+		for( final Object[] m: msgs ) {
+			final Class<?> myClass = (Class<?>) m[ 0 ];
+			if( m[ 1 ].equals( DEBUG ) ) debug( myClass, (String) m[ 2 ] );
+			else if( m[ 1 ].equals( INFO ) ) info( myClass, (String) m[ 2 ] );
+			else if( m[ 1 ].equals( WARN ) ) warn( myClass, (String) m[ 2 ] );
+			else error( myClass, (String) m[ 2 ], (Exception) m[ 3 ] );
+		}
+	}
+
 	/**
 	 * Called by {@link biolockj.BioLockJ#main(String[]) BioLockJ.main()} after {@link biolockj.Config} is initialized.
 	 * Create Java Log4J log file in {@link biolockj.Config}.{@value biolockj.Constants#INTERNAL_PIPELINE_DIR}, named
@@ -174,6 +287,9 @@ public class Log {
 		System.setProperty( LOG_APPEND, String.valueOf( logFile.isFile() ) );
 		System.setProperty( LOG_FORMAT,
 			BioLockJUtil.isDirectMode() && !Config.isOnCluster() ? DIRECT_FORMAT: DEFAULT_FORMAT );
+		debugEnabled.clear();
+		debugClassCache.clear();
+		startAsyncFileAppender();
 
 		if (RuntimeParamUtil.doRestart()) {
 			Log.info( Log.class, Constants.LOG_SPACER );
@@ -232,7 +348,7 @@ public class Log {
 	 * @param msg Message to log
 	 */
 	public static void warn( final Class<?> myClass, final String msg ) {
-		if( !enableLogs ) return;
+		if( !enableLogs || holdMsg( myClass, WARN, msg, null ) ) return;
 		if( RuntimeParamUtil.logToSystemOut() ) {
 			System.out.println( "[ WARN ] " + msg );
 			return;
@@ -340,10 +456,50 @@ public class Log {
 		return alwaysDebugClasses;
 	}
 
+	private static boolean isDebugClass( final Class<?> loggingClass ) {
+		Boolean isDebugClass = debugClassCache.get( loggingClass );
+		if( isDebugClass == null ) {
+			isDebugClass = getAlwaysDebugClasses().contains( loggingClass.getName() ) || debugClasses().isEmpty();
+			for( final String val: debugClasses() )
+				if( loggingClass.getName().contains( val ) ) isDebugClass = true;
+			debugClassCache.put( loggingClass, isDebugClass );
+		}
+		return isDebugClass;
+	}
+
+	private static boolean holdMsg( final Class<?> myClass, final String level, final String msg,
+		final Exception exception ) {
+		final List<Object[]> msgs = heldMsgs.get();
+		if( msgs == null || msgs.size() >= MAX_HELD_MSGS ) return false;
+		if( level.equals( DEBUG ) && logFile != null && !RuntimeParamUtil.logToSystemOut() &&
+			!out( myClass ).isDebugEnabled() ) return true;
+		msgs.add( new Object[] { myClass, level, msg, exception } );
+		return true;
+	}
+
 	private static boolean isInitialized() {
 		return logFile != null && logFile.isFile();
 	}
 
+	/**
+	 * Move the Log4J file appender behind an {@link org.apache.log4j.AsyncAppender}, so threads that log only add the
+	 * event to a buffer. A background thread writes the buffered events to the log file in batches. Threads only wait
+	 * if the buffer is full, so no message is dropped. The buffer is written before the JVM exits.
+	 */
+	private static void startAsyncFileAppender() {
+		final org.apache.log4j.Logger root = LogManager.getRootLogger();
+		final Appender file = root.getAppender( FILE_APPENDER );
+		if( file == null || root.getAppender( ASYNC_APPENDER ) != null ) return;
+		final AsyncAppender async = new AsyncAppender();
+		async.setName( ASYNC_APPENDER );
+		async.setBufferSize( ASYNC_BUFFER_SIZE );
+		async.setBlocking( true );
+		async.addAppender( file );
+		root.removeAppender( file );
+		root.addAppender( async );
+		Runtime.getRuntime().addShutdownHook( new Thread( LogManager::shutdown ) );
+	}
+
 	/**
 	 * DEBUG log message type: {@value #DEBUG}
 	 */
@@ -396,10 +552,17 @@ public class Log {
 	 */
 	protected static final String LOG_FORMAT = "LOG_FORMAT";
 	private static Set<String> debugClasses = null;
+	private static final Map<Class<?>, Boolean> debugClassCache = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Boolean> debugEnabled = new ConcurrentHashMap<>();
 	private static Set<String> alwaysDebugClasses = null;
 	private static boolean enableLogs = true;
 	private static boolean gaveDebugWarning = false;
+	private static final ThreadLocal<List<Object[]>> heldMsgs = new ThreadLocal<>();
 	private static File logFile = null;
-	private static Map<String, Logger> loggers = new HashMap<>();
+	private static Map<String, Logger> loggers = new ConcurrentHashMap<>();
 	private static final List<String[]> logMesseges = new ArrayList<>();
+	private static final String ASYNC_APPENDER = "async";
+	private static final int ASYNC_BUFFER_SIZE = 8192;
+	private static final int MAX_HELD_MSGS = 1000;
+	private static final String FILE_APPENDER = "file";
 }
@@ -12,10 +12,8 @@
 package biolockj;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
@@ -23,6 +21,7 @@ import biolockj.exception.DirectModuleException;
 import biolockj.exception.StopAfterPrecheck;
 import biolockj.module.*;
 import biolockj.module.report.Email;
+import biolockj.module.report.JsonReport;
 import biolockj.module.report.r.R_Module;
 import biolockj.pipelines.PipelineUtil;
 import biolockj.util.*;
@@ -51,12 +50,15 @@ public class Pipeline {
 		final boolean runDetached = isJava && hasScripts && detachJava;
 
 		if( runDetached ) MasterConfigUtil.saveMasterConfig();
-		if( hasScripts && !DockerUtil.inAwsEnv() ) Processor.runModuleMainScript( (ScriptModule) exeModule() );
+		if( hasScripts && Processor.runWorkersLocally( (ScriptModule) exeModule() ) )
+			Processor.runModuleWorkerScripts( (ScriptModule) exeModule(), getWorkerScripts( (ScriptModule) exeModule() ) );
+		else if( hasScripts && !DockerUtil.inAwsEnv() ) Processor.runModuleMainScript( (ScriptModule) exeModule() );
 		if( hasScripts ) waitForModuleScripts();
 		Thread.sleep( Config.getPositiveInteger( exeModule(), Constants.SCRIPT_DELAY_FOR_FILE_UPDATES ) * 1000 );
 		exeModule().cleanUp();
 		ValidationUtil.validateModule( exeModule() );
-		if( !runDetached ) SummaryUtil.reportSuccess( exeModule() );
+		if( !runDetached && summaryQueue != null ) summaryQueue.add( exeModule() );
+		else if( !runDetached ) SummaryUtil.reportSuccess( exeModule() );
 		Config.saveModuleProps( exeModule() );
 		ModuleUtil.markComplete( exeModule() );
 	}
@@ -67,6 +69,8 @@ public class Pipeline {
 	 * @return Current BioModule
 	 */
 	public static BioModule exeModule() {
+		final BioModule module = threadModule.get();
+		if( module != null ) return module;
 		return currentModule;
 	}
 
@@ -181,6 +185,9 @@ public class Pipeline {
 	 * modules have an empty file {@value Constants#BLJ_STARTED} in the module directory.<br>
 	 * Complete modules have an empty file {@value Constants#BLJ_COMPLETE} in the module directory.<br>
 	 * {@link biolockj.module.BioModule}s are run in the order listed in the {@link biolockj.Config} file.<br>
+	 * If {@link biolockj.Config}.{@value Constants#PIPELINE_MAX_MODULES} is greater than 1, modules are started in the
+	 * same order, but independent report modules may run at the same time, see
+	 * {@link #executeModules(int)}.<br>
 	 * <p>
 	 * Execution steps:
 	 * <ol>
@@ -192,6 +199,11 @@ public class Pipeline {
 	 * @throws Exception if script errors occur
 	 */
 	protected static void executeModules() throws Exception {
+		final Integer maxModules = Config.getPositiveInteger( null, Constants.PIPELINE_MAX_MODULES );
+		if( maxModules != null && maxModules > 1 ) {
+			executeModules( maxModules );
+			return;
+		}
 		for( final BioModule module: Pipeline.getModules() ) {
 			setExeModule( module );
 			if( !ModuleUtil.isComplete( module ) ) executeModule();
@@ -200,6 +212,80 @@ public class Pipeline {
 		}
 	}
 
+	/**
+	 * Execute all new and incomplete modules on up to maxModules threads. Modules are started in the order listed in
+	 * the {@link biolockj.Config} file, and a module starts only when it does not depend on any module that is still
+	 * running. Most modules find their input by checking the output of the previous modules with
+	 * {@link biolockj.module.BioModule#isValidInputModule(BioModule)} once they are complete, so a module depends on
+	 * every module before it, unless both are report modules checked by {@link #isIndependent(BioModule, BioModule)}.
+	 * Module summaries are added to the {@link biolockj.util.SummaryUtil} summary in the configured module order. If a
+	 * module fails, no new module is started, the running modules are interrupted, and the failed module is reported as
+	 * the current module.
+	 *
+	 * @param maxModules Maximum number of modules to run at the same time
+	 * @throws Exception if any module fails
+	 */
+	protected static void executeModules( final int maxModules ) throws Exception {
+		final List<BioModule> modules = getModules();
+		final List<BioModule> completed = new ArrayList<>();
+		final ExecutorService executor = Executors.newFixedThreadPool( maxModules );
+		final CompletionService<BioModule> completionService = new ExecutorCompletionService<>( executor );
+		final Map<Future<BioModule>, BioModule> futures = new HashMap<>();
+		summaryQueue = Collections.synchronizedSet( new HashSet<>() );
+		int next = 0;
+		int numReported = 0;
+		try {
+			while( true ) {
+				for( ; next < modules.size() && runningModules.size() < maxModules; next++ ) {
+					final BioModule module = modules.get( next );
+					if( ModuleUtil.isComplete( module ) ) {
+						Log.debug( Pipeline.class,
+							"Skipping succssfully completed BioLockJ Module: " + module.getClass().getName() );
+						continue;
+					}
+					if( !canStart( module, modules.subList( 0, next ), completed ) ) break;
+					setExeModule( module );
+					runningModules.add( module );
+					Log.info( Pipeline.class, "Start module " + ModuleUtil.displaySignature( module ) + " with " +
+						( runningModules.size() - 1 ) + " other running modules" );
+					futures.put( completionService.submit( () -> {
+						threadModule.set( module );
+						try {
+							executeModule();
+						} finally {
+							threadModule.remove();
+						}
+						return module;
+					} ), module );
+				}
+
+				if( runningModules.isEmpty() ) break;
+				final Future<BioModule> result = completionService.take();
+				final BioModule module = futures.remove( result );
+				runningModules.remove( module );
+				try {
+					result.get();
+					completed.add( module );
+				} catch( final ExecutionException ex ) {
+					for( final BioModule completedModule: modules )
+						if( summaryQueue.remove( completedModule ) ) SummaryUtil.reportSuccess( completedModule );
+					setExeModule( module );
+					throw ex.getCause() instanceof Exception ? (Exception) ex.getCause(): ex;
+				}
+
+				for( ; numReported < modules.size(); numReported++ ) {
+					final BioModule completedModule = modules.get( numReported );
+					if( !ModuleUtil.isComplete( completedModule ) ) break;
+					if( summaryQueue.remove( completedModule ) ) SummaryUtil.reportSuccess( completedModule );
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+			runningModules.clear();
+			summaryQueue = null;
+		}
+	}
+
 	/**
 	 * Initialization occurs by calling {@link biolockj.module.BioModule} methods on configured modules<br>
 	 * <ol>
@@ -287,41 +373,36 @@ public class Pipeline {
 	 * @throws Exception thrown to end pipeline execution
 	 */
 	protected static boolean poll( final ScriptModule module ) throws Exception {
-		final Collection<File> scriptFiles = getWorkerScripts( module );
+		if( statusTracker.get() == null ) statusTracker.set( new ScriptStatusTracker( module.getScriptDir(), getWorkerScripts( module ) ) );
+		final ScriptStatusTracker tracker = statusTracker.get();
 		final File mainStarted = getMainStartedFlag(module);
 		final File mainFailed = getMainFailedFlag( module );
-		final int numScripts = scriptFiles.size();
-		int numSuccess = 0;
-		int numStarted = 0;
-		int numFailed = 0;
-
-		for( final File f: scriptFiles ) {
-			final File testStarted = new File( f.getAbsolutePath() + "_" + Constants.SCRIPT_STARTED );
-			final File testSuccess = new File( f.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS );
-			final File testFailure = new File( f.getAbsolutePath() + "_" + Constants.SCRIPT_FAILURES );
-			if ( DockerUtil.inDockerEnv() 
-							&& testStarted.isFile() 
-							&& !testFailure.isFile()
-							&& DockerUtil.workerContainerStopped(mainStarted, f) 
-							&& !testSuccess.isFile() ) {
+
+		final List<File> running = tracker.getRunningScripts();
+		if( DockerUtil.inDockerEnv() && mainStarted != null && !running.isEmpty() )
+			for( final File f: DockerUtil.workerContainersStopped( mainStarted, running ) ) {
 				Log.info(Pipeline.class, "Worker script [" + f.getName() + "] is not complete, and its container is not running."); 
 				Log.info(Pipeline.class, "Marking worker script [" + f.getName() + "] as failed.");
-				testFailure.createNewFile();
+				tracker.markFailed( f );
 			}
-			numStarted = numStarted + ( testStarted.isFile() ? 1: 0 );
-			numSuccess = numSuccess + ( testSuccess.isFile() ? 1: 0 );
-			numFailed = numFailed + ( testFailure.isFile() ? 1: 0 );
-		}
+
+		final int numScripts = tracker.getNumScripts();
+		final int numSuccess = tracker.getNumSuccess();
+		final int numStarted = tracker.getNumStarted();
+		final int numFailed = tracker.getNumFailed();
 
 		final String logMsg = module.getClass().getSimpleName() + " Status (Total=" + numScripts + "): Success=" +
 			numSuccess + "; Failed=" + numFailed + "; Running=" + ( numStarted - numSuccess - numFailed ) +
 			"; Queued=" + ( numScripts - numStarted );
 
-		if( !statusMsg.equals( logMsg ) ) {
-			statusMsg = logMsg;
-			pollCount = 0;
+		if( !statusMsg.get().equals( logMsg ) ) {
+			statusMsg.set( logMsg );
+			pollCount.set( 0 );
 			Log.info( Pipeline.class, logMsg );
-		} else if( ++pollCount % 10 == 0 ) Log.info( Pipeline.class, logMsg );
+		} else {
+			pollCount.set( pollCount.get() + 1 );
+			if( pollCount.get() % 10 == 0 ) Log.info( Pipeline.class, logMsg );
+		}
 
 		if( numFailed > 0 | mainFailed.exists() ) {
 			String scriptMsgs = BioLockJUtil.getCollectionAsString( module.getScriptErrors() );
@@ -350,7 +431,34 @@ public class Pipeline {
 		}
 	}
 
-	private static IOFileFilter getWorkerScriptFilter( final ScriptModule module ) {
+	/**
+	 * Check if the module can start while the incomplete modules before it are still running.
+	 */
+	private static boolean canStart( final BioModule module, final List<BioModule> prevModules,
+		final List<BioModule> completed ) throws Exception {
+		for( final BioModule prevModule: prevModules )
+			if( !completed.contains( prevModule ) && !ModuleUtil.isComplete( prevModule ) &&
+				!isIndependent( module, prevModule ) ) return false;
+		return true;
+	}
+
+	/**
+	 * Report modules (R modules and {@link biolockj.module.report.JsonReport}) read the count tables built before
+	 * them, and no module takes their output as input, so one report module does not depend on another unless it is
+	 * listed as a pre-requisite or post-requisite module. The first R module refreshes the R metadata cache, so every
+	 * module after it waits for it to complete.
+	 */
+	private static boolean isIndependent( final BioModule module, final BioModule prevModule ) throws Exception {
+		return isReportModule( module ) && isReportModule( prevModule ) && !ModuleUtil.isFirstRModule( prevModule ) &&
+			!module.getPreRequisiteModules().contains( prevModule.getClass().getName() ) &&
+			!prevModule.getPostRequisiteModules().contains( module.getClass().getName() );
+	}
+
+	private static boolean isReportModule( final BioModule module ) {
+		return module instanceof R_Module || module instanceof JsonReport;
+	}
+
+	private static IOFileFilter getWorkerScriptFilter( final ScriptModule module ) {
 		return new WildcardFileFilter("*" + Constants.SH_EXT );
 	}
 
@@ -392,7 +500,7 @@ public class Pipeline {
 
 	private static void logScriptTimeOutMsg( final ScriptModule module ) throws Exception {
 		final String prompt = "------> ";
-		Log.info( Pipeline.class, prompt + "Java program wakes every 60 seconds to check execution progress" );
+		Log.info( Pipeline.class, prompt + "Java program checks execution progress as soon as an indicator file is created, and at least every 60 seconds" );
 		Log.info( Pipeline.class, prompt + "Status determined by existance of indicator files in " +
 			module.getScriptDir().getAbsolutePath() );
 		Log.info( Pipeline.class, prompt + "Indicator files end with: \"_" + Constants.SCRIPT_STARTED + "\", \"_" +
@@ -413,7 +521,8 @@ public class Pipeline {
 
 	/**
 	 * This method calls executes script module scripts and monitors them until complete or timing out after
-	 * {@value #POLL_TIME} seconds.
+	 * {@value #POLL_TIME} seconds. A {@link biolockj.util.ScriptStatusTracker} wakes this thread as soon as a script
+	 * indicator file is created, so the pipeline continues as soon as the last worker script finishes.
 	 *
 	 * @throws Exception if errors occur
 	 */
@@ -424,24 +533,35 @@ public class Pipeline {
 		long millisWaiting;
 		long delayMillis;
 		boolean finished = false;
-		while( !finished ) {
-			finished = poll( module );
-			if( !finished ) {
-				millisWaiting = (new Date()).getTime() - startTime;
-				if( module.getTimeout() != null && module.getTimeout() > 0 
-								&& millisWaiting >= BioLockJUtil.minutesToMillis(module.getTimeout() ))
-					throw new Exception( module.getClass().getName() + " timed out after " + BioLockJUtil.millisToMinutes( millisWaiting ) + " minutes." );
-				if ( BioLockJUtil.millisToMinutes(millisWaiting) < 1 ) { delayMillis = 2 * 1000;
-				}else if ( BioLockJUtil.millisToMinutes(millisWaiting) < 5 ) { delayMillis = 10 * 1000;
-				}else {delayMillis = BioLockJUtil.minutesToMillis(1);}
-				Thread.sleep( delayMillis );
+		final ScriptStatusTracker tracker = new ScriptStatusTracker( module.getScriptDir(), getWorkerScripts( module ) );
+		statusTracker.set( tracker );
+		try {
+			while( !finished ) {
+				finished = poll( module );
+				if( !finished ) {
+					millisWaiting = (new Date()).getTime() - startTime;
+					if( module.getTimeout() != null && module.getTimeout() > 0 
+									&& millisWaiting >= BioLockJUtil.minutesToMillis(module.getTimeout() ))
+						throw new Exception( module.getClass().getName() + " timed out after " + BioLockJUtil.millisToMinutes( millisWaiting ) + " minutes." );
+					if ( BioLockJUtil.millisToMinutes(millisWaiting) < 1 ) { delayMillis = 2 * 1000;
+					}else if ( BioLockJUtil.millisToMinutes(millisWaiting) < 5 ) { delayMillis = 10 * 1000;
+					}else {delayMillis = BioLockJUtil.minutesToMillis(1);}
+					tracker.awaitChange( delayMillis );
+				}
 			}
+		} finally {
+			tracker.close();
+			statusTracker.remove();
 		}
 	}
 
 	private static List<BioModule> bioModules = null;
 	private static BioModule currentModule = null;
 	private static Exception pipelineException = null;
-	private static int pollCount = 0;
-	private static String statusMsg = "";
+	private static final ThreadLocal<Integer> pollCount = ThreadLocal.withInitial( () -> 0 );
+	private static final Set<BioModule> runningModules = Collections.synchronizedSet( new HashSet<>() );
+	private static final ThreadLocal<ScriptStatusTracker> statusTracker = new ThreadLocal<>();
+	private static final ThreadLocal<String> statusMsg = ThreadLocal.withInitial( () -> "" );
+	private static Set<BioModule> summaryQueue = null;
+	private static final InheritableThreadLocal<BioModule> threadModule = new InheritableThreadLocal<>();
 }
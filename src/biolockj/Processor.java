@@ -13,9 +13,12 @@ package biolockj;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import biolockj.exception.ConfigFormatException;
 import biolockj.exception.ConfigNotFoundException;
 import biolockj.module.ScriptModule;
 import biolockj.util.BioLockJUtil;
+import biolockj.util.DockerUtil;
 import biolockj.util.NextflowUtil;
 
 /**
@@ -182,6 +185,64 @@ public class Processor {
 		new Processor().runJob( module.getJobParams(), module.getClass().getSimpleName(), module.getScriptDir(), null );
 	}
 
+	/**
+	 * Run the module worker scripts directly instead of the MAIN script, which calls them one at a time. The number of
+	 * workers run at once is the number of available cores divided by
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}. Each worker runs in its own process with
+	 * stdout and stderr appended to its log file in the module log directory. The worker scripts create their own
+	 * {@value biolockj.Constants#SCRIPT_STARTED}, {@value biolockj.Constants#SCRIPT_SUCCESS} and
+	 * {@value biolockj.Constants#SCRIPT_FAILURES} flags. If a worker exits with an error status but no failure flag,
+	 * the flag is created here. As with the MAIN script, no new worker is started after a worker fails, and the MAIN
+	 * script flags are created to report the status of the module.
+	 *
+	 * @param module ScriptModule
+	 * @param workerScripts Worker scripts
+	 * @throws Exception if errors occur starting the workers
+	 */
+	public static void runModuleWorkerScripts( final ScriptModule module, final Collection<File> workerScripts )
+		throws Exception {
+		final String mainScriptPath = module.getMainScript().getAbsolutePath();
+		final List<File> scripts = new ArrayList<>( workerScripts );
+		Collections.sort( scripts );
+		final int numThreads = getNumLocalWorkers( module, scripts.size() );
+		final Map<String, String> envVars = Config.getEnvVarMap();
+		final List<String> failures = Collections.synchronizedList( new ArrayList<>() );
+		Log.info( Processor.class, "Run " + scripts.size() + " worker scripts for " + module.getClass().getSimpleName() +
+			" on " + numThreads + " threads" );
+		new File( mainScriptPath + "_" + Constants.SCRIPT_STARTED ).createNewFile();
+
+		final ExecutorService executor = Executors.newFixedThreadPool( numThreads );
+		try {
+			final List<Future<?>> results = new ArrayList<>();
+			for( final File script: scripts )
+				results.add( executor.submit( () -> {
+					if( failures.isEmpty() ) runWorkerScript( module, script, envVars, failures );
+					return null;
+				} ) );
+			for( final Future<?> result: results )
+				result.get();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if( failures.isEmpty() ) new File( mainScriptPath + "_" + Constants.SCRIPT_SUCCESS ).createNewFile();
+		else writeFailures( new File( mainScriptPath + "_" + Constants.SCRIPT_FAILURES ), failures );
+	}
+
+	/**
+	 * Check if the module worker scripts should be run by {@link #runModuleWorkerScripts(ScriptModule, Collection)}.
+	 * This applies only if {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_LOCAL_PARALLEL}=
+	 * {@value biolockj.Constants#TRUE} and the pipeline does not run on a cluster or in Docker.
+	 *
+	 * @param module ScriptModule
+	 * @return TRUE if the worker scripts run on local threads
+	 * @throws ConfigFormatException if {@value biolockj.Constants#SCRIPT_LOCAL_PARALLEL} is not a boolean value
+	 */
+	public static boolean runWorkersLocally( final ScriptModule module ) throws ConfigFormatException {
+		return Config.getBoolean( module, Constants.SCRIPT_LOCAL_PARALLEL ) && !Config.isOnCluster() &&
+			!DockerUtil.inDockerEnv();
+	}
+
 	/**
 	 * Instantiates a new {@link biolockj.Processor}.<br>
 	 * String[] array used to control spacing between command/params.<br>
@@ -260,5 +321,49 @@ public class Processor {
 		return sb.toString();
 	}
 
+	/**
+	 * Get the number of worker scripts to run at once: the number of available cores divided by
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}, at least 1 and at most the number of
+	 * worker scripts.
+	 */
+	private static int getNumLocalWorkers( final ScriptModule module, final int numScripts )
+		throws ConfigFormatException {
+		final Integer numThreads = Config.getPositiveInteger( module, Constants.SCRIPT_NUM_THREADS );
+		final int numWorkers = Runtime.getRuntime().availableProcessors() / ( numThreads == null ? 1: numThreads );
+		return Math.max( 1, Math.min( numWorkers, numScripts ) );
+	}
+
+	private static void runWorkerScript( final ScriptModule module, final File script,
+		final Map<String, String> envVars, final List<String> failures ) throws Exception {
+		final File log = new File( module.getLogDir(),
+			script.getName().replaceAll( Constants.SH_EXT + "$", Constants.LOG_EXT ) );
+		final ProcessBuilder builder = new ProcessBuilder( script.getAbsolutePath() );
+		builder.directory( module.getScriptDir() );
+		builder.environment().putAll( envVars );
+		builder.redirectErrorStream( true );
+		builder.redirectOutput( ProcessBuilder.Redirect.appendTo( log ) );
+
+		Log.info( Processor.class, "[ " + script.getName() + " ]: STARTING" );
+		final Process p = builder.start();
+		final int statusCode = p.waitFor();
+		Log.info( Processor.class, "[ " + script.getName() + " ]: COMPLETE - status code [ " + statusCode + " ]" );
+		final File failFlag = new File( script.getAbsolutePath() + "_" + Constants.SCRIPT_FAILURES );
+		if( statusCode != 0 || failFlag.isFile() ) {
+			final String msg = "Worker script " + script.getName() + " failure status code [ " + statusCode + " ]";
+			if( !failFlag.isFile() ) writeFailures( failFlag, Arrays.asList( msg ) );
+			failures.add( msg );
+		}
+	}
+
+	private static void writeFailures( final File file, final List<String> failures ) throws IOException {
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file, true ) );
+		try {
+			for( final String failure: failures )
+				writer.write( failure + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+	}
+
 	private static final Map<Thread, Long> threadRegister = new HashMap<>();
 }
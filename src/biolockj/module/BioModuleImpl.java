@@ -94,15 +94,12 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 	public abstract void checkDependencies() throws Exception;
 
 	/**
-	 * If metadata exists in module output directory, refresh MetaUtil.
+	 * If metadata (or a metadata column file) exists in module output directory, refresh MetaUtil.
 	 */
 	@Override
 	public void cleanUp() throws Exception {
 		Log.info( getClass(), "Clean up: " + getClass().getName() );
-		if( getMetadata().isFile() ) {
-			MetaUtil.setFile( getMetadata() );
-			MetaUtil.refreshCache();
-		}
+		MetaUtil.useModuleMetadata( getMetadata() );
 	}
 
 	@Override
@@ -245,6 +242,7 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 	@Override
 	public void init() throws Exception {
 		this.moduleId = nextId++;
+		this.config = new ConfigSnapshot( this );
 		this.moduleDir = new File(
 			Config.pipelinePath() + File.separator + ModuleUtil.displaySignature( this ) );
 
@@ -335,6 +333,15 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 		return BioLockJUtil.removeIgnoredAndEmptyFiles( moduleInputFiles );
 	}
 
+	/**
+	 * Get the {@link biolockj.ConfigSnapshot} built by {@link #init()}, used to read module properties inside loops.
+	 * 
+	 * @return Module Config snapshot
+	 */
+	protected ConfigSnapshot getConfig() {
+		return this.config;
+	}
+
 	/**
 	 * Get cached input files
 	 * 
@@ -371,6 +378,7 @@ public abstract class BioModuleImpl implements BioModule, Comparable<BioModule>
 		}
 	}
 
+	private ConfigSnapshot config = null;
 	private final List<File> inputFiles = new ArrayList<>();
 	private File moduleDir = null;
 	private Integer moduleId;
@@ -14,9 +14,11 @@ package biolockj.module;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
+import biolockj.exception.ConfigFormatException;
 import biolockj.util.*;
 
 /**
@@ -93,6 +95,89 @@ public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaMod
 	@Override
 	public abstract void runModule() throws Exception;
 
+	/**
+	 * Get the number of threads used to run numTasks tasks at the same time, limited by
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS} or the module specific form of this
+	 * property, such as <i>SeqFileValidator.numThreads</i>.
+	 * 
+	 * @param numTasks Number of tasks
+	 * @return Number of threads, at least 1
+	 * @throws ConfigFormatException if the property is not a positive integer
+	 */
+	protected int getNumThreads( final int numTasks ) throws ConfigFormatException {
+		final Integer numThreads = Config.getPositiveInteger( this, Constants.SCRIPT_NUM_THREADS );
+		return Math.max( 1, Math.min( numTasks, numThreads == null ? 1: numThreads ) );
+	}
+
+	/**
+	 * Run the task for each file on a pool of {@link #getNumThreads(int)} threads. The handler is called by the
+	 * calling thread for each file in list order as soon as its task completes, so statistics collected by the
+	 * handler need no locking. Log messages written by each task are held until the task completes and then written
+	 * in list order, so the log reads the same as if the files were processed one at a time.<br>
+	 * If only 1 thread is configured, the tasks run on the calling thread.
+	 * 
+	 * @param files Input files
+	 * @param task Task to run for each file
+	 * @param handler Called with each file and its task result, or null
+	 * @param <T> Task result type
+	 * @throws Exception if any task or handler fails
+	 */
+	protected <T> void runPerFile( final List<File> files, final FileTask<T> task, final FileHandler<T> handler )
+		throws Exception {
+		runPerFile( files, ( file, index ) -> task.run( file ), handler );
+	}
+
+	/**
+	 * Run the task for each file as in {@link #runPerFile(List, FileTask, FileHandler)}, passing the task the index
+	 * of the file in the list.
+	 * 
+	 * @param files Input files
+	 * @param task Task to run for each file and its index
+	 * @param handler Called with each file and its task result, or null
+	 * @param <T> Task result type
+	 * @throws Exception if any task or handler fails
+	 */
+	protected <T> void runPerFile( final List<File> files, final IndexedFileTask<T> task,
+		final FileHandler<T> handler ) throws Exception {
+		final int numThreads = getNumThreads( files.size() );
+		if( numThreads == 1 ) {
+			for( int i = 0; i < files.size(); i++ ) {
+				final T result = task.run( files.get( i ), i );
+				if( handler != null ) handler.handle( files.get( i ), result );
+			}
+			return;
+		}
+
+		Log.info( getClass(), "Process " + files.size() + " files with " + numThreads + " threads" );
+		final List<Future<T>> results = new ArrayList<>();
+		final List<Future<List<Object[]>>> msgs = new ArrayList<>();
+		final ExecutorService executor = Executors.newFixedThreadPool( numThreads );
+		try {
+			for( int i = 0; i < files.size(); i++ ) {
+				final File file = files.get( i );
+				final int index = i;
+				final CompletableFuture<List<Object[]>> fileMsgs = new CompletableFuture<>();
+				msgs.add( fileMsgs );
+				results.add( executor.submit( () -> {
+					Log.holdMsgs();
+					try {
+						return task.run( file, index );
+					} finally {
+						fileMsgs.complete( Log.releaseMsgs() );
+					}
+				} ) );
+			}
+
+			for( int i = 0; i < files.size(); i++ ) {
+				Log.writeMsgs( msgs.get( i ).get() );
+				final T result = getResult( results.get( i ) );
+				if( handler != null ) handler.handle( files.get( i ), result );
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * This method sets the module status by saving the indicator file to the module root dir.
 	 * 
@@ -155,6 +240,75 @@ public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaMod
 		return DockerUtil.getVersionAsTag();
 	}
 
+	/**
+	 * Get the result of a task run on another thread, throwing the exception thrown by the task if it failed.
+	 * 
+	 * @param future Task result
+	 * @param <T> Task result type
+	 * @return Task result
+	 * @throws Exception if the task failed or the calling thread is interrupted
+	 */
+	protected static <T> T getResult( final Future<T> future ) throws Exception {
+		try {
+			return future.get();
+		} catch( final ExecutionException ex ) {
+			if( ex.getCause() instanceof Exception ) throw (Exception) ex.getCause();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Processes one input file, called by {@link JavaModuleImpl#runPerFile(List, FileTask, FileHandler)} on a worker
+	 * thread.
+	 * 
+	 * @param <T> Task result type
+	 */
+	protected interface FileTask<T> {
+		/**
+		 * Process the file.
+		 * 
+		 * @param file Input file
+		 * @return Result passed to the {@link FileHandler}
+		 * @throws Exception if errors occur
+		 */
+		T run( File file ) throws Exception;
+	}
+
+	/**
+	 * Processes one input file and its index in the input file list, called by
+	 * {@link JavaModuleImpl#runPerFile(List, IndexedFileTask, FileHandler)} on a worker thread.
+	 * 
+	 * @param <T> Task result type
+	 */
+	protected interface IndexedFileTask<T> {
+		/**
+		 * Process the file.
+		 * 
+		 * @param file Input file
+		 * @param index Index of the file in the input file list
+		 * @return Result passed to the {@link FileHandler}
+		 * @throws Exception if errors occur
+		 */
+		T run( File file, int index ) throws Exception;
+	}
+
+	/**
+	 * Receives the result of a {@link FileTask}, called by {@link JavaModuleImpl#runPerFile(List, FileTask, FileHandler)}
+	 * on the calling thread in input file order.
+	 * 
+	 * @param <T> Task result type
+	 */
+	protected interface FileHandler<T> {
+		/**
+		 * Handle the task result.
+		 * 
+		 * @param file Input file
+		 * @param result Task result
+		 * @throws Exception if errors occur
+		 */
+		void handle( File file, T result ) throws Exception;
+	}
+
 	/**
 	 * Docker environment variable holding the Docker program switches: {@value #BLJ_OPTIONS}
 	 */
@@ -29,6 +29,8 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 	public ScriptModuleImpl() {
 		super();
 		addGeneralProperty( Constants.SCRIPT_DEFAULT_HEADER );
+		addGeneralProperty( Constants.SCRIPT_BALANCE_WORKERS );
+		addGeneralProperty( Constants.SCRIPT_LOCAL_PARALLEL );
 		addGeneralProperty( Constants.SCRIPT_NUM_WORKERS );
 		addGeneralProperty( Constants.SCRIPT_NUM_THREADS );
 		addGeneralProperty( Constants.SCRIPT_PERMISSIONS );
@@ -150,7 +152,8 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 	 */
 	@Override
 	public String getSummary() throws Exception {
-		return super.getSummary() + ( hasScripts() ? SummaryUtil.getScriptDirSummary( this ): "" );
+		return super.getSummary() +
+			( hasScripts() ? SummaryUtil.getScriptDirSummary( this ) + WorkerBatchUtil.getSummary( this ): "" );
 	}
 
 	/**
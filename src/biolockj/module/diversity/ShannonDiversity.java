@@ -1,8 +1,6 @@
 package biolockj.module.diversity;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import biolockj.Log;
 import biolockj.api.ApiModule;
@@ -28,10 +26,8 @@ public class ShannonDiversity extends TransformTaxaTables implements ApiModule
 		TaxaLevelTable newData = new TaxaLevelTable(inputData.getLevel());
 		for(String name : sampleNames)
 		{
-			Double val = getShannonEntropy(inputData, name);
-			HashMap<String, Double> cell = new HashMap<>();
-			cell.put( SHANNON_COLUMN, val );
-			newData.put(name, cell);
+			double val = getShannonEntropy(inputData, name);
+			newData.setValue( name, SHANNON_COLUMN, val );
 		}
 		Log.debug(this.getClass(), "Finished ShannonDiversity calculation for [" + inputData.getLevel() + "] level.");
 		return newData;
@@ -45,27 +41,20 @@ public class ShannonDiversity extends TransformTaxaTables implements ApiModule
 	
 	private double getShannonEntropy(TaxaLevelTable table, String sample) throws Exception
 	{
-		double sum = 0;
-
-		Collection<Double> innerList = table.get( sample ).values();
-
-		for (Double d : innerList)
-			sum += d;
-
-		List<Double> newList = new ArrayList<Double>();
-
-		for (Double d : innerList)
-			newList.add(d / sum);
-
-		sum = 0;
-		for (Double d : newList)
+		final double[] row = table.getRow( sample );
+		final int numTaxa = table.numTaxa();
+		double sum = table.rowSum( sample );
+		double entropy = 0;
+		for (int i = 0; i < numTaxa; i++)
+		{
+			double d = row[i] / sum;
 			if (d > 0)
 			{
-				sum += d * Math.log(d);
-
+				entropy += d * Math.log(d);
 			}
+		}
 
-		return -sum;
+		return -entropy;
 	}
 
 	@Override
@@ -13,6 +13,9 @@ package biolockj.module.implicit;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.io.FileUtils;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.API_Exception;
@@ -54,6 +57,9 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		addGeneralProperty( DemuxUtil.BARCODE_USE_REV_COMP, "(DeuxUtil)" );
 		addGeneralProperty( DemuxUtil.DEMUX_STRATEGY, "(DeuxUtil)"  );
 		addGeneralProperty( Constants.DEFAULT_MOD_DEMUX );
+		addNewProperty( DEMUX_STREAMING, Properties.BOOLEAN_TYPE, "Options: Y/N. If Y, demultiplex each input file as it is read, without writing temporary split files. Reads are matched to samples by a pool of worker threads.", Constants.FALSE );
+		addNewProperty( DEMUX_GZIP_OUTPUT, Properties.BOOLEAN_TYPE, "Options: Y/N. If Y, gzip the demultiplexed sample files. Only used if " + DEMUX_STREAMING + "=Y", Constants.FALSE );
+		addGeneralProperty( Constants.SCRIPT_NUM_THREADS, "number of worker threads used to match reads to samples if " + DEMUX_STREAMING + "=Y" );
 	}
 
 	/**
@@ -82,7 +88,7 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		else if( DemuxUtil.demuxWithBarcode() ) {
 			if( !MetaUtil.exists() ) throw new Exception( demuxStrategy + " but metadata file is undefined" );
 
-			if( !MetaUtil.getFieldNames().contains( Config.requireString( this, MetaUtil.META_BARCODE_COLUMN ) ) )
+			if( !MetaUtil.hasColumn( Config.requireString( this, MetaUtil.META_BARCODE_COLUMN ) ) )
 				throw new Exception( demuxStrategy + " but the barcode column configured [ " +
 					MetaUtil.META_BARCODE_COLUMN + "=" + Config.requireString( this, MetaUtil.META_BARCODE_COLUMN ) +
 					" ] is not found in the metadata: " + MetaUtil.getPath() );
@@ -175,9 +181,16 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 	 * If paired reads are combined in a single file the read direction must be identified in the sequence header using
 	 * key strings {@value biolockj.util.SeqUtil#ILLUMINA_FW_READ_IND}
 	 * {@value biolockj.util.SeqUtil#ILLUMINA_RV_READ_IND}
+	 * <p>
+	 * If {@link biolockj.Config}.{@value #DEMUX_STREAMING}={@value biolockj.Constants#TRUE}, execute
+	 * {@link #demultiplexStreaming()} instead.
 	 */
 	@Override
 	public void runModule() throws Exception {
+		if( Config.getBoolean( this, DEMUX_STREAMING ) ) {
+			demultiplexStreaming();
+			return;
+		}
 		breakUpFiles();
 		demultiplex( getValidHeaders() );
 	}
@@ -309,6 +322,126 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		}
 	}
 
+	/**
+	 * Demultiplex the input files without temporary split files. Each file is streamed through
+	 * {@link #streamReads(File, ReadResolver, ReadHandler)} and every read is appended to a buffered writer for its
+	 * output file, so the multiplexed data is never held in memory. Barcodes are counted in the first
+	 * {@value #NUM_TEST_READS} reads only, see {@link #countBarcodes(File)}.<br>
+	 * Unpaired reads are demultiplexed in a single pass. Paired forward reads are written as they are read, and their
+	 * headers are matched to samples, so the reverse reads can be written in a second pass. A combined paired file is
+	 * read once, and again only for reverse reads found before their forward read. Forward reads without a matching
+	 * reverse read are then moved from the sample files to the NO_MATCH file.<br>
+	 * The barcode map is built before streaming starts, so the worker threads only read it.
+	 *
+	 * @throws Exception if errors occur reading or writing sequence files
+	 */
+	protected void demultiplexStreaming() throws Exception {
+		if( DemuxUtil.hasValidBarcodes() ) for( final File file: getInputFiles() )
+			if( countBarcodes( file ) ) break;
+
+		this.gzipOutput = Config.getBoolean( this, DEMUX_GZIP_OUTPUT );
+		if( DemuxUtil.demuxWithBarcode() ) DemuxUtil.getIdMap();
+		final boolean isPaired = SeqUtil.hasPairedReads();
+		final boolean isCombined = isPaired && getInputFiles().size() == 1;
+		try {
+			if( !isPaired ) for( final File file: getInputFiles() ) {
+				Log.info( getClass(), "Demultiplexing file " + file.getAbsolutePath() );
+				streamReads( file, read -> DemuxUtil.getSampleId( read ), ( read, sampleId ) -> {
+					this.numTotalFwReads++;
+					writeRead( file.getName(), read, sampleId );
+				} );
+			}
+			else {
+				final Map<String, String> fwSampleIds = new HashMap<>();
+				final Map<String, String> fwOutFiles = new HashMap<>();
+				final Set<String> pairedHeaders = new HashSet<>();
+				final Set<String> pendingRvHeaders = new HashSet<>();
+				for( final File file: getInputFiles() ) {
+					if( !isCombined && !SeqUtil.isForwardRead( file.getName() ) ) continue;
+					Log.info( getClass(), "Demultiplexing forward reads: " + file.getAbsolutePath() );
+					streamReads( file, read -> isForwardRead( file.getName(), read.get( 0 ) ) ?
+						DemuxUtil.getSampleId( read ): null, ( read, sampleId ) -> {
+							final String header = SeqUtil.getHeader( read.get( 0 ) );
+							if( isForwardRead( file.getName(), read.get( 0 ) ) ) {
+								this.numTotalFwReads++;
+								if( sampleId != null || isCombined ) fwSampleIds.put( header, sampleId );
+								final String outName = writeRead( file.getName(), read, sampleId );
+								if( sampleId != null && !fwOutFiles.containsKey( sampleId ) ) {
+									fwOutFiles.put( sampleId, outName );
+									if( this.fwNoMatchFile == null )
+										this.fwNoMatchFile = getStreamFileName( file.getName(), read, null );
+								}
+							} else {
+								this.numTotalRvReads++;
+								if( !fwSampleIds.containsKey( header ) ) pendingRvHeaders.add( header );
+								else writeReverseRead( file.getName(), read, fwSampleIds.get( header ), pairedHeaders );
+							}
+						} );
+				}
+
+				for( final File file: getInputFiles() ) {
+					if( isCombined ? pendingRvHeaders.isEmpty(): SeqUtil.isForwardRead( file.getName() ) ) continue;
+					Log.info( getClass(), "Demultiplexing reverse reads: " + file.getAbsolutePath() );
+					streamReads( file, read -> fwSampleIds.get( SeqUtil.getHeader( read.get( 0 ) ) ),
+						( read, sampleId ) -> {
+							if( !isCombined ) this.numTotalRvReads++;
+							else if( isForwardRead( file.getName(), read.get( 0 ) ) ||
+								!pendingRvHeaders.contains( SeqUtil.getHeader( read.get( 0 ) ) ) ) return;
+							writeReverseRead( file.getName(), read, sampleId, pairedHeaders );
+						} );
+				}
+
+				closeWriters();
+				moveUnpairedReads( fwSampleIds, pairedHeaders, fwOutFiles );
+			}
+		} finally {
+			closeWriters();
+		}
+
+		Log.info( getClass(), "Total fw reads = " + this.numTotalFwReads );
+		Log.info( getClass(), "Total rv reads = " + this.numTotalRvReads );
+		Log.info( getClass(), "Number valid reads = " + ( this.numValidFwReads + this.numValidRvReads ) );
+	}
+
+	/**
+	 * Stream the reads in one file through a pool of {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}
+	 * workers. A reader thread parses reads into batches of {@value #STREAM_BATCH_SIZE}, which it hands to the workers
+	 * through a bounded queue. The workers resolve the sample ID of each read in the batch, and the calling thread passes
+	 * each read with its sample ID to the handler in the same order as the input file.
+	 *
+	 * @param file Sequence file
+	 * @param resolver Returns the sample ID of a read, run by the worker threads
+	 * @param handler Processes each read with its sample ID, run by the calling thread
+	 * @throws Exception if errors occur reading the file or processing reads
+	 */
+	protected void streamReads( final File file, final ReadResolver resolver, final ReadHandler handler )
+		throws Exception {
+		final int numThreads = getNumThreads( Integer.MAX_VALUE );
+		final ExecutorService workers = Executors.newFixedThreadPool( numThreads );
+		final ExecutorService readerThread = Executors.newSingleThreadExecutor();
+		final BlockingQueue<Future<ReadBatch>> queue = new ArrayBlockingQueue<>( 2 * numThreads );
+		try {
+			final Future<?> reader = readerThread.submit( () -> {
+				try {
+					streamBatches( file, workers, resolver, queue );
+				} finally {
+					queue.put( END_OF_FILE );
+				}
+				return null;
+			} );
+
+			for( Future<ReadBatch> next = queue.take(); next != END_OF_FILE; next = queue.take() ) {
+				final ReadBatch batch = getResult( next );
+				for( int i = 0; i < batch.reads.size(); i++ )
+					handler.handle( batch.reads.get( i ), batch.sampleIds[ i ] );
+			}
+			getResult( reader );
+		} finally {
+			readerThread.shutdownNow();
+			workers.shutdownNow();
+		}
+	}
+
 	/**
 	 * Get valid forward read headers that belong to reads with a valid barcode or sample identifier.
 	 *
@@ -501,6 +634,52 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		}
 	}
 
+	private void closeWriters() throws IOException {
+		for( final BufferedWriter writer: this.writers.values() )
+			writer.close();
+		this.writers.clear();
+	}
+
+	/**
+	 * Count the barcodes found in the headers and sequences of the first {@value #NUM_TEST_READS} reads in the file
+	 * to set the demultiplexer Config, so the file is not read in full before it is demultiplexed.
+	 * 
+	 * @return TRUE if the file contains reads
+	 */
+	private boolean countBarcodes( final File file ) throws Exception {
+		long numReads = 0L;
+		long headerFwBarcodes = 0L;
+		long headerRvBarcodes = 0L;
+		long seqFwBarcodes = 0L;
+		long seqRvBarcodes = 0L;
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			int i = 0;
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				if( i == 0 ) {
+					if( numReads == NUM_TEST_READS ) break;
+					numReads++;
+					final int testBarcodes = hasBarcode( line );
+					if( testBarcodes == 1 ) headerFwBarcodes++;
+					else if( testBarcodes == 2 ) headerRvBarcodes++;
+				}
+
+				if( i == 1 ) {
+					final int testBarcodes = hasBarcode( line );
+					if( testBarcodes == 1 ) seqFwBarcodes++;
+					else if( testBarcodes == 2 ) seqRvBarcodes++;
+				}
+				if( ++i == SeqUtil.getNumLinesPerRead() ) i = 0;
+			}
+		} finally {
+			reader.close();
+		}
+
+		if( numReads == 0 ) return false;
+		buildSummaryAndSetConfig( file, numReads, headerFwBarcodes, seqFwBarcodes, headerRvBarcodes, seqRvBarcodes );
+		return true;
+	}
+
 	private Double getBarcodeCutoff() throws Exception {
 		final Double val = Config.getPositiveDoubleVal( this, DemuxUtil.BARCODE_CUTOFF );
 		if( val != null && val > 1 )
@@ -576,6 +755,113 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		Log.info( getClass(), "Number valid reads = " + size );
 	}
 
+	private String getStreamFileName( final String name, final List<String> read, final String sampleId )
+		throws Exception {
+		final String outName = sampleId == null ? getNoMatchFileName( name, read.get( 0 ) ):
+			getOutputFileName( sampleId, name, read.get( 0 ) );
+		return this.gzipOutput ? outName + Constants.GZIP_EXT: outName;
+	}
+
+	/**
+	 * Get the writer for the output file. At most {@value #MAX_OPEN_WRITERS} writers are kept open, if another is
+	 * needed the least recently used writer is closed. A file that has been written before is reopened in append
+	 * mode, which for gzipped output appends a new gzip member to the file.
+	 */
+	private BufferedWriter getWriter( final String fileName ) throws IOException {
+		BufferedWriter writer = this.writers.get( fileName );
+		if( writer == null ) {
+			if( this.writers.size() >= MAX_OPEN_WRITERS ) {
+				final Iterator<BufferedWriter> it = this.writers.values().iterator();
+				final BufferedWriter eldest = it.next();
+				it.remove();
+				eldest.close();
+			}
+			final boolean append = !this.writtenFiles.add( fileName );
+			if( fileName.endsWith( Constants.GZIP_EXT ) ) writer = new BufferedWriter(
+				new OutputStreamWriter(
+					new GZIPOutputStream( new FileOutputStream( fileName, append ), WRITER_BUFFER_SIZE ) ),
+				WRITER_BUFFER_SIZE );
+			else writer = new BufferedWriter( new FileWriter( fileName, append ), WRITER_BUFFER_SIZE );
+			this.writers.put( fileName, writer );
+		}
+		return writer;
+	}
+
+	/**
+	 * Move the forward reads without a matching reverse read from their sample files to the forward NO_MATCH file.
+	 * Each sample file that holds an unpaired read is rewritten without it. Called after all writers are closed.
+	 */
+	private void moveUnpairedReads( final Map<String, String> fwSampleIds, final Set<String> pairedHeaders,
+		final Map<String, String> fwOutFiles ) throws Exception {
+		final Map<String, Set<String>> unpairedHeaders = new HashMap<>();
+		for( final String header: fwSampleIds.keySet() ) {
+			final String sampleId = fwSampleIds.get( header );
+			if( sampleId == null || pairedHeaders.contains( header ) ) continue;
+			if( unpairedHeaders.get( sampleId ) == null ) unpairedHeaders.put( sampleId, new HashSet<>() );
+			unpairedHeaders.get( sampleId ).add( header );
+		}
+
+		for( final String sampleId: unpairedHeaders.keySet() ) {
+			final Set<String> headers = unpairedHeaders.get( sampleId );
+			final File outFile = new File( fwOutFiles.get( sampleId ) );
+			final File tempFile = new File( getTempDir(), outFile.getName() );
+			Log.info( getClass(), "Move " + headers.size() + " forward reads without a reverse read from: " +
+				outFile.getAbsolutePath() );
+			final List<String> read = new ArrayList<>();
+			final BufferedReader reader = BioLockJUtil.getFileReader( outFile );
+			try {
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					read.add( line );
+					if( read.size() < SeqUtil.getNumLinesPerRead() ) continue;
+					final boolean isUnpaired = headers.contains( SeqUtil.getHeader( read.get( 0 ) ) );
+					if( isUnpaired ) this.numValidFwReads--;
+					final BufferedWriter writer =
+						getWriter( isUnpaired ? this.fwNoMatchFile: tempFile.getAbsolutePath() );
+					for( final String seqLine: read ) {
+						writer.write( seqLine );
+						writer.write( RETURN );
+					}
+					read.clear();
+				}
+			} finally {
+				reader.close();
+				closeWriters();
+			}
+			this.writtenFiles.remove( tempFile.getAbsolutePath() );
+			if( !tempFile.isFile() ) tempFile.createNewFile();
+			FileUtils.forceDelete( outFile );
+			FileUtils.moveFile( tempFile, outFile );
+		}
+	}
+
+	/**
+	 * Read the file into batches of {@value #STREAM_BATCH_SIZE} reads, submit each batch to the workers and add the
+	 * resulting Future to the queue. Called by the reader thread of
+	 * {@link #streamReads(File, ReadResolver, ReadHandler)}.
+	 */
+	private static void streamBatches( final File file, final ExecutorService workers, final ReadResolver resolver,
+		final BlockingQueue<Future<ReadBatch>> queue ) throws Exception {
+		final int numLinesPerRead = SeqUtil.getNumLinesPerRead();
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			ReadBatch batch = new ReadBatch();
+			List<String> read = new ArrayList<>( numLinesPerRead );
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				read.add( line );
+				if( read.size() < numLinesPerRead ) continue;
+				batch.reads.add( read );
+				read = new ArrayList<>( numLinesPerRead );
+				if( batch.reads.size() == STREAM_BATCH_SIZE ) {
+					queue.put( workers.submit( batch.resolve( resolver ) ) );
+					batch = new ReadBatch();
+				}
+			}
+			if( !batch.reads.isEmpty() ) queue.put( workers.submit( batch.resolve( resolver ) ) );
+		} finally {
+			reader.close();
+		}
+	}
+
 	private boolean strategyConfigSet() {
 		return Config.getString( this, DemuxUtil.DEMUX_STRATEGY ) != null;
 	}
@@ -601,6 +887,30 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		return null;
 	}
 
+	private String writeRead( final String name, final List<String> read, final String sampleId ) throws Exception {
+		final String outName = getStreamFileName( name, read, sampleId );
+		if( sampleId != null ) {
+			incrementCounts( name, read.get( 0 ) );
+			if( this.numValidFwReads + this.numValidRvReads == 1 ) {
+				Log.info( getClass(), "EXAMPLE Demultiplexed Sample ID: " + sampleId );
+				Log.info( getClass(), "EXAMPLE Demultiplexed sequence file: " + outName );
+			}
+		}
+
+		final BufferedWriter writer = getWriter( outName );
+		for( final String line: read ) {
+			writer.write( line );
+			writer.write( RETURN );
+		}
+		return outName;
+	}
+
+	private void writeReverseRead( final String name, final List<String> read, final String sampleId,
+		final Set<String> pairedHeaders ) throws Exception {
+		if( sampleId != null ) pairedHeaders.add( SeqUtil.getHeader( read.get( 0 ) ) );
+		writeRead( name, read, sampleId );
+	}
+
 	private static void writeSample( final List<String> lines, final String fileName ) throws Exception {
 		final File outFile = new File( fileName );
 		final boolean exists = outFile.isFile();
@@ -616,13 +926,91 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 	private long numValidFwReads = 0L;
 	private long numValidRvReads = 0L;
 
+	private String fwNoMatchFile = null;
+	private boolean gzipOutput = false;
 	private String summary = "";
+	private final Map<String, BufferedWriter> writers = new LinkedHashMap<>( 16, 0.75f, true );
+	private final Set<String> writtenFiles = new HashSet<>();
+
+	/**
+	 * Resolves the sample ID of one read, called by worker threads in
+	 * {@link Demultiplexer#streamReads(File, ReadResolver, ReadHandler)}.
+	 */
+	protected interface ReadResolver {
+		/**
+		 * Get the sample ID of the read.
+		 * 
+		 * @param read Lines of one read
+		 * @return Sample ID or null if the read is not matched to a sample
+		 * @throws Exception if errors occur
+		 */
+		String getSampleId( List<String> read ) throws Exception;
+	}
+
+	/**
+	 * Processes one read and its sample ID, called by the module thread in
+	 * {@link Demultiplexer#streamReads(File, ReadResolver, ReadHandler)} in input file order.
+	 */
+	protected interface ReadHandler {
+		/**
+		 * Process the read.
+		 * 
+		 * @param read Lines of one read
+		 * @param sampleId Sample ID returned by the {@link ReadResolver}
+		 * @throws Exception if errors occur
+		 */
+		void handle( List<String> read, String sampleId ) throws Exception;
+	}
+
+	private static class ReadBatch {
+		Callable<ReadBatch> resolve( final ReadResolver resolver ) {
+			return () -> {
+				this.sampleIds = new String[ this.reads.size() ];
+				for( int i = 0; i < this.sampleIds.length; i++ )
+					this.sampleIds[ i ] = resolver.getSampleId( this.reads.get( i ) );
+				return this;
+			};
+		}
+
+		final List<List<String>> reads = new ArrayList<>( STREAM_BATCH_SIZE );
+		String[] sampleIds = null;
+	}
+
+	/**
+	 * {@link biolockj.Config} Boolean property {@value #DEMUX_GZIP_OUTPUT} if enabled, gzip the demultiplexed files
+	 * written when {@value #DEMUX_STREAMING} is enabled
+	 */
+	protected static final String DEMUX_GZIP_OUTPUT = "demultiplexer.gzipOutput";
+
+	/**
+	 * {@link biolockj.Config} Boolean property {@value #DEMUX_STREAMING} if enabled, demultiplex input files as they are
+	 * read, without temporary split files
+	 */
+	protected static final String DEMUX_STREAMING = "demultiplexer.streaming";
+
+	/**
+	 * Maximum number of sample files held open at once when streaming: {@value #MAX_OPEN_WRITERS}
+	 */
+	protected static final int MAX_OPEN_WRITERS = 64;
 
 	/**
 	 * Module splits multiplexed file into smaller files with this number of lines: {@value #NUM_LINES_TEMP_FILE}
 	 */
 	protected static final int NUM_LINES_TEMP_FILE = 2000000;
 
+	/**
+	 * Number of reads in the first file used to count barcodes when streaming: {@value #NUM_TEST_READS}
+	 */
+	protected static final long NUM_TEST_READS = 100000L;
+
+	/**
+	 * Number of reads passed to a worker thread at a time when streaming: {@value #STREAM_BATCH_SIZE}
+	 */
+	protected static final int STREAM_BATCH_SIZE = 10000;
+
+	private static final Future<ReadBatch> END_OF_FILE = CompletableFuture.completedFuture( null );
+	private static final int WRITER_BUFFER_SIZE = 1 << 16;
+
 	@Override
 	public String getDescription() {
 		return "Demultiplex samples into separate files for each sample.";
@@ -50,12 +50,13 @@ public class RegisterNumReads extends JavaModuleImpl implements SeqModule, ReadC
 
 	/**
 	 * Register number of reads for each sample by parsing each file and counting number of lines. Add
-	 * {@value #NUM_READS} column to metadata and refresh the cache.
+	 * {@value #NUM_READS} column to metadata and refresh the cache.<br>
+	 * Files are counted in parallel by {@link #runPerFile(List, FileTask, FileHandler)}.
 	 */
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		if( MetaUtil.getFieldNames().contains( NUM_READS ) ) {
+		if( MetaUtil.hasColumn( NUM_READS ) ) {
 			if( MetaUtil.getFieldValues( NUM_READS, false ).size() == MetaUtil.getSampleIds().size() ) {
 				Log.warn( getClass(), NUM_READS + " column already  populated in: " + MetaUtil.getPath() );
 				FileUtils.copyFileToDirectory( MetaUtil.getMetadata(), getOutputDir() );
@@ -71,12 +72,14 @@ public class RegisterNumReads extends JavaModuleImpl implements SeqModule, ReadC
 		final List<File> files = getInputFiles();
 		Log.info( getClass(), "Counting # reads/sample for " + files.size() + " files" );
 
+		final List<File> fwReads = new ArrayList<>();
 		for( final File f: files )
-			if( SeqUtil.isForwardRead( f.getName() ) ) {
-				final long count = SeqUtil.countNumReads( f );
-				Log.debug( getClass(), "Num Reads for :[" + SeqUtil.getSampleId( f ) + "] = " + count );
-				this.readsPerSample.put( SeqUtil.getSampleId( f ), Long.toString( count ) );
-			}
+			if( SeqUtil.isForwardRead( f.getName() ) ) fwReads.add( f );
+
+		runPerFile( fwReads, SeqUtil::countNumReads, ( f, count ) -> {
+			Log.debug( getClass(), "Num Reads for :[" + SeqUtil.getSampleId( f ) + "] = " + count );
+			this.readsPerSample.put( SeqUtil.getSampleId( f ), Long.toString( count ) );
+		} );
 
 		MetaUtil.addColumn( getNumReadFieldName(), this.readsPerSample, getOutputDir(), true );
 	}
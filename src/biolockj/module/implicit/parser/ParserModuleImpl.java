@@ -14,6 +14,7 @@ package biolockj.module.implicit.parser;
 import java.io.*;
 import java.util.*;
 import biolockj.*;
+import biolockj.Properties;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModuleImpl;
 import biolockj.node.OtuNode;
@@ -31,6 +32,7 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		addGeneralProperty( Constants.REPORT_NUM_HITS );
 		//biolockj.node.OtuNodeImpl
 		addGeneralProperty( Constants.REPORT_UNCLASSIFIED_TAXA );
+		addNewProperty( PARALLEL_PARSE, Properties.BOOLEAN_TYPE, "Options: Y/N. If Y, parsers that support it parse each input file on its own thread and merge the parsed samples when all files are parsed.", Constants.FALSE );
 	}
 	
 	@Override
@@ -79,9 +81,9 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 
 	@Override
 	public ParsedSample getParsedSample( final String sampleId ) {
-		for( final ParsedSample sample: getParsedSamples() )
-			if( sample.getSampleId().equals( sampleId ) ) return sample;
-		return null;
+		final Map<String, ParsedSample> fileSamples = this.fileParsedSamples.get();
+		if( fileSamples != null ) return fileSamples.get( sampleId );
+		return this.parsedSampleIndex.get( sampleId );
 	}
 
 	/**
@@ -127,10 +129,48 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 	 * @throws Exception if method is used to add a duplicate sample
 	 */
 	protected void addParsedSample( final ParsedSample parsedSample ) throws Exception {
-		for( final ParsedSample sample: getParsedSamples() )
-			if( sample.getSampleId().equals( parsedSample.getSampleId() ) )
-				throw new Exception( "Attempt to add duplicate sample! " + sample.getSampleId() );
-		getParsedSamples().add( parsedSample );
+		final Map<String, ParsedSample> fileSamples = this.fileParsedSamples.get();
+		final Map<String, ParsedSample> index = fileSamples == null ? this.parsedSampleIndex: fileSamples;
+		if( index.containsKey( parsedSample.getSampleId() ) )
+			throw new Exception( "Attempt to add duplicate sample! " + parsedSample.getSampleId() );
+		index.put( parsedSample.getSampleId(), parsedSample );
+		if( fileSamples == null ) getParsedSamples().add( parsedSample );
+	}
+
+	/**
+	 * Parse each file with the parser. If {@link biolockj.Config}.{@value #PARALLEL_PARSE}={@value Constants#TRUE},
+	 * the files are parsed by {@link #runPerFile(List, FileTask, FileHandler)}, each into its own
+	 * {@link biolockj.node.ParsedSample}s, which are merged into the parser cache in file order. Since OTU counts are
+	 * summed per OTU, {@link #buildOtuCountFiles()} output is the same as when the files are parsed one at a time.<br>
+	 * The parser must only use {@link #addOtuNode(OtuNode)}, {@link #getParsedSample(String)} and
+	 * {@link #addParsedSample(ParsedSample)} to store samples.
+	 *
+	 * @param files Classifier output files
+	 * @param parser Parses one file
+	 * @throws Exception if errors occur parsing any file
+	 */
+	protected void parseFiles( final List<File> files, final FileTask<?> parser ) throws Exception {
+		if( !Config.getBoolean( this, PARALLEL_PARSE ) ) {
+			for( final File file: files )
+				parser.run( file );
+			return;
+		}
+
+		runPerFile( files, file -> {
+			this.fileParsedSamples.set( new HashMap<>() );
+			try {
+				parser.run( file );
+				return this.fileParsedSamples.get().values();
+			} finally {
+				this.fileParsedSamples.remove();
+			}
+		}, ( file, samples ) -> {
+			for( final ParsedSample sample: samples ) {
+				final ParsedSample parsedSample = getParsedSample( sample.getSampleId() );
+				if( parsedSample == null ) addParsedSample( sample );
+				else parsedSample.addSample( sample );
+			}
+		} );
 	}
 
 	/**
@@ -202,6 +242,7 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 	private void freeMemory() {
 		this.hitsPerSample = null;
 		this.parsedSamples = null;
+		this.parsedSampleIndex = null;
 		this.sampleIds = null;
 		this.uniqueOtus = null;
 	}
@@ -243,7 +284,9 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		}
 	}
 
+	private final ThreadLocal<Map<String, ParsedSample>> fileParsedSamples = new ThreadLocal<>();
 	private Map<String, String> hitsPerSample = new HashMap<>();
+	private Map<String, ParsedSample> parsedSampleIndex = new HashMap<>();
 	private TreeSet<ParsedSample> parsedSamples = new TreeSet<>();
 	private Set<String> sampleIds = new HashSet<>();
 	private Set<String> uniqueOtus = new HashSet<>();
@@ -253,6 +296,11 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 	 * module executes: {@value #NUM_OTUS}
 	 */
 	protected static final String NUM_OTUS = "OTU_COUNT";
+
+	/**
+	 * {@link biolockj.Config} Boolean property {@value #PARALLEL_PARSE} if enabled, parse input files in parallel
+	 */
+	protected static final String PARALLEL_PARSE = "parser.parallelParse";
 	private static final Set<String> depricatedOtuCountFields = new HashSet<>();
 	private static String otuCountField = NUM_OTUS;
 
@@ -144,7 +144,7 @@ public class RdpHierParser extends JavaModuleImpl implements ApiModule {
 							}
 						}
 					}else {
-						Log.debug(RdpHierParser.class, "Skipping counts from line [ " + lineNo + " ], because rank [" + rank + "] is not a reportable level.");
+						Log.debug(RdpHierParser.class, "Skipping counts from line [ {} ], because rank [{}] is not a reportable level.", lineNo, rank);
 					}
 				}
 			} catch( FileNotFoundException e ) {
@@ -12,7 +12,6 @@
 package biolockj.module.implicit.parser.r16s;
 
 import java.io.BufferedReader;
-import java.io.File;
 import biolockj.*;
 import biolockj.api.ApiModule;
 import biolockj.exception.BioLockJException;
@@ -50,7 +49,7 @@ public class RdpParser extends ParserModuleImpl implements ApiModule{
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) {
+		parseFiles( getInputFiles(), file -> {
 			final BufferedReader reader = BioLockJUtil.getFileReader( file );
 			Log.debug(this.getClass(), "Parsing file: " + file.getName());
 			String sampleId = SeqUtil.getSampleId( file );
@@ -67,7 +66,8 @@ public class RdpParser extends ParserModuleImpl implements ApiModule{
 			}finally {
 				if( reader != null ) reader.close();
 			}
-		}
+			return null;
+		} );
 	}
 
 	/**
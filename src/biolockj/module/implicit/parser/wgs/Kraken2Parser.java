@@ -29,11 +29,12 @@ public class Kraken2Parser extends KrakenParser {
 	
 	@Override
 	protected void parseSample( final File file ) throws Exception {
+		final String sampleId = SeqUtil.getSampleId( file );
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		try {
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
 				if( discardOtu( line ) ) continue;
-				addOtuNode( new Kraken2Node( SeqUtil.getSampleId( file ), line ) );
+				addOtuNode( new Kraken2Node( sampleId, line ) );
 			}
 		} finally {
 			if( reader != null ) reader.close();
@@ -108,7 +109,7 @@ public class Kraken2Parser extends KrakenParser {
 	private boolean discardOtu( final String line ) {
 		for( final String delim: getDiscardLevelDelims() )
 			if( line.contains( delim ) ) {
-				Log.debug( getClass(), "Discard Line [" + line + "] - due to invalid level: " +
+				Log.debug( getClass(), "Discard Line [{}] - due to invalid level: {}", line,
 					OtuNodeImpl.delimToLevelMap().get( delim ) );
 				return true;
 			}
@@ -57,7 +57,10 @@ public class KrakenParser extends ParserModuleImpl implements ApiModule {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) parseSample( file );
+		parseFiles( getInputFiles(), file -> {
+			parseSample( file );
+			return null;
+		} );
 	}
 
 	/**
@@ -67,15 +70,16 @@ public class KrakenParser extends ParserModuleImpl implements ApiModule {
 	 * @throws Exception if any errors occur
 	 */
 	protected void parseSample( final File file ) throws Exception {
+		final String sampleId = SeqUtil.getSampleId( file );
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		try {
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				final OtuNode node = new KrakenNode( SeqUtil.getSampleId( file ), line );
+				final OtuNode node = new KrakenNode( sampleId, line );
 				if( node.getTaxaMap() == null || node.getTaxaMap().get( TaxaUtil.topTaxaLevel() ) == null ) {
-					Log.debug( getClass(), "Skip OTU missing top taxa level: " + line );
+					Log.debug( getClass(), "Skip OTU missing top taxa level: {}", line );
 					continue;
 				}
-				if( Config.getBoolean( this, Constants.REPORT_UNCLASSIFIED_TAXA ) ) {
+				if( getConfig().getBoolean( Constants.REPORT_UNCLASSIFIED_TAXA ) ) {
 					String taxa = null;
 					String parentLevel = null;
 					for( final String level: TaxaUtil.getTaxaLevelSpan() ) {
@@ -12,7 +12,6 @@
 package biolockj.module.implicit.parser.wgs;
 
 import java.io.BufferedReader;
-import java.io.File;
 import biolockj.module.implicit.parser.ParserModuleImpl;
 import biolockj.node.wgs.MetaphlanNode;
 import biolockj.util.BioLockJUtil;
@@ -40,15 +39,16 @@ public class Metaphlan2Parser extends ParserModuleImpl {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) {
+		parseFiles( getInputFiles(), file -> {
+			final String sampleId = SeqUtil.getSampleId( file );
 			final BufferedReader reader = BioLockJUtil.getFileReader( file );
 			try {
 				for( String line = reader.readLine(); line != null; line = reader.readLine() )
-					if( !line.startsWith( "#" ) )
-						addOtuNode( new MetaphlanNode( SeqUtil.getSampleId( file ), line ) );
+					if( !line.startsWith( "#" ) ) addOtuNode( new MetaphlanNode( sampleId, line ) );
 			} finally {
 				if( reader != null ) reader.close();
 			}
-		}
+			return null;
+		} );
 	}
 }
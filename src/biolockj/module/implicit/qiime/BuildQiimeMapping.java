@@ -47,10 +47,10 @@ public class BuildQiimeMapping extends SeqModuleImpl {
 	 * @throws Exception if unable to build the mapping file
 	 */
 	public File addMissingFields() throws Exception {
-		final boolean hasQm1 = MetaUtil.getFieldNames().contains( Constants.QIIME_BARCODE_SEQ_COL );
-		final boolean hasQm2 = MetaUtil.getFieldNames().contains( Constants.QIIME_LINKER_PRIMER_SEQ_COL );
-		final boolean hasQm3 = MetaUtil.getFieldNames().contains( Constants.QIIME_DEMUX_COL );
-		final boolean hasQm4 = MetaUtil.getFieldNames().contains( Constants.QIIME_DESC_COL );
+		final boolean hasQm1 = MetaUtil.hasColumn( Constants.QIIME_BARCODE_SEQ_COL );
+		final boolean hasQm2 = MetaUtil.hasColumn( Constants.QIIME_LINKER_PRIMER_SEQ_COL );
+		final boolean hasQm3 = MetaUtil.hasColumn( Constants.QIIME_DEMUX_COL );
+		final boolean hasQm4 = MetaUtil.hasColumn( Constants.QIIME_DESC_COL );
 
 		final Map<String, String> metaLines = new HashMap<>();
 		String header = null;
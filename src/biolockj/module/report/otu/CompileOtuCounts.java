@@ -61,44 +61,40 @@ public class CompileOtuCounts extends OtuCountModule {
 	/**
 	 * Build Summary OTU count file for all samples.
 	 *
-	 * @param otuCounts OTU-count mapping
+	 * @param otuCounts Combined OTU counts
 	 * @throws Exception if errors occur
 	 */
-	protected void buildSummaryOtuCountFile( final TreeMap<String, Long> otuCounts ) throws Exception {
+	protected void buildSummaryOtuCountFile( final OtuUtil.OtuCounts otuCounts ) throws Exception {
 		final File otuCountFile = OtuUtil.getOtuCountFile( getOutputDir(), null, SUMMARY );
 		Log.info( getClass(),
 			"Build " + otuCountFile.getAbsolutePath() + " from " + otuCounts.size() + " unqiue OTU strings" );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( otuCountFile ) );
-		try {
-			for( final String otu: otuCounts.keySet() )
-				writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-		} finally {
-			writer.close();
-		}
+		OtuUtil.writeOtuCounts( otuCountFile, otuCounts );
 	}
 
 	/**
-	 * Compile OTU counts from the individual sample OTU count files
+	 * Compile OTU counts from the individual sample OTU count files. Files are read one at a time, and counts are
+	 * summed by OTU dictionary ID.
 	 *
 	 * @param files Collection of OTU count files
-	 * @return TreeMap(OTU, count)
+	 * @return Combined OTU counts, ordered by OTU name
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, Long> compileOtuCounts( final Collection<File> files ) throws Exception {
-		final TreeMap<String, Long> combinedOtuCounts = new TreeMap<>();
+	protected OtuUtil.OtuCounts compileOtuCounts( final Collection<File> files ) throws Exception {
+		final OtuDictionary dictionary = new OtuDictionary();
+		long[] totals = new long[ 0 ];
 		for( final File file: files ) {
-			final TreeMap<String, Long> otuCounts = OtuUtil.compileSampleOtuCounts( file );
+			final OtuUtil.OtuCounts otuCounts = OtuUtil.readOtuCounts( file, dictionary );
 			this.uniqueOtuPerSample.put( OtuUtil.getSampleId( file ), new Integer( otuCounts.size() ).longValue() );
-			for( final String otu: otuCounts.keySet() ) {
-				final Long count = otuCounts.get( otu );
-
-				if( !combinedOtuCounts.keySet().contains( otu ) ) combinedOtuCounts.put( otu, 0L );
-
-				combinedOtuCounts.put( otu, combinedOtuCounts.get( otu ) + count );
-			}
-
+			if( totals.length < dictionary.size() ) totals = Arrays.copyOf( totals, dictionary.size() * 2 );
+			for( int i = 0; i < otuCounts.size(); i++ )
+				totals[ otuCounts.getId( i ) ] += otuCounts.getCount( i );
 		}
-		return combinedOtuCounts;
+
+		final int[] ids = dictionary.getSortedIds();
+		final long[] counts = new long[ ids.length ];
+		for( int i = 0; i < ids.length; i++ )
+			counts[ i ] = totals[ ids[ i ] ];
+		return new OtuUtil.OtuCounts( dictionary, ids, counts );
 	}
 
 	/**
@@ -13,6 +13,7 @@ package biolockj.module.report.otu;
  */
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
@@ -39,6 +40,8 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 		addNewProperty( NUM_ITERATIONS, Properties.INTEGER_TYPE, "(positive integer) the number of iterations to randomly select the rarefyOtuCounts.quantile of OTUs" );
 		addNewProperty( QUANTILE, Properties.NUMERTIC_TYPE, "Quantile for rarefication. The number of OTUs/sample are ordered, all samples with more OTUs than the quantile sample are subselected without replacement until they have the same number of OTUs as the quantile sample" );
 		addNewProperty( REMOVE_LOW_ABUNDANT_SAMPLES, Properties.BOOLEAN_TYPE, "Options: Y/N. If Y, all samples below the rarefyOtuCounts.quantile quantile sample are removed" );
+		addGeneralProperty( Constants.SET_SEED );
+		addGeneralProperty( Constants.SCRIPT_NUM_THREADS, "number of samples to rarefy at the same time" );
 	}
 
 	@Override
@@ -80,22 +83,51 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 	/**
 	 * Apply the quantile Config to the number of OTUs per sample to calculate the maximum OTU count per sample. For
 	 * each sample rarefy the configured number of times and output a file with the average counts. Update the metadata
-	 * to add the new OTU_COUNT column with the new OTU count per sample.
+	 * to add the new OTU_COUNT column with the new OTU count per sample.<br>
+	 * Samples are rarefied in parallel, up to {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}
+	 * at a time. Each task reads, rarefies and writes one sample, so only the samples in progress are held in memory.
+	 * Results are collected in sample order, so output and logs do not depend on thread scheduling.
 	 */
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
 		Log.info( getClass(),
 			"Rarefied OTU counts will be stored in metadata column: " + getMetaColName() + "_" + Constants.OTU_COUNT );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
-		final Long quantileNum = getNumOtusForQuantile( sampleOtuCounts );
-
-		Log.info( getClass(), "Rarefy " + sampleOtuCounts.size() + " to " + quantileNum );
-		for( final String sampleId: sampleOtuCounts.keySet() ) {
-			Log.info( getClass(), "Rarefy " + sampleId );
-			final TreeMap<String, Long> data = rarefy( sampleId, sampleOtuCounts.get( sampleId ), quantileNum );
-			if( data != null )
-				generateOtuput( OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() ), data );
+		final TreeMap<String, File> sampleFiles = OtuUtil.getSampleFiles( getInputFiles() );
+		final OtuDictionary dictionary = new OtuDictionary();
+		final TreeMap<String, Long> sampleTotals = new TreeMap<>();
+		for( final String sampleId: sampleFiles.keySet() )
+			sampleTotals.put( sampleId, OtuUtil.readOtuCounts( sampleFiles.get( sampleId ), dictionary ).getTotal() );
+
+		final Long quantileNum = getNumOtusForQuantile( sampleTotals );
+		final int numIterations = Config.requirePositiveInteger( this, NUM_ITERATIONS );
+		final boolean removeLowSamples = Config.getBoolean( this, REMOVE_LOW_ABUNDANT_SAMPLES );
+		final Integer seed = Config.getPositiveInteger( this, Constants.SET_SEED );
+		final String prefix = getMetaColName();
+
+		Log.info( getClass(), "Rarefy " + sampleFiles.size() + " to " + quantileNum );
+		final Map<String, Future<Long>> results = new LinkedHashMap<>();
+		final ExecutorService executor = Executors.newFixedThreadPool( getNumThreads( sampleFiles.size() ) );
+		try {
+			for( final String sampleId: sampleFiles.keySet() ) {
+				final File file = sampleFiles.get( sampleId );
+				results.put( sampleId, executor.submit( () -> {
+					final OtuUtil.OtuCounts data = rarefy( OtuUtil.readOtuCounts( file, dictionary ), quantileNum,
+						numIterations, removeLowSamples, getRandom( seed, sampleId ) );
+					if( data == null ) return null;
+					OtuUtil.writeOtuCounts( OtuUtil.getOtuCountFile( getOutputDir(), sampleId, prefix ), data );
+					return data.getTotal();
+				} ) );
+			}
+
+			for( final String sampleId: results.keySet() ) {
+				Log.info( getClass(), "Rarefy " + sampleId );
+				final Long total = getResult( results.get( sampleId ) );
+				if( total == null ) Log.info( getClass(), "REMOVE LOW ABUNDANT sample: " + sampleId );
+				else this.hitsPerSample.put( sampleId, String.valueOf( total ) );
+			}
+		} finally {
+			executor.shutdownNow();
 		}
 
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
@@ -116,7 +148,7 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 			.intValue();
 
 		final String otuCountField = ParserModuleImpl.getOtuCountField();
-		if( otuCountField == null || !MetaUtil.getFieldNames().contains( otuCountField ) ||
+		if( otuCountField == null || !MetaUtil.hasColumn( otuCountField ) ||
 			MetaUtil.getFieldValues( otuCountField, true ).isEmpty() )
 			Log.warn( getClass(),
 				"Cannot remove low abundant fields without OTU Count files, field is empty: " + otuCountField );
@@ -135,7 +167,7 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 								final Long high = intList.get( intList.size() - 1 );
 								lowest.remove( high );
 								lowest.put( Long.valueOf( val ), sampleId );
-								Log.debug( getClass(), "Replace " + high + " with new low: " + Long.valueOf( val ) );
+								Log.debug( getClass(), "Replace {} with new low: {}", high, val );
 								break;
 							}
 					}
@@ -155,69 +187,52 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 	/**
 	 * Get the quantile number of OTUs. If quantile = 0.5 the median value is returned.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param sampleTotals TreeMap(SampleId, count) total OTU count of every sample
 	 * @return quantile number of OTUs
 	 * @throws Exception if errors occur
 	 */
-	protected Long getNumOtusForQuantile( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts )
-		throws Exception {
-		final TreeMap<String, Long> countMap = new TreeMap<>();
-		for( final String sampleId: sampleOtuCounts.keySet() )
-			countMap.put( sampleId,
-				sampleOtuCounts.get( sampleId ).values().stream().mapToLong( Long::longValue ).sum() );
-
-		final List<Long> data = new ArrayList<>( countMap.values() );
+	protected Long getNumOtusForQuantile( final TreeMap<String, Long> sampleTotals ) throws Exception {
+		final List<Long> data = new ArrayList<>( sampleTotals.values() );
 		Collections.sort( data );
 
-		final int index = new Double( Config.requirePositiveDouble( this, QUANTILE ) * countMap.size() ).intValue();
+		final int index = new Double( Config.requirePositiveDouble( this, QUANTILE ) * sampleTotals.size() ).intValue();
 
 		return data.get( index );
 	}
 
 	/**
-	 * Rarefy the data by taking the average value of {@value #NUM_ITERATIONS}
+	 * Rarefy the data by taking the average value of {@value #NUM_ITERATIONS}. Each iteration draws quantileNum OTU
+	 * hits without replacement directly from the count vector, so the sample is never expanded into one entry per hit.
 	 *
-	 * @param sampleId Sample ID
 	 * @param otuCounts OTU counts
 	 * @param quantileNum Maximum number
-	 * @return TreeMap(OTU, count) of rarefied data
-	 * @throws Exception if errors occur
+	 * @param numIterations Number of times to subsample
+	 * @param removeLowSamples If TRUE, return null for samples with less than quantileNum hits
+	 * @param random Random number generator for this sample
+	 * @return Rarefied OTU counts, without OTUs with a mean count of zero
 	 */
-	protected TreeMap<String, Long> rarefy( final String sampleId, final TreeMap<String, Long> otuCounts,
-		final long quantileNum ) throws Exception {
-
-		final TreeMap<String, Long> otuCount = new TreeMap<>();
-		final List<String> data = getData( sampleId, otuCounts );
-		if( Config.getBoolean( this, REMOVE_LOW_ABUNDANT_SAMPLES ) && data.size() < quantileNum ) {
-			Log.info( getClass(), "REMOVE LOW ABUNDANT sample: " + sampleId );
-			return null;
+	protected static OtuUtil.OtuCounts rarefy( final OtuUtil.OtuCounts otuCounts, final long quantileNum,
+		final int numIterations, final boolean removeLowSamples, final Random random ) {
+		final long[] counts = new long[ otuCounts.size() ];
+		long total = 0L;
+		for( int i = 0; i < counts.length; i++ ) {
+			counts[ i ] = otuCounts.getCount( i );
+			total += counts[ i ];
 		}
 
-		for( int i = 0; i < Config.requirePositiveInteger( this, NUM_ITERATIONS ); i++ ) {
-			Log.debug( getClass(), sampleId + " iteration[ " + i + " ]" );
-			for( final String otu: getRandomQuantileOtus( data, quantileNum ) ) {
-				if( otuCount.get( otu ) == null ) otuCount.put( otu, 0L );
+		if( removeLowSamples && total < quantileNum ) return null;
 
-				otuCount.put( otu, otuCount.get( otu ) + 1 );
-			}
+		final long[] sums = new long[ counts.length ];
+		for( int i = 0; i < numIterations; i++ ) {
+			final long[] drawn = subsample( counts, total, quantileNum, random );
+			for( int j = 0; j < counts.length; j++ )
+				sums[ j ] += drawn[ j ];
 		}
 
-		long totalSampleOtuCount = 0L;
-		final TreeMap<String, Long> meanCountValues = new TreeMap<>();
-		int i = 0;
-		for( final String otu: otuCount.keySet() ) {
-			final long avg =
-				new Integer( Math.round( otuCount.get( otu ) / Config.requirePositiveInteger( this, NUM_ITERATIONS ) ) )
-					.longValue();
-			if( avg > 0 ) {
-				meanCountValues.put( otu, avg );
-				totalSampleOtuCount += avg;
-			}
-			Log.debug( getClass(), "Total Sample Otu Count[" + i++ + "] = " + totalSampleOtuCount );
-		}
+		for( int i = 0; i < sums.length; i++ )
+			sums[ i ] /= numIterations;
 
-		this.hitsPerSample.put( sampleId, String.valueOf( totalSampleOtuCount ) );
-		return meanCountValues;
+		return otuCounts.update( sums );
 	}
 
 	private String getMetaColName() throws Exception {
@@ -225,56 +240,53 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 	}
 
 	/**
-	 * Print the output file wit rarefied counts.
+	 * Select n hits without replacement from the OTU count vector. The hits are drawn one at a time from a Fenwick tree
+	 * of cumulative counts, so each draw costs O(log #OTUs). If more than half of the hits are kept, the hits to
+	 * discard are drawn instead.
 	 *
-	 * @param file Output file
-	 * @param otuCounts TreeMap(OTU, count)
-	 * @throws Exception if errors occur
+	 * @param counts OTU counts
+	 * @param total Sum of counts
+	 * @param n Number of hits to keep
+	 * @param random Random number generator
+	 * @return Number of hits kept for each OTU
 	 */
-	protected static void generateOtuput( final File file, final TreeMap<String, Long> otuCounts ) throws Exception {
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
-		try {
-			for( final String otu: otuCounts.keySet() )
-				writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-		} finally {
-			writer.close();
+	protected static long[] subsample( final long[] counts, final long total, final long n, final Random random ) {
+		if( n >= total ) return counts.clone();
+		final boolean complement = n > total / 2;
+		final long numDraws = complement ? total - n: n;
+		final int size = counts.length;
+		final long[] tree = new long[ size + 1 ];
+		for( int i = 0; i < size; i++ ) {
+			tree[ i + 1 ] += counts[ i ];
+			final int parent = i + 1 + ( i + 1 & -( i + 1 ) );
+			if( parent <= size ) tree[ parent ] += tree[ i + 1 ];
 		}
-	}
 
-	/**
-	 * Get OTU count data for the given sampleId.
-	 *
-	 * @param sampleId Sample ID
-	 * @param otuCounts All OTU counts
-	 * @return List of OTUs for the given sampleId
-	 * @throws Exception if errors occur
-	 */
-	protected static List<String> getData( final String sampleId, final TreeMap<String, Long> otuCounts )
-		throws Exception {
-		final String metaField = MetaUtil.getField( sampleId, ParserModuleImpl.getOtuCountField() );
-		final Long val = Long.valueOf( metaField );
-		final List<String> otus = new ArrayList<>( val.intValue() );
-
-		for( final String otu: otuCounts.keySet() ) {
-			for( int i = 0; i < otuCounts.get( otu ); i++ )
-				otus.add( otu );
-			Collections.sort( otus );
+		final int topBit = Integer.highestOneBit( Math.max( size, 1 ) );
+		final long[] drawn = new long[ size ];
+		long remaining = total;
+		for( long d = 0; d < numDraws; d++ ) {
+			long target = (long) ( random.nextDouble() * remaining );
+			int pos = 0;
+			for( int step = topBit; step > 0; step >>= 1 )
+				if( pos + step <= size && tree[ pos + step ] <= target ) {
+					pos += step;
+					target -= tree[ pos ];
+				}
+			drawn[ pos ]++;
+			for( int i = pos + 1; i <= size; i += i & -i )
+				tree[ i ]--;
+			remaining--;
 		}
 
-		return otus;
+		if( complement ) for( int i = 0; i < size; i++ )
+			drawn[ i ] = counts[ i ] - drawn[ i ];
+		return drawn;
 	}
 
-	/**
-	 * Select random OTUs based on the quantileNum from the list of OTUs in data.
-	 *
-	 * @param data List( OTUs )
-	 * @param quantileNum Qunatile (range: 0.0 - 1.0)
-	 * @return List of randomly selected OTUs up to the given quantile
-	 */
-	protected static List<String> getRandomQuantileOtus( final List<String> data, final Long quantileNum ) {
-		Collections.shuffle( data );
-		if( data.size() > quantileNum ) return data.subList( 0, quantileNum.intValue() );
-		return data;
+	private static Random getRandom( final Integer seed, final String sampleId ) {
+		if( seed != null ) return new Random( 31L * seed + sampleId.hashCode() );
+		return new Random();
 	}
 
 	private Map<String, String> hitsPerSample = new HashMap<>();
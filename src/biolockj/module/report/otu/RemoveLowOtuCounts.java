@@ -75,9 +75,7 @@ public class RemoveLowOtuCounts extends OtuCountModule implements ApiModule{
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
-
-		final TreeMap<String, TreeSet<String>> lowCountOtus = removeLowOtuCounts( sampleOtuCounts );
+		final TreeMap<String, TreeSet<String>> lowCountOtus = removeLowOtuCounts( getInputFiles() );
 		logLowCountOtus( lowCountOtus );
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
 			.addColumn( getMetaColName() + "_" + Constants.OTU_COUNT, this.hitsPerSample, getOutputDir(), true );
@@ -112,38 +110,37 @@ public class RemoveLowOtuCounts extends OtuCountModule implements ApiModule{
 	}
 
 	/**
-	 * Remove OTUs below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT }
+	 * Remove OTUs below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT }<br>
+	 * Samples are read and written one at a time, so only one sample is held in memory.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
-	 * @return TreeMap(SampleId, TreeMap(OTU, count)) Updated sampleOtuCounts after removal of low counts.
+	 * @param files OTU count files
+	 * @return TreeMap(SampleId, TreeSet(OTU)) OTUs removed from each sample
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>>
-		removeLowOtuCounts( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts ) throws Exception {
+	protected TreeMap<String, TreeSet<String>> removeLowOtuCounts( final Collection<File> files ) throws Exception {
 		final TreeMap<String, TreeSet<String>> lowCountOtus = new TreeMap<>();
-		Log.debug( getClass(), "Build low count files for total # files: " + sampleOtuCounts.size() );
-		for( final String sampleId: sampleOtuCounts.keySet() ) {
+		final TreeMap<String, File> sampleFiles = OtuUtil.getSampleFiles( files );
+		final OtuDictionary dictionary = new OtuDictionary();
+		final int minCount = getMinCount();
+		Log.debug( getClass(), "Build low count files for total # files: " + sampleFiles.size() );
+		for( final String sampleId: sampleFiles.keySet() ) {
 			final Set<String> badOtus = new TreeSet<>();
 			Log.debug( getClass(), "Check for low OTU counts in: " + sampleId );
 			long numOtus = 0;
-			final TreeMap<String, Long> otuCounts = sampleOtuCounts.get( sampleId );
-
-			final Set<String> validOtus = new TreeSet<>( otuCounts.keySet() );
+			final OtuUtil.OtuCounts otuCounts = OtuUtil.readOtuCounts( sampleFiles.get( sampleId ), dictionary );
 			long numOtuRemoved = 0;
-			for( final String otu: otuCounts.keySet() ) {
-				final long count = otuCounts.get( otu );
-				if( count < getMinCount() ) {
+			for( int i = 0; i < otuCounts.size(); i++ ) {
+				final String otu = otuCounts.getOtu( i );
+				final long count = otuCounts.getCount( i );
+				if( count < minCount ) {
 					this.uniqueOtuRemoved.add( otu );
 					this.totalOtuRemoved += count;
 					badOtus.add( otu );
-					Log.debug( getClass(), sampleId + ": Remove Low OTU count: " + otu + "=" + count );
-					validOtus.remove( otu );
+					Log.debug( getClass(), "{}: Remove Low OTU count: {}={}", sampleId, otu, count );
 					if( lowCountOtus.get( sampleId ) == null ) lowCountOtus.put( sampleId, new TreeSet<>() );
 					lowCountOtus.get( sampleId ).add( otu );
 					numOtuRemoved += count;
 				} else numOtus += count;
-				// Log.debug( getClass(),
-				// sampleId + ": update OTU count to " + numOtus + " after adding: " + otu + "=" + count );
 			}
 
 			if( numOtus > 0 ) {
@@ -156,12 +153,9 @@ public class RemoveLowOtuCounts extends OtuCountModule implements ApiModule{
 						getMinCount() + ") --> " + badOtus );
 
 					final File otuFile = OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() );
-					final BufferedWriter writer = new BufferedWriter( new FileWriter( otuFile ) );
 					try {
-						for( final String otu: validOtus )
-							writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
+						OtuUtil.writeOtuCounts( otuFile, otuCounts.select( i -> otuCounts.getCount( i ) >= minCount ) );
 					} finally {
-						writer.close();
 						getFileMap().put( sampleId, otuFile );
 					}
 				}
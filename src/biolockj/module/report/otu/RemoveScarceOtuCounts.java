@@ -62,22 +62,27 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 		return super.getSummary() + summary;
 	}
 
+	/**
+	 * Read the OTU count files twice, one sample at a time: first to count the samples that contain each taxa, then to
+	 * write each sample without its scarce OTUs.
+	 */
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
 		Log.info( getClass(), "Searching samples to remove OTUs found in less than " + getCutoff() + " samples." );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
+		final TreeMap<String, File> sampleFiles = OtuUtil.getSampleFiles( getInputFiles() );
+		final OtuDictionary dictionary = new OtuDictionary();
 
-		final TreeSet<String> uniqueOtus = OtuUtil.findUniqueOtus( sampleOtuCounts );
+		final TreeMap<String, TreeSet<String>> scarceTaxa = findScarceTaxa( sampleFiles, dictionary );
+		final TreeSet<String> uniqueOtus = new TreeSet<>( dictionary.getOtus() );
 		Log.info( getClass(),
-			"Searching " + uniqueOtus.size() + " unique OTUs in " + sampleOtuCounts.size() +
+			"Searched " + uniqueOtus.size() + " unique OTUs in " + sampleFiles.size() +
 				" samples for OTUs found in less than the cutoff percentage [ " + getScarceCutoff() + " ] = " +
 				getCutoff() + " samples." );
 
-		final TreeMap<String, TreeSet<String>> scarceTaxa = findScarceTaxa( sampleOtuCounts, uniqueOtus );
 		final TreeMap<String, TreeSet<String>> scarceOtus = findScarceOtus( uniqueOtus, scarceTaxa );
 		logScarceOtus( scarceOtus.keySet() );
-		removeScarceOtuCounts( getUpdatedOtuCounts( sampleOtuCounts, scarceOtus ) );
+		removeScarceOtuCounts( sampleFiles, dictionary, scarceOtus );
 
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
 			.addColumn( getMetaColName() + "_" + Constants.OTU_COUNT, this.hitsPerSample, getOutputDir(), true );
@@ -86,68 +91,70 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 	/**
 	 * Find scarce taxa found in less samples than the cutoff percentage:
 	 * {@link biolockj.Config}.{@value biolockj.Constants#REPORT_SCARCE_CUTOFF}. Return a map of these scare taxa and a
-	 * set of samples that need to remove them.
+	 * set of samples that need to remove them.<br>
+	 * Samples are read one at a time. The taxa of each OTU are parsed once, and the samples of a taxa are only kept
+	 * until it is found in more samples than the cutoff.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
-	 * @param otus TreeSet of unique OTUs
+	 * @param sampleFiles TreeMap(SampleId, File) OTU count file of every sample
+	 * @param dictionary OTU dictionary
 	 * @return TreeMap(taxa, TreeSet(SampleIds))
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>> findScarceTaxa(
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts, final TreeSet<String> otus ) throws Exception {
-		final TreeMap<String, TreeSet<String>> scarceTaxa = new TreeMap<>();
-		for( final String level: TaxaUtil.getTaxaLevels() ) {
-			final TreeMap<String, TreeSet<String>> scarceLevelTaxa = new TreeMap<>();
-			final TreeSet<String> levelTaxa = TaxaUtil.findUniqueTaxa( otus, level );
-			Log.debug( getClass(), "Checking level: " + level + " with " + levelTaxa.size() + " taxa" );
-			for( final String taxa: levelTaxa ) {
-				final TreeMap<String, TreeMap<String, Long>> levelTaxaCounts =
-					TaxaUtil.getLevelTaxaCounts( sampleOtuCounts, level );
-				final TreeSet<String> samplesWithTaxa = new TreeSet<>();
-				for( final String sampleId: levelTaxaCounts.keySet() ) {
-					final TreeMap<String, Long> taxaCounts = levelTaxaCounts.get( sampleId );
-					Log.debug( getClass(), "Checking sampleId: " + sampleId + " with " + taxaCounts.size() + " " +
-						level + " taxa for: " + taxa );
-					if( taxaCounts.keySet().contains( taxa ) ) samplesWithTaxa.add( sampleId );
+	protected TreeMap<String, TreeSet<String>> findScarceTaxa( final TreeMap<String, File> sampleFiles,
+		final OtuDictionary dictionary ) throws Exception {
+		final int cutoff = getCutoff();
+		final List<String> levels = TaxaUtil.getTaxaLevels();
+		final List<TreeMap<String, TreeSet<String>>> levelSamples = new ArrayList<>();
+		for( int i = 0; i < levels.size(); i++ )
+			levelSamples.add( new TreeMap<>() );
+
+		final List<String[]> otuTaxa = new ArrayList<>();
+		for( final String sampleId: sampleFiles.keySet() ) {
+			final OtuUtil.OtuCounts otuCounts = OtuUtil.readOtuCounts( sampleFiles.get( sampleId ), dictionary );
+			for( int i = 0; i < otuCounts.size(); i++ ) {
+				final int id = otuCounts.getId( i );
+				while( otuTaxa.size() <= id )
+					otuTaxa.add( null );
+				if( otuTaxa.get( id ) == null ) {
+					final String[] taxa = new String[ levels.size() ];
+					for( int j = 0; j < taxa.length; j++ )
+						taxa[ j ] = TaxaUtil.getTaxaName( otuCounts.getOtu( i ), levels.get( j ) );
+					otuTaxa.set( id, taxa );
 				}
 
-				Log.debug( getClass(), taxa + " found in " + samplesWithTaxa.size() + " samples" );
-				if( !samplesWithTaxa.isEmpty() && samplesWithTaxa.size() <= getCutoff() ) {
-					scarceLevelTaxa.put( OtuUtil.buildOtuTaxa( level, taxa ), samplesWithTaxa );
-					scarceTaxa.put( OtuUtil.buildOtuTaxa( level, taxa ), samplesWithTaxa );
+				final String[] taxa = otuTaxa.get( id );
+				for( int j = 0; j < taxa.length; j++ ) {
+					if( taxa[ j ] == null ) continue;
+					final TreeMap<String, TreeSet<String>> samples = levelSamples.get( j );
+					if( !samples.containsKey( taxa[ j ] ) ) samples.put( taxa[ j ], new TreeSet<>() );
+					final TreeSet<String> samplesWithTaxa = samples.get( taxa[ j ] );
+					if( samplesWithTaxa != null ) {
+						samplesWithTaxa.add( sampleId );
+						if( samplesWithTaxa.size() > cutoff ) samples.put( taxa[ j ], null );
+					}
 				}
 			}
+		}
+
+		final TreeMap<String, TreeSet<String>> scarceTaxa = new TreeMap<>();
+		for( int i = 0; i < levels.size(); i++ ) {
+			final String level = levels.get( i );
+			final TreeMap<String, TreeSet<String>> scarceLevelTaxa = new TreeMap<>();
+			final TreeMap<String, TreeSet<String>> samples = levelSamples.get( i );
+			Log.debug( getClass(), "Checking level: " + level + " with " + samples.size() + " taxa" );
+			for( final String taxa: samples.keySet() )
+				if( samples.get( taxa ) != null ) {
+					scarceLevelTaxa.put( OtuUtil.buildOtuTaxa( level, taxa ), samples.get( taxa ) );
+					scarceTaxa.put( OtuUtil.buildOtuTaxa( level, taxa ), samples.get( taxa ) );
+				}
 
 			Log.info( getClass(), "Found " + scarceLevelTaxa.size() + " scarce " + level + " taxa: " +
 				BioLockJUtil.getCollectionAsString( scarceLevelTaxa.keySet() ) );
-
 		}
 
 		return scarceTaxa;
 	}
 
-	/**
-	 * Remove scarce OTUs from the sampleOtuCounts and return it.
-	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
-	 * @param scarceOtus TreeMap(OTU, TreeSet(SampleId)) Scarce OTUs and the samples that list them
-	 * @return TreeMap(SampleId, TreeMap(OTU, count)) sampleOtuCounts after scarce OTUs have been removed
-	 */
-	protected TreeMap<String, TreeMap<String, Long>> getUpdatedOtuCounts(
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts,
-		final TreeMap<String, TreeSet<String>> scarceOtus ) {
-		for( final String badOtu: scarceOtus.keySet() )
-			for( final String sampleId: scarceOtus.get( badOtu ) )
-				if( sampleOtuCounts.get( sampleId ).get( badOtu ) != null ) {
-					this.uniqueOtuRemoved.add( badOtu );
-					this.totalOtuRemoved += sampleOtuCounts.get( sampleId ).get( badOtu );
-					sampleOtuCounts.get( sampleId ).remove( badOtu );
-				}
-
-		return sampleOtuCounts;
-
-	}
-
 	/**
 	 * Save a list of scarce OTUs to the module temp directory.
 	 *
@@ -172,35 +179,35 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 	}
 
 	/**
-	 * Output OTU count files with the updatedOtuCounts
+	 * Output OTU count files without the scarce OTUs, reading one sample at a time.
 	 *
-	 * @param updatedOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param sampleFiles TreeMap(SampleId, File) OTU count file of every sample
+	 * @param dictionary OTU dictionary
+	 * @param scarceOtus TreeMap(OTU, TreeSet(SampleId)) Scarce OTUs and the samples that list them
 	 * @throws Exception if errors occur
 	 */
-	protected void removeScarceOtuCounts( final TreeMap<String, TreeMap<String, Long>> updatedOtuCounts )
-		throws Exception {
-		for( final String sampleId: updatedOtuCounts.keySet() ) {
-			final TreeMap<String, Long> otuCounts = updatedOtuCounts.get( sampleId );
-			if( otuCounts != null && !otuCounts.isEmpty() ) {
-				final BufferedWriter writer = new BufferedWriter( new FileWriter(
-					OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName().replace( "%", "" ) ) ) );
-				try {
-					Log.debug( getClass(), sampleId + " # unique OTUs: " + otuCounts.size() );
-					Long total = 0L;
-					for( final String otu: otuCounts.keySet() ) {
-						Log.debug( getClass(), sampleId + " checking OTU: " + otu );
-						final Long sampleCount = otuCounts.get( otu );
-						if( sampleCount != null ) {
-							total += otuCounts.get( otu );
-							writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-						}
-					}
-
-					this.hitsPerSample.put( sampleId, total.toString() );
-				} finally {
-					writer.close();
+	protected void removeScarceOtuCounts( final TreeMap<String, File> sampleFiles, final OtuDictionary dictionary,
+		final TreeMap<String, TreeSet<String>> scarceOtus ) throws Exception {
+		for( final String sampleId: sampleFiles.keySet() ) {
+			final OtuUtil.OtuCounts otuCounts = OtuUtil.readOtuCounts( sampleFiles.get( sampleId ), dictionary );
+			final boolean[] keep = new boolean[ otuCounts.size() ];
+			for( int i = 0; i < keep.length; i++ ) {
+				final String otu = otuCounts.getOtu( i );
+				keep[ i ] = scarceOtus.get( otu ) == null || !scarceOtus.get( otu ).contains( sampleId );
+				if( !keep[ i ] ) {
+					this.uniqueOtuRemoved.add( otu );
+					this.totalOtuRemoved += otuCounts.getCount( i );
 				}
 			}
+
+			final OtuUtil.OtuCounts validOtus = otuCounts.select( i -> keep[ i ] );
+			if( !validOtus.isEmpty() ) {
+				Log.debug( getClass(), sampleId + " # unique OTUs: " + validOtus.size() );
+				final File otuFile =
+					OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName().replace( "%", "" ) );
+				OtuUtil.writeOtuCounts( otuFile, validOtus );
+				this.hitsPerSample.put( sampleId, String.valueOf( validOtus.getTotal() ) );
+			}
 		}
 	}
 
@@ -98,8 +98,8 @@ public class AddMetadataToTaxaTables extends TaxaCountModule implements ApiModul
 	public void runModule() throws Exception {
 		final String numReadsCol = RegisterNumReads.getNumReadFieldName();
 		final String numHitsCol = ParserModuleImpl.getOtuCountField();
-		if( numReadsCol != null && numHitsCol != null && MetaUtil.getFieldNames().contains( numReadsCol ) &&
-			MetaUtil.getFieldNames().contains( numHitsCol ) ) addHitRatioToMetadata();
+		if( numReadsCol != null && numHitsCol != null && MetaUtil.hasColumn( numReadsCol ) &&
+			MetaUtil.hasColumn( numHitsCol ) ) addHitRatioToMetadata();
 
 		generateMergedTables();
 
@@ -177,7 +177,7 @@ public class AddMetadataToTaxaTables extends TaxaCountModule implements ApiModul
 	protected String getMergedLine( final String line ) throws Exception {
 		final StringBuffer sb = new StringBuffer();
 		final String sampleId = new StringTokenizer( line, TAB_DELIM ).nextToken();
-		if( sampleId.equals( MetaUtil.getID() ) || MetaUtil.getSampleIds().contains( sampleId ) ) {
+		if( sampleId.equals( MetaUtil.getID() ) || MetaUtil.hasSampleId( sampleId ) ) {
 			sb.append( BioLockJUtil.removeQuotes( line ) );
 			for( final String field: MetaUtil.getRecord( sampleId ) )
 				sb.append( TAB_DELIM ).append( BioLockJUtil.removeQuotes( field ) );
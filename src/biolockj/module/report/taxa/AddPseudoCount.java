@@ -16,16 +16,18 @@ public class AddPseudoCount extends TransformTaxaTables implements ApiModule {
 		String level = inputData.getLevel();
 		Log.info( getClass(), "Adding 1 to each value in table for level: " + level );
 		
-		TaxaLevelTable newData = new TaxaLevelTable(level);
+		final int[] cols = getColumns( inputData, filteredTaxaIDs );
+		final double[] values = new double[ cols.length ];
+		TaxaLevelTable newData = newTable( level, filteredTaxaIDs );
 		for (String sampleID : filteredSampleIDs) {
-			newData.newSampleRow( sampleID );
-			for ( String taxaID : filteredTaxaIDs ) {
-				Double rawValue = inputData.get( sampleID ).get( taxaID );
-				if (rawValue.intValue() - rawValue != 0) foundNonIntVals = true;
-				if (rawValue.intValue() == 0) found0s = true;
-				Double newValue = rawValue + 1 ;
-				newData.get( sampleID ).put( taxaID, newValue );
+			final int row = newData.newSampleRow( sampleID );
+			getValues( inputData.getRow( sampleID ), cols, values );
+			for ( int i = 0; i < values.length; i++ ) {
+				if ((int) values[i] - values[i] != 0) foundNonIntVals = true;
+				if ((int) values[i] == 0) found0s = true;
+				values[i] = values[i] + 1;
 			}
+			newData.setRow( row, values );
 		}
 		
 		if (foundNonIntVals) {
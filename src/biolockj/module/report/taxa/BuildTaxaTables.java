@@ -33,91 +33,205 @@ public class BuildTaxaTables extends OtuCountModule implements ApiModule {
 
 	@Override
 	public void runModule() throws Exception {
-		buildTaxonomyTables( OtuUtil.getSampleOtuCounts( getInputFiles() ) );
+		buildTaxonomyTables( OtuUtil.getSampleOtuCounts( getInputFiles(), new OtuDictionary() ) );
 	}
 
 	/**
-	 * Build taxonomy tables from the sampleTaxaCounts.
+	 * Build taxonomy tables from the sampleTaxaCounts.<br>
+	 * The taxa of each unique OTU are parsed once, and each OTU is mapped to a column index in every level table.
+	 * Each sample's OTUs are then read once, adding their counts to every level at the same time. Only the non-zero
+	 * cells of each row are kept, in column order. The level tables are written in parallel by
+	 * {@link #runPerFile(List, FileTask, FileHandler)}.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param sampleOtuCounts TreeMap(SampleId, OtuCounts) OTU counts for every sample, sharing one OTU dictionary
 	 * @throws Exception if errors occur
 	 */
-	protected void buildTaxonomyTables( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts )
-		throws Exception {
+	protected void buildTaxonomyTables( final TreeMap<String, OtuUtil.OtuCounts> sampleOtuCounts ) throws Exception {
 		final String label = "OTUs";
 		final int pad = SummaryUtil.getPad( label ) + 4;
 
-		final TreeSet<String> otus = OtuUtil.findUniqueOtus( sampleOtuCounts );
+		final List<String> otus = sampleOtuCounts.isEmpty() ? new ArrayList<>():
+			sampleOtuCounts.firstEntry().getValue().getDictionary().getOtus();
 		Log.info( getClass(), "Write " + otus.size() + " unique OTUs for: " + sampleOtuCounts.size() + " samples" );
 		report( "OTU Count", sampleOtuCounts );
-		report( "Unique OTU", otus );
+		if( Log.doDebug( getClass() ) ) report( "Unique OTU", new TreeSet<>( otus ) );
 		this.summary += BioLockJUtil.addTrailingSpaces( "# Samples:", pad ) +
 			BioLockJUtil.formatNumericOutput( new Integer( sampleOtuCounts.size() ).longValue(), false ) + RETURN;
-		long totalOtus = 0;
-		boolean topLevel = true;
-		for( final String level: TaxaUtil.getTaxaLevels() ) {
-			final TreeSet<String> levelTaxa = TaxaUtil.findUniqueTaxa( otus, level );
-			final TreeMap<String, TreeMap<String, Long>> levelTaxaCounts =
-				TaxaUtil.getLevelTaxaCounts( sampleOtuCounts, level );
-			final Map<String, Long> uniqueOtus = new HashMap<>();
-
-			uniqueOtus.put( level, new Integer( levelTaxa.size() ).longValue() );
-			report( "Taxonomy Counts @" + level, levelTaxaCounts );
-			final File table = TaxaUtil.getTaxonomyTableFile( getOutputDir(), level, null );
-			Log.info( getClass(), "Building: " + table.getAbsolutePath() );
-
-			final BufferedWriter writer = new BufferedWriter( new FileWriter( table ) );
-			try {
-				writer.write( MetaUtil.getID() );
-				for( final String taxa: levelTaxa )
-					writer.write( TAB_DELIM + taxa );
-				writer.write( RETURN );
 
-				for( final String sampleId: sampleOtuCounts.keySet() ) {
-					final TreeMap<String, Long> taxaCounts = levelTaxaCounts.get( sampleId );
-					if( taxaCounts.isEmpty() ) {
-						Log.warn( getClass(), "No " + level + " taxa found: " + sampleId );
-						continue;
-					}
-					writer.write( sampleId );
-
-					for( final String taxa: levelTaxa ) {
-						Long count = 0L;
-						if( taxaCounts.keySet().contains( taxa ) ) {
-							count = taxaCounts.get( taxa );
-							if( topLevel ) totalOtus += count;
-						}
-
-						writer.write( TAB_DELIM + count );
-						Log.debug( getClass(), sampleId + ":" + taxa + "=" + count );
-					}
-
-					writer.write( RETURN );
-				}
+		final List<String> levels = TaxaUtil.getTaxaLevels();
+		final String[][] otuTaxa = new String[ otus.size() ][];
+		final List<TreeSet<String>> levelTaxa = new ArrayList<>();
+		for( int i = 0; i < levels.size(); i++ )
+			levelTaxa.add( new TreeSet<>() );
+		for( int id = 0; id < otus.size(); id++ ) {
+			final String[] taxa = new String[ levels.size() ];
+			for( int i = 0; i < taxa.length; i++ ) {
+				taxa[ i ] = TaxaUtil.getTaxaName( otus.get( id ), levels.get( i ) );
+				if( taxa[ i ] != null ) levelTaxa.get( i ).add( taxa[ i ] );
+			}
+			otuTaxa[ id ] = taxa;
+		}
+
+		final List<LevelTable> tables = new ArrayList<>();
+		for( int i = 0; i < levels.size(); i++ )
+			tables.add( new LevelTable( levels.get( i ), levelTaxa.get( i ), sampleOtuCounts.size(),
+				TaxaUtil.getTaxonomyTableFile( getOutputDir(), levels.get( i ), null ) ) );
+
+		final int[][] otuColumns = new int[ otus.size() ][];
+		for( int id = 0; id < otus.size(); id++ ) {
+			final String[] taxa = otuTaxa[ id ];
+			final int[] cols = new int[ taxa.length ];
+			for( int i = 0; i < taxa.length; i++ )
+				cols[ i ] = taxa[ i ] == null ? -1: tables.get( i ).columns.get( taxa[ i ] );
+			otuColumns[ id ] = cols;
+		}
 
-				this.summary += BioLockJUtil.addTrailingSpaces( "# Unique " + level + " OTUs:", pad ) +
-					BioLockJUtil.formatNumericOutput( uniqueOtus.get( level ), false ) + RETURN;
-			} finally {
-				writer.close();
+		final List<String> sampleIds = new ArrayList<>( sampleOtuCounts.keySet() );
+		for( int row = 0; row < sampleIds.size(); row++ ) {
+			final OtuUtil.OtuCounts otuCounts = sampleOtuCounts.get( sampleIds.get( row ) );
+			for( int j = 0; j < otuCounts.size(); j++ ) {
+				final int[] cols = otuColumns[ otuCounts.getId( j ) ];
+				final long count = otuCounts.getCount( j );
+				for( int i = 0; i < cols.length; i++ )
+					if( cols[ i ] >= 0 ) tables.get( i ).add( cols[ i ], count );
 			}
-			topLevel = false;
+			for( final LevelTable table: tables )
+				table.saveRow( row );
+		}
+
+		final Map<File, LevelTable> tableFiles = new LinkedHashMap<>();
+		for( final LevelTable table: tables ) {
+			tableFiles.put( table.file, table );
+			report( "Taxonomy Counts @" + table.level, sampleIds, table );
 		}
+		final boolean writeBinary = BinaryTableUtil.isEnabled();
+		runPerFile( new ArrayList<>( tableFiles.keySet() ), file -> {
+			writeTable( tableFiles.get( file ), sampleIds, writeBinary );
+			return null;
+		}, null );
+
+		long totalOtus = 0;
+		for( final LevelTable table: tables )
+			this.summary += BioLockJUtil.addTrailingSpaces( "# Unique " + table.level + " OTUs:", pad ) +
+				BioLockJUtil.formatNumericOutput( new Integer( table.taxa.length ).longValue(), false ) + RETURN;
+		if( !tables.isEmpty() ) for( final long[] vals: tables.get( 0 ).rowVals )
+			if( vals != null ) for( final long val: vals )
+				totalOtus += val;
 
 		this.summary += BioLockJUtil.addTrailingSpaces( "# Total OTUs:", pad ) +
 			BioLockJUtil.formatNumericOutput( totalOtus, false );
 	}
 
+	private void writeTable( final LevelTable table, final List<String> sampleIds, final boolean writeBinary )
+		throws IOException {
+		Log.info( getClass(), "Building: " + table.file.getAbsolutePath() );
+		final List<String> rowIds = new ArrayList<>();
+		final List<int[]> rowCols = new ArrayList<>();
+		final List<long[]> rowVals = new ArrayList<>();
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( table.file ) );
+		try {
+			writer.write( MetaUtil.getID() );
+			for( final String taxa: table.taxa )
+				writer.write( TAB_DELIM + taxa );
+			writer.write( RETURN );
+
+			for( int row = 0; row < sampleIds.size(); row++ ) {
+				final int[] cols = table.rowCols[ row ];
+				final long[] vals = table.rowVals[ row ];
+				if( cols == null ) {
+					Log.warn( getClass(), "No " + table.level + " taxa found: " + sampleIds.get( row ) );
+					continue;
+				}
+				writer.write( sampleIds.get( row ) );
+				rowIds.add( sampleIds.get( row ) );
+				rowCols.add( cols );
+				rowVals.add( vals );
+				int next = 0;
+				for( int col = 0; col < table.taxa.length; col++ )
+					if( next < cols.length && cols[ next ] == col ) writer.write( TAB_DELIM + vals[ next++ ] );
+					else writer.write( TAB_DELIM + "0" );
+				writer.write( RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		if( writeBinary ) BinaryTableUtil.writeCounts( table.file, rowIds, table.taxa, rowCols, rowVals );
+	}
+
 	private void report( final String label, final Collection<String> col ) {
-		if( Log.doDebug() ) for( final String item: col )
+		if( Log.doDebug( getClass() ) ) for( final String item: col )
 			Log.debug( getClass(), "REPORT [ " + label + " ]:" + item );
 	}
 
-	private void report( final String label, final TreeMap<String, TreeMap<String, Long>> map ) {
-		if( Log.doDebug() ) for( final String id: map.keySet() ) {
-			final TreeMap<String, Long> innerMap = map.get( id );
-			for( final String otu: innerMap.keySet() )
-				Log.debug( getClass(), "REPORT [ " + id + " " + label + " ]: " + otu + "=" + innerMap.get( otu ) );
+	private void report( final String label, final List<String> sampleIds, final LevelTable table ) {
+		if( Log.doDebug( getClass() ) ) for( int row = 0; row < sampleIds.size(); row++ )
+			if( table.rowCols[ row ] != null ) for( int i = 0; i < table.rowCols[ row ].length; i++ )
+				Log.debug( getClass(), "REPORT [ " + sampleIds.get( row ) + " " + label + " ]: " +
+					table.taxa[ table.rowCols[ row ][ i ] ] + "=" + table.rowVals[ row ][ i ] );
+	}
+
+	private void report( final String label, final TreeMap<String, OtuUtil.OtuCounts> map ) {
+		if( Log.doDebug( getClass() ) ) for( final String id: map.keySet() ) {
+			final OtuUtil.OtuCounts otuCounts = map.get( id );
+			for( int i = 0; i < otuCounts.size(); i++ )
+				Log.debug( getClass(),
+					"REPORT [ " + id + " " + label + " ]: " + otuCounts.getOtu( i ) + "=" + otuCounts.getCount( i ) );
+		}
+	}
+
+	/**
+	 * Counts of one taxonomy level table. Each row is stored as the sorted column indexes of its cells that have taxa,
+	 * with their counts. Counts for the current sample are summed in a dense array, which is cleared as each row is
+	 * saved.
+	 */
+	private static class LevelTable {
+
+		LevelTable( final String level, final TreeSet<String> levelTaxa, final int numRows, final File file ) {
+			this.level = level;
+			this.file = file;
+			this.taxa = levelTaxa.toArray( new String[ levelTaxa.size() ] );
+			for( int i = 0; i < this.taxa.length; i++ )
+				this.columns.put( this.taxa[ i ], i );
+			this.counts = new long[ this.taxa.length ];
+			this.found = new boolean[ this.taxa.length ];
+			this.foundCols = new int[ this.taxa.length ];
+			this.rowCols = new int[ numRows ][];
+			this.rowVals = new long[ numRows ][];
 		}
+
+		void add( final int col, final long count ) {
+			if( !this.found[ col ] ) {
+				this.found[ col ] = true;
+				this.foundCols[ this.numFound++ ] = col;
+			}
+			this.counts[ col ] += count;
+		}
+
+		void saveRow( final int row ) {
+			if( this.numFound == 0 ) return;
+			final int[] cols = Arrays.copyOf( this.foundCols, this.numFound );
+			Arrays.sort( cols );
+			final long[] vals = new long[ cols.length ];
+			for( int i = 0; i < cols.length; i++ ) {
+				vals[ i ] = this.counts[ cols[ i ] ];
+				this.counts[ cols[ i ] ] = 0L;
+				this.found[ cols[ i ] ] = false;
+			}
+			this.rowCols[ row ] = cols;
+			this.rowVals[ row ] = vals;
+			this.numFound = 0;
+		}
+
+		final Map<String, Integer> columns = new HashMap<>();
+		final long[] counts;
+		final File file;
+		final boolean[] found;
+		final int[] foundCols;
+		final String level;
+		int numFound = 0;
+		final int[][] rowCols;
+		final long[][] rowVals;
+		final String[] taxa;
 	}
 
 	private String summary = "";
@@ -71,29 +71,23 @@ public class LogTransformTaxaTables extends TransformTaxaTables implements ApiMo
 		TaxaLevelTable inputData,
 		List<String> filteredSampleIDs,
 		List<String> filteredTaxaIDs) throws Exception {
-		Log.debug( getClass(), "Log transforming table for level: " + inputData.getLevel() );
-		TaxaLevelTable newData = new TaxaLevelTable(inputData.getLevel());
+		Log.debug( getClass(), "Log transforming table for level: {}", inputData.getLevel() );
+		final boolean logE = getLogBase().equalsIgnoreCase( LOG_E );
+		final int[] cols = getColumns( inputData, filteredTaxaIDs );
+		final double[] values = new double[ cols.length ];
+		TaxaLevelTable newData = newTable( inputData.getLevel(), filteredTaxaIDs );
 		for (String sampleID : filteredSampleIDs) {
-			newData.newSampleRow( sampleID );
-			for (String taxaID : filteredTaxaIDs) {
-				Double oldVal = inputData.get( sampleID ).get( taxaID );
-				Double newVal = logTransform(oldVal);
-				newData.get( sampleID ).put(taxaID, newVal);
-			}
+			final int row = newData.newSampleRow( sampleID );
+			getValues( inputData.getRow( sampleID ), cols, values );
+			if ( logE ) for ( int i = 0; i < values.length; i++ )
+				values[i] = Math.log( values[i] );
+			else for ( int i = 0; i < values.length; i++ )
+				values[i] = Math.log10( values[i] );
+			newData.setRow( row, values );
 		}
 		return(newData);
 	}
 	
-	private Double logTransform(Double val) {
-		Double res = null;
-		if( getLogBase().equalsIgnoreCase( LOG_E ) ) {
-			res = new Double( Math.log( val ) );
-		} else if( getLogBase().equalsIgnoreCase( LOG_10 ) ) {
-			res = new Double( Math.log10( val ) );
-		} 
-		return res;
-	}
-	
 	
 	@Override
 	protected String getProcessSuffix() {
@@ -2,7 +2,6 @@ package biolockj.module.report.taxa;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import biolockj.Config;
 import biolockj.Constants;
 import biolockj.Log;
@@ -29,27 +28,31 @@ public class NormalizeByReadsPerMillion extends TransformTaxaTables implements A
 		boolean foundNonIntVals = false;
 		String level = inputData.getLevel();
 		Log.info( getClass(), "Normalizing table for level: " + level );
-		summary += Constants.RETURN + "Normalization factor per sample (" + level + "): ";
+		final StringBuilder summary =
+			new StringBuilder( Constants.RETURN + "Normalization factor per sample (" + level + "): " );
 		
-		TaxaLevelTable newData = new TaxaLevelTable(level);
+		final int[] cols = getColumns( inputData, filteredTaxaIDs );
+		final double[] values = new double[ cols.length ];
+		TaxaLevelTable newData = newTable( level, filteredTaxaIDs );
 		for (String sampleID : filteredSampleIDs) {
-			newData.newSampleRow( sampleID );
-			Double rowSum = inputData.get( sampleID ).values().stream().collect( Collectors.summingDouble( Double::valueOf ) );
-			Log.debug(getClass(), "rowSum [" + sampleID + "] = " + rowSum);
-			Double NormFactor = rowSum / MILLION;
-			summary += Constants.RETURN + sampleID + ": " + NormFactor;
-			for ( String taxaID : filteredTaxaIDs ) {
-				Double rawValue = inputData.get( sampleID ).get( taxaID );
-				if (rawValue.intValue() - rawValue != 0) foundNonIntVals = true;
-				Double newValue = rawValue / NormFactor ;
-				newData.get( sampleID ).put( taxaID, newValue );
+			final int row = newData.newSampleRow( sampleID );
+			Double rowSum = inputData.rowSum( sampleID );
+			Log.debug(getClass(), "rowSum [{}] = {}", sampleID, rowSum);
+			final double NormFactor = rowSum / MILLION;
+			summary.append( Constants.RETURN + sampleID + ": " + NormFactor );
+			getValues( inputData.getRow( sampleID ), cols, values );
+			for ( int i = 0; i < values.length; i++ ) {
+				if ((int) values[i] - values[i] != 0) foundNonIntVals = true;
+				values[i] = values[i] / NormFactor;
 			}
+			newData.setRow( row, values );
 		}
 		
 		if (foundNonIntVals) {
 			Log.warn(getClass(), "The input table contains non-integer values.  This normalization method is designed to be used on raw counts data (ie integers).");
-			summary += Constants.RETURN + "The \"Reads Per Million\" normalization metric is typically applied to raw counts; here it was applied to non-integer values.";
+			summary.append( Constants.RETURN + "The \"Reads Per Million\" normalization metric is typically applied to raw counts; here it was applied to non-integer values." );
 		}
+		addSummary( summary.toString() );
 		
 		return(newData);
 	}
@@ -61,7 +64,7 @@ public class NormalizeByReadsPerMillion extends TransformTaxaTables implements A
 	
 	@Override
 	public String getSummary() throws Exception {
-		return super.getSummary() + System.lineSeparator() + getDescription() + summary;
+		return super.getSummary() + System.lineSeparator() + getDescription() + getTransformSummary();
 	}
 	
 	@Override
@@ -86,8 +89,6 @@ public class NormalizeByReadsPerMillion extends TransformTaxaTables implements A
 		return preModules;
 	}
 	
-	private String summary = "";
-
 	@Override
 	public String getDescription() {
 		return "new counts = counts / (total counts in sample / 1 million)";
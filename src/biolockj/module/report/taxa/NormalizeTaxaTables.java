@@ -65,17 +65,17 @@ public class NormalizeTaxaTables extends TransformTaxaTables implements ApiModul
 		
 		HashMap<String, Double> rowSums = new HashMap<>();
 		for (String sampleID : filteredSampleIDs) {
-			Log.debug( getClass(), "Adding values from sample: " + sampleID );
-			Double rowSum = inputData.get( sampleID ).values().stream().collect( Collectors.summingDouble( Double::valueOf ) );
+			Log.debug( getClass(), "Adding values from sample: {}", sampleID );
+			Double rowSum = inputData.rowSum( sampleID );
 			rowSums.put(sampleID, rowSum);
-			Log.debug(getClass(), "rowSum = " + rowSum);
+			Log.debug(getClass(), "rowSum = {}", rowSum);
 		}
 		Double tableSum = rowSums.values().stream().collect( Collectors.summingDouble( Double::valueOf ) );
 		Log.debug(getClass(), "tableSum = " + tableSum);
 		
 		Double averageSampleSum = tableSum / filteredSampleIDs.size(); 
-		summary += Constants.RETURN + "Total table (" + level + "): " + tableSum;
-		summary += Constants.RETURN + "Average sample sequencing depth (" + level + "): " + averageSampleSum;
+		addSummary( Constants.RETURN + "Total table (" + level + "): " + tableSum );
+		addSummary( Constants.RETURN + "Average sample sequencing depth (" + level + "): " + averageSampleSum );
 		
 		if (averageSampleSum.isInfinite()) {
 			String msg = "The calculated average sample sequencing depth is infinitly large.";
@@ -83,15 +83,17 @@ public class NormalizeTaxaTables extends TransformTaxaTables implements ApiModul
 			throw new BioLockJException(msg);
 		}
 		
-		TaxaLevelTable newData = new TaxaLevelTable(level);
+		final double avg = averageSampleSum;
+		final int[] cols = getColumns( inputData, filteredTaxaIDs );
+		final double[] values = new double[ cols.length ];
+		TaxaLevelTable newData = newTable( level, filteredTaxaIDs );
 		for (String sampleID : filteredSampleIDs) {
-			newData.newSampleRow(sampleID);
-			for ( String taxaID : filteredTaxaIDs ) {
-				Double RC = inputData.get( sampleID ).get( taxaID );
-				Double n = rowSums.get( sampleID );
-				Double newValue = ( RC / n.doubleValue() ) * averageSampleSum ;
-				newData.get( sampleID ).put( taxaID, newValue + 1 );
-			}
+			final int row = newData.newSampleRow(sampleID);
+			final double n = rowSums.get( sampleID );
+			getValues( inputData.getRow( sampleID ), cols, values );
+			for ( int i = 0; i < values.length; i++ )
+				values[i] = ( values[i] / n ) * avg + 1;
+			newData.setRow( row, values );
 		}
 		
 		return(newData);
@@ -99,7 +101,7 @@ public class NormalizeTaxaTables extends TransformTaxaTables implements ApiModul
 
 	@Override
 	public String getSummary() throws Exception {
-		return super.getSummary() + this.summary;
+		return super.getSummary() + getTransformSummary();
 	}
 	
 	@Override
@@ -117,8 +119,6 @@ public class NormalizeTaxaTables extends TransformTaxaTables implements ApiModul
 		return postModules;
 	}
 	
-	private String summary = "";
-
 	@Override
 	public String getDescription() {
 		return "Normalize taxa tables for sequencing depth.";
@@ -1,80 +1,247 @@
 package biolockj.module.report.taxa;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Map;
 
-public class TaxaLevelTable extends HashMap<String, HashMap<String, Double>>{
+/**
+ * A table of values for one taxonomy level, with samples as rows and taxa as columns.
+ * Sample and taxa names are each stored once in an index dictionary, and each sample row is a primitive double[]
+ * indexed by taxa, so cells are never boxed. A BitSet per row records which cells have been assigned, so a cell that
+ * was never set is still distinct from a cell set to 0.
+ */
+public class TaxaLevelTable {
 
 	private String level;
 	public String getLevel() { return level;}
 	public TaxaLevelTable(String level){
 		this.level = level;
 	}
-	
-	public HashMap<String, Double> newSampleRow(String sampleID){
-		HashMap<String, Double> newRow = new HashMap<>();
-		this.put(sampleID, newRow);
-		return newRow ;
+
+	/**
+	 * Add a new empty row for the sample, replacing any existing row for that sample.
+	 * @param sampleID sample id
+	 * @return row index of the sample
+	 */
+	public int newSampleRow(String sampleID){
+		Integer index = sampleIndex.get( sampleID );
+		if ( index == null ) {
+			index = sampleNames.size();
+			sampleIndex.put( sampleID, index );
+			sampleNames.add( sampleID );
+			rows.add( new double[ Math.max( taxaNames.size(), 1 ) ] );
+			assigned.add( new BitSet() );
+			sortedSamples = null;
+		} else {
+			Arrays.fill( rows.get( index ), 0 );
+			assigned.get( index ).clear();
+		}
+		return index;
+	}
+
+	/**
+	 * Get the column index of the taxon, adding it to the table if it is not already included.
+	 * @param taxon taxon name
+	 * @return column index of the taxon
+	 */
+	public int addTaxon(String taxon) {
+		Integer index = taxaIndex.get( taxon );
+		if ( index == null ) {
+			index = taxaNames.size();
+			taxaIndex.put( taxon, index );
+			taxaNames.add( taxon );
+			sortedTaxa = null;
+		}
+		return index;
 	}
-	
+
 	public List<String> listTaxa (){
-		Set<String> bigSet = new TreeSet<>();
-		for (String sample : this.keySet() ) {
-			bigSet.addAll( this.get( sample ).keySet() );
+		if ( sortedTaxa == null ) {
+			sortedTaxa = new ArrayList<>( taxaNames );
+			Collections.sort(sortedTaxa);
 		}
-		List<String> allTaxa = new ArrayList<>();
-		allTaxa.addAll( bigSet );
-		Collections.sort(allTaxa);
-		return allTaxa;
+		return new ArrayList<>( sortedTaxa );
 	}
-	
+
 	public List<String> listSamples (){
-		final List<String> allSampleIDs = new ArrayList<>();
-		allSampleIDs.addAll( this.keySet() );
-		Collections.sort(allSampleIDs);
-		return allSampleIDs;
+		if ( sortedSamples == null ) {
+			sortedSamples = new ArrayList<>( sampleNames );
+			Collections.sort(sortedSamples);
+		}
+		return new ArrayList<>( sortedSamples );
+	}
+
+	public int numSamples() { return sampleNames.size(); }
+	public int numTaxa() { return taxaNames.size(); }
+	public boolean hasSample(String sampleID) { return sampleIndex.containsKey( sampleID ); }
+
+	/**
+	 * Get the row index of the sample.
+	 * @param sampleID sample id
+	 * @return row index, or -1 if the sample is not in the table
+	 */
+	public int getSampleIndex(String sampleID) {
+		final Integer index = sampleIndex.get( sampleID );
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the column index of the taxon.
+	 * @param taxon taxon name
+	 * @return column index, or -1 if the taxon is not in the table
+	 */
+	public int getTaxonIndex(String taxon) {
+		final Integer index = taxaIndex.get( taxon );
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the primitive values for a sample, indexed by {@link #getTaxonIndex(String)}.
+	 * Cells that were never assigned hold 0. The returned array may be longer than {@link #numTaxa()};
+	 * only the first {@link #numTaxa()} values are part of the table.
+	 * @param sampleID sample id
+	 * @return backing row array
+	 */
+	public double[] getRow(String sampleID) {
+		return getRow( sampleIndex.get( sampleID ) );
+	}
+
+	public double[] getRow(int sampleIdx) {
+		double[] row = rows.get( sampleIdx );
+		if ( row.length < taxaNames.size() ) {
+			row = Arrays.copyOf( row, taxaNames.size() );
+			rows.set( sampleIdx, row );
+		}
+		return row;
 	}
-	
+
+	/**
+	 * Sum all assigned values for a sample with Kahan summation, which carries the rounding error of each addition
+	 * into the next one. If the values overflow to infinity, the plain sum is returned.
+	 * @param sampleID sample id
+	 * @return row sum
+	 */
+	public double rowSum(String sampleID) {
+		final double[] row = getRow( sampleID );
+		final int n = numTaxa();
+		double sum = 0;
+		double compensation = 0;
+		double simpleSum = 0;
+		for ( int i = 0; i < n; i++ ) {
+			final double tmp = row[i] - compensation;
+			final double next = sum + tmp;
+			compensation = ( next - sum ) - tmp;
+			sum = next;
+			simpleSum += row[i];
+		}
+		final double total = sum - compensation;
+		return Double.isNaN( total ) && Double.isInfinite( simpleSum ) ? simpleSum : total;
+	}
+
+	public boolean hasValue(String sampleID, String taxon) {
+		final Integer s = sampleIndex.get( sampleID );
+		final Integer t = taxaIndex.get( taxon );
+		return s != null && t != null && hasValue( s, t );
+	}
+
+	public boolean hasValue(int sampleIdx, int taxonIdx) {
+		return assigned.get( sampleIdx ).get( taxonIdx );
+	}
+
+	/**
+	 * Get the value for the sample and taxon; unassigned cells return 0.
+	 * @param sampleID sample id
+	 * @param taxon taxon name
+	 * @return cell value
+	 */
+	public double getValue(String sampleID, String taxon) {
+		final Integer t = taxaIndex.get( taxon );
+		return t == null ? 0 : getValue( sampleIndex.get( sampleID ), t );
+	}
+
+	public double getValue(int sampleIdx, int taxonIdx) {
+		final double[] row = rows.get( sampleIdx );
+		return taxonIdx < row.length ? row[taxonIdx] : 0;
+	}
+
+	public void setValue(String sampleID, String taxon, double value) {
+		Integer s = sampleIndex.get( sampleID );
+		if ( s == null ) s = newSampleRow( sampleID );
+		setValue( s, addTaxon( taxon ), value );
+	}
+
+	public void setValue(int sampleIdx, int taxonIdx, double value) {
+		double[] row = rows.get( sampleIdx );
+		if ( taxonIdx >= row.length ) {
+			row = Arrays.copyOf( row, Math.max( taxaNames.size(), row.length * 2 ) );
+			rows.set( sampleIdx, row );
+		}
+		row[taxonIdx] = value;
+		assigned.get( sampleIdx ).set( taxonIdx );
+	}
+
+	/**
+	 * Assign the first values.length cells of a sample row, in column index order.
+	 * The values are copied, so the array can be reused for the next row.
+	 * @param sampleIdx row index of the sample
+	 * @param values new cell values, indexed by {@link #getTaxonIndex(String)}
+	 */
+	public void setRow(int sampleIdx, double[] values) {
+		double[] row = rows.get( sampleIdx );
+		if ( values.length > row.length ) {
+			row = new double[ Math.max( taxaNames.size(), values.length ) ];
+			rows.set( sampleIdx, row );
+		}
+		System.arraycopy( values, 0, row, 0, values.length );
+		assigned.get( sampleIdx ).set( 0, values.length );
+	}
+
 	public Double addValue(final String sample, final String taxon, final Double value) {
-		HashMap<String, Double> row = this.keySet().contains( sample ) ? this.get( sample ) : newSampleRow(sample);
-		Double oldValue = row.containsKey( taxon ) ? row.get( taxon ) : new Double(0);
-		row.put( taxon, Double.sum( oldValue, value ) );
-		return row.get( taxon );
+		Integer s = sampleIndex.get( sample );
+		if ( s == null ) s = newSampleRow( sample );
+		final int t = addTaxon( taxon );
+		final double oldValue = getValue( s, t );
+		setValue( s, t, oldValue + value );
+		return getValue( s, t );
 	}
-	
+
 	/**
 	 * Replace all null values in the maps with 0.
 	 * @return the fraction of all values that were null;
 	 */
 	public float fillEmptyVals() {
-		return fillEmptyVals( new Double(0) );
+		return fillEmptyVals( 0 );
 	}
 	/**
 	 * Replace all null values in the maps with the given value.
 	 * @param value new value to use in place of null
 	 * @return the fraction of all values that were null
 	 */
-	public float fillEmptyVals(Double value) {
+	public float fillEmptyVals(double value) {
+		final int numTaxa = numTaxa();
 		long total = 0;
 		long replaced = 0;
-		List<String> allTaxa = listTaxa();
-		List<String> allSamples = listSamples();
-		for (String sample : allSamples ) {
-			HashMap<String, Double> row = this.get( sample );
-			long hadVals = row.size();
-			for (String taxon : allTaxa) {
-				if ( ! row.containsKey( taxon ) ) row.put(taxon, value); 
+		for ( int s = 0; s < sampleNames.size(); s++ ) {
+			final BitSet rowAssigned = assigned.get( s );
+			for ( int t = rowAssigned.nextClearBit( 0 ); t < numTaxa; t = rowAssigned.nextClearBit( t + 1 ) ) {
+				setValue( s, t, value );
+				replaced++;
 			}
-			long numFilled = row.size() - hadVals;
-			total = total + row.size();
-			replaced = replaced + numFilled;
+			total = total + numTaxa;
 		}
 		return (float) replaced / total;
 	}
-	
-	private static final long serialVersionUID = 3873959114273802005L;
+
+	private final Map<String, Integer> sampleIndex = new HashMap<>();
+	private final List<String> sampleNames = new ArrayList<>();
+	private final Map<String, Integer> taxaIndex = new HashMap<>();
+	private final List<String> taxaNames = new ArrayList<>();
+	private final List<double[]> rows = new ArrayList<>();
+	private final List<BitSet> assigned = new ArrayList<>();
+	private List<String> sortedSamples = null;
+	private List<String> sortedTaxa = null;
 }
@@ -13,8 +13,8 @@ package biolockj.module.report.taxa;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.Collectors;
 import biolockj.*;
+import biolockj.exception.ConfigFormatException;
 import biolockj.util.*;
 
 /**
@@ -26,19 +26,115 @@ import biolockj.util.*;
  * If any samples or taxa are removed that should be abundantly clear.
  * 
  * The provided filterSamples removes all samples that have all-0 values.
+ * 
+ * Each level table is read, transformed and written by its own task, on the thread pool of
+ * {@link #runPerFile(List, FileTask, FileHandler)}. The number of threads is limited by {@link #getNumThreads(int)}
+ * so the tables being transformed at the same time fit in the available memory.
+ * Summary lines added by {@link #addSummary(String)} are kept in level order.
  */
 public abstract class TransformTaxaTables extends TaxaCountModule {
 		
 	@Override
 	public void runModule() throws Exception {
-		for( final File file: getInputFiles() ) {
+		final List<File> files = getInputFiles();
+		long maxFileSize = 0L;
+		for( final File file: files )
+			maxFileSize = Math.max( maxFileSize, file.length() );
+		this.levelMemory = maxFileSize * LEVEL_MEMORY_FACTOR;
+		runPerFile( files, file -> transformLevel( file ), ( file, summary ) -> this.transformSummary += summary );
+		Log.info(getClass(), "Output " + getOutputDir().listFiles().length );
+	}
+
+	/**
+	 * Limit the threads to the number of level tables that fit in the available memory at the same time, estimated as
+	 * {@value #LEVEL_MEMORY_FACTOR} times the size of the largest input table file.
+	 */
+	@Override
+	protected int getNumThreads( final int numTasks ) throws ConfigFormatException {
+		final int numThreads = super.getNumThreads( numTasks );
+		final int maxThreads = MemoryUtil.getMaxConcurrentTasks( this.levelMemory );
+		if( maxThreads < numThreads ) Log.info( getClass(), "Limit threads to " + maxThreads +
+			" to fit the level tables in " + MemoryUtil.getAvailableMemory() + " bytes of available memory" );
+		return Math.min( numThreads, maxThreads );
+	}
+
+	/**
+	 * Add a line to the module summary. If called by {@link #transform(TaxaLevelTable, List, List)}, the line is added
+	 * after the lines of the previous levels, even if the levels are transformed at the same time.
+	 * 
+	 * @param msg Summary text
+	 */
+	protected void addSummary( final String msg ) {
+		final StringBuilder summary = levelSummary.get();
+		if( summary == null ) this.transformSummary += msg;
+		else summary.append( msg );
+	}
+
+	/**
+	 * Get the summary text added by {@link #addSummary(String)}
+	 * 
+	 * @return Summary text
+	 */
+	protected String getTransformSummary() {
+		return this.transformSummary;
+	}
+
+	/**
+	 * Get the column index in the table of each taxa name, for reading rows with
+	 * {@link #getValues(double[], int[], double[])}.
+	 * 
+	 * @param inputData Taxa table
+	 * @param taxaIDs Taxa names
+	 * @return Column indexes, -1 for taxa not in the table
+	 */
+	protected static int[] getColumns( final TaxaLevelTable inputData, final List<String> taxaIDs ) {
+		final int[] cols = new int[ taxaIDs.size() ];
+		for( int i = 0; i < cols.length; i++ )
+			cols[ i ] = inputData.getTaxonIndex( taxaIDs.get( i ) );
+		return cols;
+	}
+
+	/**
+	 * Copy the values of the given columns of a row, in column list order. Missing columns are 0.
+	 * 
+	 * @param row Table row from {@link TaxaLevelTable#getRow(String)}
+	 * @param cols Column indexes from {@link #getColumns(TaxaLevelTable, List)}
+	 * @param values Array to fill, the same length as cols
+	 * @return values
+	 */
+	protected static double[] getValues( final double[] row, final int[] cols, final double[] values ) {
+		for( int i = 0; i < cols.length; i++ )
+			values[ i ] = cols[ i ] < 0 ? 0: row[ cols[ i ] ];
+		return values;
+	}
+
+	/**
+	 * Build an empty table with the taxa columns in list order, so rows can be set with
+	 * {@link TaxaLevelTable#setRow(int, double[])}.
+	 * 
+	 * @param level Taxonomy level
+	 * @param taxaIDs Taxa names
+	 * @return New table
+	 */
+	protected static TaxaLevelTable newTable( final String level, final List<String> taxaIDs ) {
+		final TaxaLevelTable table = new TaxaLevelTable( level );
+		for( final String taxon: taxaIDs )
+			table.addTaxon( taxon );
+		return table;
+	}
+
+	private String transformLevel( final File file ) throws Exception {
+		levelSummary.set( new StringBuilder() );
+		try {
 			TaxaLevelTable inputData = TaxaUtil.readTaxaTable(file);
 			List<String> filteredSampleIDs = filterSamples(inputData);
 			List<String> filteredTaxaIDs = filterTaxa(inputData);
 			TaxaLevelTable transformedData = transform( inputData, filteredSampleIDs, filteredTaxaIDs );
 			TaxaUtil.writeDataToFile( getOutputFile(file), filteredSampleIDs, filteredTaxaIDs, transformedData );
+			return levelSummary.get().toString();
+		} finally {
+			levelSummary.remove();
 		}
-		Log.info(getClass(), "Output " + getOutputDir().listFiles().length );
 	}
 
 	/**
@@ -63,12 +159,15 @@ public abstract class TransformTaxaTables extends TaxaCountModule {
 	 * @return
 	 */
 	protected List<String> filterSamples( TaxaLevelTable inputData ){
-		final Set<String> allSampleIDs = inputData.keySet();
+		final List<String> allSampleIDs = inputData.listSamples();
 		final Set<String> allZeroSamples = new TreeSet<>();
 		final List<String> filteredSampleIDs = new ArrayList<>();
+		final int numTaxa = inputData.numTaxa();
 		for (String id : allSampleIDs) {
-			Long numNon0s = inputData.get( id ).values().stream().filter( d -> ! d.equals( Double.valueOf( 0 ) ) ).collect( Collectors.counting() );
-			if ( numNon0s.equals( Long.valueOf( 0 ) ) ) {
+			final double[] row = inputData.getRow( id );
+			int numNon0s = 0;
+			for ( int i = 0; i < numTaxa; i++ ) if ( Double.compare( row[i], 0 ) != 0 ) numNon0s++;
+			if ( numNon0s == 0 ) {
 				allZeroSamples.add( id );
 			}else {
 				filteredSampleIDs.add( id );
@@ -99,4 +198,13 @@ public abstract class TransformTaxaTables extends TaxaCountModule {
 	
 	protected abstract String getProcessSuffix();
 
+	private long levelMemory = 0L;
+	private String transformSummary = "";
+
+	/**
+	 * Estimated bytes of memory used to transform a level table, per byte of the table file:
+	 * {@value #LEVEL_MEMORY_FACTOR}
+	 */
+	protected static final long LEVEL_MEMORY_FACTOR = 10L;
+	private static final ThreadLocal<StringBuilder> levelSummary = new ThreadLocal<>();
 }
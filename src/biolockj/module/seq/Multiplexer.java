@@ -12,6 +12,7 @@
 package biolockj.module.seq;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.zip.GZIPOutputStream;
 import biolockj.*;
@@ -162,20 +163,19 @@ public class Multiplexer extends JavaModuleImpl implements SeqModule, ApiModule
 	protected void multiplex( final File sample ) throws Exception {
 		Log.info( getClass(), "Multiplexing file  = " + sample.getAbsolutePath() );
 		final File muxFile = new File( getMutliplexeFileName( sample ) );
-		final List<String> seqLines = new ArrayList<>();
-		BufferedReader reader = null;
-		BufferedWriter writer = null;
+		final int numLinesPerRead = SeqUtil.getNumLinesPerRead();
+		final byte[] newLine = RETURN.getBytes( StandardCharsets.UTF_8 );
+		SeqRecordReader reader = null;
+		OutputStream writer = null;
 		try {
-			reader = BioLockJUtil.getFileReader( sample );
-			writer = new BufferedWriter( new FileWriter( muxFile, true ) );
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				seqLines.add( line );
-				if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) // full read
-				{
-					writer.write( getHeader( sample, seqLines ) + RETURN );
-					for( int i = 1; i < seqLines.size(); i++ )
-						writer.write( seqLines.get( i ) + RETURN );
-					seqLines.clear();
+			reader = new SeqRecordReader( sample, numLinesPerRead );
+			writer = new BufferedOutputStream( new FileOutputStream( muxFile, true ) );
+			while( reader.next() ) {
+				writer.write( ( getHeader( sample, Collections.singletonList( reader.getLine( 0 ) ) ) + RETURN )
+					.getBytes( StandardCharsets.UTF_8 ) );
+				for( int i = 1; i < numLinesPerRead; i++ ) {
+					writer.write( reader.getBuffer(), reader.getStart( i ), reader.getLength( i ) );
+					writer.write( newLine );
 				}
 			}
 		} finally {
@@ -101,7 +101,7 @@ public class PearMergeReads extends SeqModuleImpl implements ApiModule, ReadCoun
 	public void cleanUp() throws Exception {
 		super.cleanUp();
 		Config.setConfigProperty( Constants.INTERNAL_PAIRED_READS, Constants.FALSE );
-		if( !MetaUtil.getFieldNames().contains( getMetaColName() ) && this.readsPerSample != null ) {
+		if( !MetaUtil.hasColumn( getMetaColName() ) && this.readsPerSample != null ) {
 			Log.info( getClass(),
 				"Counting # merged reads/sample for " + getOutputDir().listFiles().length + " files" );
 			for( final File f: getOutputDir().listFiles() ) {
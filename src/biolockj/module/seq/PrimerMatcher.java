@@ -0,0 +1,137 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.module.seq;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches one primer regular expression against a region of a sequence, compiling the expression once.<br>
+ * Primers built from bases and IUPAC substitution classes such as [AG], anchored to the start (^) or end ($) of the
+ * read, are compiled to a table of the characters allowed at each position and compared in place. Any other
+ * expression falls back to a precompiled {@link java.util.regex.Pattern}. In both cases the result is the same as
+ * {@link String#replaceFirst(String, String)} applied to the region, without creating new strings.
+ */
+public class PrimerMatcher {
+
+	/**
+	 * Compile the primer regular expression.
+	 *
+	 * @param regex Primer regular expression
+	 */
+	public PrimerMatcher( final String regex ) {
+		this.regex = regex;
+		this.pattern = Pattern.compile( regex );
+		this.bases = compileBases( regex );
+	}
+
+	/**
+	 * Get the primer regular expression.
+	 *
+	 * @return Primer regular expression
+	 */
+	public String getRegex() {
+		return this.regex;
+	}
+
+	/**
+	 * Check if the primer is anchored to the start of the read.
+	 *
+	 * @return TRUE if the primer regular expression starts with "^"
+	 */
+	public boolean isForward() {
+		return this.regex.startsWith( "^" );
+	}
+
+	/**
+	 * Check if the primer is anchored to the end of the read.
+	 *
+	 * @return TRUE if the primer regular expression ends with "$"
+	 */
+	public boolean isReverse() {
+		return this.regex.endsWith( "$" );
+	}
+
+	/**
+	 * Find the first match of the primer in the sequence region from start (inclusive) to end (exclusive), treating the
+	 * region bounds as the start and end of the read.
+	 *
+	 * @param seq Sequence
+	 * @param start Region start index
+	 * @param end Region end index
+	 * @return Length of the primer match, or 0 if the primer is not found
+	 */
+	public int matchLength( final CharSequence seq, final int start, final int end ) {
+		if( this.bases == null ) {
+			final Matcher matcher = this.pattern.matcher( seq ).region( start, end );
+			return matcher.find() ? matcher.end() - matcher.start(): 0;
+		}
+
+		final int length = this.bases.length;
+		if( end - start < length ) return 0;
+		final int offset = isForward() ? start: end - length;
+		for( int i = 0; i < length; i++ ) {
+			final char c = seq.charAt( offset + i );
+			if( c >= MAX_CHAR || !this.bases[ i ][ c ] ) return 0;
+		}
+		return length;
+	}
+
+	@Override
+	public String toString() {
+		return this.regex;
+	}
+
+	/**
+	 * Build the table of allowed characters per primer position if the regular expression consists only of single
+	 * characters and character classes, anchored at exactly one end.
+	 *
+	 * @param regex Primer regular expression
+	 * @return Allowed characters per position, or null if the expression must be matched by its Pattern
+	 */
+	private static boolean[][] compileBases( final String regex ) {
+		final boolean fw = regex.startsWith( "^" );
+		final boolean rv = regex.endsWith( "$" ) && !regex.endsWith( "\\$" );
+		if( fw == rv ) return null;
+
+		final String body = regex.substring( fw ? 1: 0, regex.length() - ( rv ? 1: 0 ) );
+		final boolean[][] positions = new boolean[ body.length() ][];
+		int numPositions = 0;
+		for( int i = 0; i < body.length(); i++ ) {
+			final boolean[] allowed = new boolean[ MAX_CHAR ];
+			final char c = body.charAt( i );
+			if( c == '[' ) {
+				final int close = body.indexOf( ']', i + 1 );
+				if( close < 0 || close == i + 1 ) return null;
+				for( int j = i + 1; j < close; j++ )
+					if( !isBase( body.charAt( j ) ) ) return null;
+					else allowed[ body.charAt( j ) ] = true;
+				i = close;
+			} else if( isBase( c ) ) allowed[ c ] = true;
+			else return null;
+			positions[ numPositions++ ] = allowed;
+		}
+
+		if( numPositions == 0 ) return null;
+		final boolean[][] bases = new boolean[ numPositions ][];
+		System.arraycopy( positions, 0, bases, 0, numPositions );
+		return bases;
+	}
+
+	private static boolean isBase( final char c ) {
+		return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+	}
+
+	private final boolean[][] bases;
+	private final Pattern pattern;
+	private final String regex;
+
+	private static final int MAX_CHAR = 128;
+}
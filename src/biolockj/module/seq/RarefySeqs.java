@@ -13,7 +13,6 @@ package biolockj.module.seq;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.LongStream;
 import org.apache.commons.lang.math.NumberUtils;
 import biolockj.*;
 import biolockj.Properties;
@@ -37,6 +36,7 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 		super();
 		addNewProperty( INPUT_RAREFYING_MAX, Properties.NUMERTIC_TYPE, "Randomly select this number of sequences to keep in each sample" );
 		addNewProperty( INPUT_RAREFYING_MIN, Properties.NUMERTIC_TYPE, "Discard samples with less than minimum number of sequences", "1" );
+		addNewProperty( INPUT_RAREFYING_STREAMING, Properties.BOOLEAN_TYPE, "Select reads in a single pass using memory bounded by " + INPUT_RAREFYING_MAX + " instead of shuffling every read index. Selected reads are reproducible for a given seed, but differ from the default selection.", Constants.FALSE );
 		addGeneralProperty( Constants.DEFAULT_MOD_SEQ_MERGER );
 	}
 
@@ -107,62 +107,53 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 	/**
 	 * For each file with number reads outside of {@link biolockj.Config}.{@link #INPUT_RAREFYING_MIN} and
 	 * {@link biolockj.Config}.{@link #INPUT_RAREFYING_MAX} values, generate a new sequence file from a shuffled list of
-	 * its sequences.
+	 * its sequences.<br>
+	 * Files are rarefied in parallel by {@link #runPerFile(List, IndexedFileTask, FileHandler)}.
 	 */
 	@Override
 	public void runModule() throws Exception {
 		Log.info( getClass(), "Base #Reads based on: " + RegisterNumReads.getNumReadFieldName() );
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
 		final List<File> files = getInputFiles();
-		for( int i = 0; i < files.size(); i++ ) {
-			final File f = files.get( i );
+		runPerFile( files, ( f, index ) -> {
 			rarefy( f );
+			return index;
+		}, ( f, i ) -> {
 			if( i % 25 == 0 || i + 1 == files.size() )
 				Log.info( getClass(), "Done rarefying " + i + "/" + files.size() + " files." );
-		}
+		} );
 
 	}
 
 	/**
-	 * Build the rarefied file for the input file, keeping only the given indexes
+	 * Build the rarefied file for the input file, keeping only the given indexes. Since the indexes are sorted, the
+	 * input file is streamed once, comparing each read to the next index to keep.
 	 *
 	 * @param input Sequence file
-	 * @param indexes List of indexes to keep
+	 * @param indexes Sorted array of read indexes to keep
 	 * @throws Exception if unable to build rarefied file
 	 */
-	protected void buildRarefiedFile( final File input, final List<Long> indexes ) throws Exception {
-		Log.info( getClass(), "Rarefy [#index=" + indexes.size() + "]: " + input.getAbsolutePath() );
-		Log.debug( getClass(), "indexes: " + BioLockJUtil.getCollectionAsString( indexes ) );
-		final String fileExt = "." + SeqUtil.getSeqType();
-		final String name =
-			getOutputDir().getAbsolutePath() + File.separator + SeqUtil.getSampleId( input ) + fileExt;
-		final File output = new File( name );
-		final BufferedReader reader = BioLockJUtil.getFileReader( input );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( output ) );
-		Log.info( getClass(),
-			"Building file [#lines/read=" + SeqUtil.getNumLinesPerRead() + "]: " + output.getAbsolutePath() );
+	protected void buildRarefiedFile( final File input, final long[] indexes ) throws Exception {
+		Log.info( getClass(), "Rarefy [#index=" + indexes.length + "]: " + input.getAbsolutePath() );
+		final File output = getRarefiedFile( input );
+		final int numLinesPerRead = SeqUtil.getNumLinesPerRead();
+		final SeqRecordReader reader = new SeqRecordReader( input, numLinesPerRead );
+		final OutputStream writer = new BufferedOutputStream( new FileOutputStream( output ) );
+		Log.info( getClass(), "Building file [#lines/read=" + numLinesPerRead + "]: " + output.getAbsolutePath() );
 
 		try {
-			long index = 0;
-			int i = 0;
-			final Set<Long> usedIndexes = new HashSet<>();
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				if( indexes.contains( index ) ) {
-					if( !usedIndexes.contains( index ) ) Log.debug( getClass(), "Add to usedIndexes: " + index );
-					usedIndexes.add( index );
-					writer.write( line + RETURN );
+			int next = 0;
+			while( next < indexes.length && reader.next() )
+				if( indexes[ next ] == reader.getNumRecords() - 1 ) {
+					reader.writeRecord( writer );
+					next++;
 				}
 
-				if( ++i % SeqUtil.getNumLinesPerRead() == 0 ) index++;
-			}
-
-			this.readsPerSample.put( SeqUtil.getSampleId( input ), Integer.toString( indexes.size() ) );
+			this.readsPerSample.put( SeqUtil.getSampleId( input ), Integer.toString( indexes.length ) );
 
-			if( !usedIndexes.containsAll( indexes ) ) {
-				indexes.removeAll( usedIndexes );
-				throw new Exception(
-					"Error occurred rarefying indexes for: " + input.getAbsolutePath() + " ---> " + indexes );
-			}
+			if( next < indexes.length ) throw new Exception( "Error occurred rarefying indexes for: " +
+				input.getAbsolutePath() + " ---> " + ( indexes.length - next ) + " read indexes not found, starting at index: " +
+				indexes[ next ] );
 		} finally {
 			reader.close();
 			writer.close();
@@ -171,6 +162,8 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 
 	/**
 	 * Builds the rarefied file if too many seqs found, or adds files with too few samples to the list of bad samples.
+	 * If the number of reads has not been registered in the metadata, reads are selected by
+	 * {@link #reservoirRarefy(File, long, long)}.
 	 *
 	 * @param seqFile Sequence file to rarefy
 	 * @throws Exception if processing errors occur
@@ -181,33 +174,126 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 		Long max = 0L;
 		Long min = minConfig.longValue();
 		final String sampleId = SeqUtil.getSampleId( seqFile );
-		final long numReads = getCount( sampleId, RegisterNumReads.getNumReadFieldName() );
+		final Long numReads = getCount( sampleId, RegisterNumReads.getNumReadFieldName() );
+		if( numReads == null ) {
+			Log.info( getClass(), "Number of reads not found for [" + sampleId + "] - select reads by reservoir sampling" );
+			reservoirRarefy( seqFile, maxConfig == null ? 0L: maxConfig.longValue(), min );
+			return;
+		}
 
 		if( maxConfig != null ) max = numReads < maxConfig.longValue() ? numReads: maxConfig.longValue();
 
-		Log.debug( getClass(), "min = " + min );
-		Log.debug( getClass(), "max = " + max );
-		Log.debug( getClass(), "numReads = " + numReads );
+		Log.debug( getClass(), "min = {}", min );
+		Log.debug( getClass(), "max = {}", max );
+		Log.debug( getClass(), "numReads = {}", numReads );
 		if( numReads >= min ) {
-			final long[] range = LongStream.rangeClosed( 0, numReads - 1 ).toArray();
-			Log.debug( getClass(), "range.length = " + range.length );
-			final List<Long> indexes = new ArrayList<>();
-			Collections.addAll( indexes, Arrays.stream( range ).boxed().toArray( Long[]::new ) );
-
-			Log.debug( getClass(), "Sample #indexes size #1 -->  [" + indexes.size() + "]" );
-
-			Collections.shuffle( indexes, getRandomSeed() );
-			indexes.subList( max.intValue(), indexes.size() ).clear();
-
-			Log.debug( getClass(), "Sample #indexes size  #2 -->  [" + indexes.size() + "]" );
-
-			buildRarefiedFile( seqFile, indexes );
+			if( Config.getBoolean( this, INPUT_RAREFYING_STREAMING ) )
+				buildRarefiedFile( seqFile, selectIndexes( numReads, max.intValue() ) );
+			else buildRarefiedFile( seqFile, shuffleIndexes( numReads, max.intValue() ) );
 		} else Log.info( getClass(),
 			"Remove sample [" + sampleId + "] - contains (" + numReads +
 				") reads, which is less than minimum # reads (" +
 				Config.getNonNegativeInteger( this, INPUT_RAREFYING_MIN ) + ")" );
 	}
 
+	/**
+	 * Select max reads in a single pass when the number of reads is unknown. Up to max reads are held in memory, each
+	 * read replaced with decreasing probability as the file is read, and the reads kept are written in their original
+	 * order.
+	 *
+	 * @param seqFile Sequence file to rarefy
+	 * @param max Maximum number of reads to keep
+	 * @param min Minimum number of reads required to keep the sample
+	 * @throws Exception if processing errors occur
+	 */
+	protected void reservoirRarefy( final File seqFile, final long max, final long min ) throws Exception {
+		final byte[][] reads = new byte[ (int) max ][];
+		final long[] indexes = new long[ (int) max ];
+		final Random random = getRandomSeed();
+		long numReads = 0;
+		final SeqRecordReader reader = new SeqRecordReader( seqFile );
+		try {
+			while( reader.next() ) {
+				final long slot = numReads < max ? numReads: (long) ( random.nextDouble() * ( numReads + 1 ) );
+				if( slot < max ) {
+					reads[ (int) slot ] = reader.copyRecord();
+					indexes[ (int) slot ] = numReads;
+				}
+				numReads++;
+			}
+		} finally {
+			reader.close();
+		}
+
+		final String sampleId = SeqUtil.getSampleId( seqFile );
+		if( numReads < min ) {
+			Log.info( getClass(), "Remove sample [" + sampleId + "] - contains (" + numReads +
+				") reads, which is less than minimum # reads (" + min + ")" );
+			return;
+		}
+
+		final int numKept = (int) Math.min( numReads, max );
+		final Integer[] order = new Integer[ numKept ];
+		for( int i = 0; i < numKept; i++ )
+			order[ i ] = i;
+		Arrays.sort( order, ( a, b ) -> Long.compare( indexes[ a ], indexes[ b ] ) );
+
+		final File output = getRarefiedFile( seqFile );
+		Log.info( getClass(), "Building file [#reads=" + numKept + "/" + numReads + "]: " + output.getAbsolutePath() );
+		final OutputStream writer = new BufferedOutputStream( new FileOutputStream( output ) );
+		try {
+			for( final Integer slot: order )
+				writer.write( reads[ slot ] );
+		} finally {
+			writer.close();
+		}
+
+		this.readsPerSample.put( sampleId, Integer.toString( numKept ) );
+	}
+
+	private File getRarefiedFile( final File input ) throws Exception {
+		return new File( getOutputDir().getAbsolutePath() + File.separator + SeqUtil.getSampleId( input ) + "." +
+			SeqUtil.getSeqType() );
+	}
+
+	/**
+	 * Select max of the numReads read indexes with sequential selection sampling, so only the selected indexes are held
+	 * in memory. Each index is kept with probability (#still needed / #remaining), which yields a uniform random
+	 * sample already in sorted order.
+	 */
+	private long[] selectIndexes( final long numReads, final int max ) throws ConfigFormatException {
+		final Random random = getRandomSeed();
+		final long[] indexes = new long[ max ];
+		int found = 0;
+		for( long i = 0; i < numReads && found < max; i++ )
+			if( ( numReads - i ) * random.nextDouble() < max - found ) indexes[ found++ ] = i;
+		return indexes;
+	}
+
+	/**
+	 * Shuffle every read index with the same swap sequence as {@link java.util.Collections#shuffle(List, Random)} and
+	 * keep the first max indexes, sorted. This selects the same reads as the original boxed implementation for a given
+	 * seed, using a primitive array.
+	 */
+	private long[] shuffleIndexes( final long numReads, final int max ) throws ConfigFormatException {
+		final Random random = getRandomSeed();
+		final int[] range = new int[ (int) numReads ];
+		for( int i = 0; i < range.length; i++ )
+			range[ i ] = i;
+		for( int i = range.length; i > 1; i-- ) {
+			final int j = random.nextInt( i );
+			final int tmp = range[ i - 1 ];
+			range[ i - 1 ] = range[ j ];
+			range[ j ] = tmp;
+		}
+
+		final long[] indexes = new long[ max ];
+		for( int i = 0; i < max; i++ )
+			indexes[ i ] = range[ i ];
+		Arrays.sort( indexes );
+		return indexes;
+	}
+
 	private String getMetaColName() throws Exception {
 		if( this.otuColName == null ) this.otuColName = MetaUtil.getSystemMetaCol( this, NUM_RAREFIED_READS );
 
@@ -230,7 +316,7 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 	}
 
 	private static Long getCount( final String sampleId, final String attName ) throws Exception {
-		if( MetaUtil.getFieldNames().contains( attName ) ) {
+		if( MetaUtil.hasColumn( attName ) ) {
 			final String count = MetaUtil.getField( sampleId, attName );
 			if( count != null && NumberUtils.isNumber( count ) ) return Long.valueOf( count );
 		}
@@ -239,7 +325,7 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 	}
 
 	private String otuColName = null;
-	private Map<String, String> readsPerSample = new HashMap<>();
+	private Map<String, String> readsPerSample = Collections.synchronizedMap( new HashMap<>() );
 	private final Set<String> sampleIds = new HashSet<>();
 
 	/**
@@ -257,6 +343,12 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 	 */
 	protected static final String INPUT_RAREFYING_MIN = "rarefySeqs.min";
 
+	/**
+	 * {@link biolockj.Config} Boolean property {@value #INPUT_RAREFYING_STREAMING} if enabled, select reads in one pass
+	 * with memory bounded by {@value #INPUT_RAREFYING_MAX}
+	 */
+	protected static final String INPUT_RAREFYING_STREAMING = "rarefySeqs.streaming";
+
 	@Override
 	public String getDescription() {
 		return "Randomly sub-sample sequences to reduce all samples to the configured maximum.";
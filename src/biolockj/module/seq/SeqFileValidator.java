@@ -138,14 +138,17 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 	 * each input file.<br>
 	 * Call {@link #removeBadFiles()} to remove empty files (cases where all reads fail validation).<br>
 	 * Call {@link #verifyPairedSeqs()} if module input files are paired read files.<br>
-	 * Call {@link biolockj.util.MetaUtil#addColumn(String, Map, File, boolean)}
+	 * Call {@link biolockj.util.MetaUtil#addColumn(String, Map, File, boolean)}<br>
+	 * Files are validated in parallel by {@link #runPerFile(List, IndexedFileTask, FileHandler)}.
 	 */
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		int count = 0;
-		for( final File file: getInputFiles() )
-			validateFile( file, count++ );
+		final List<File> files = getInputFiles();
+		runPerFile( files, ( file, index ) -> {
+			validateFile( file, index );
+			return null;
+		}, null );
 
 		removeBadFiles();
 
@@ -180,6 +183,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 		Log.info( getClass(), "Validate File [" + fileCount + "]: " + file.getAbsolutePath() );
 		final Long[] stats = initStats();
 		long combinedReadLen = 0;
+		long maxSeqLen = 0;
 		int seqNum = 0;
 
 		final List<String> seqLines = new ArrayList<>();
@@ -228,8 +232,8 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 							" number of bases and quality scores: " + seqLines.get( 0 ) );
 					} else {
 						stats[ INDEX_NUM_VALID_READS ]++;
-						setMaxSeq( SeqUtil.getSampleId( file ), seqLen );
-						final Integer seqMax = Config.getPositiveInteger( this, INPUT_SEQ_MAX );
+						maxSeqLen = Math.max( maxSeqLen, seqLen );
+						final Integer seqMax = getConfig().getPositiveInteger( INPUT_SEQ_MAX );
 						if( seqMax != null && seqMax > 0 && seqLen > seqMax ) {
 							stats[ INDEX_NUM_TRIMMED_READS ]++;
 							seqLines.set( 1, seqLines.get( 1 ).substring( 0, seqMax ) );
@@ -252,6 +256,8 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 
 				line = reader.readLine();
 			} while( line != null );
+
+			if( stats[ INDEX_NUM_VALID_READS ] > 0 ) setMaxSeq( SeqUtil.getSampleId( file ), maxSeqLen );
 		} finally {
 			writer.close();
 			if( reader != null ) reader.close();
@@ -377,12 +383,12 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 	}
 
 	private int minReadLen() throws Exception {
-		final Integer seqMin = Config.getPositiveInteger( this, INPUT_SEQ_MIN );
+		final Integer seqMin = getConfig().getPositiveInteger( INPUT_SEQ_MIN );
 		if( seqMin == null ) return 1;
 		return seqMin;
 	}
 
-	private void populateSampleStats( final Long[] stats, final File file, final long combinedReadLen )
+	private synchronized void populateSampleStats( final Long[] stats, final File file, final long combinedReadLen )
 		throws Exception {
 
 		final String id = SeqUtil.getSampleId( file );
@@ -438,7 +444,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 		}
 	}
 
-	private void setMaxSeq( final String sampleId, final long seqLen ) {
+	private synchronized void setMaxSeq( final String sampleId, final long seqLen ) {
 		final TreeSet<String> ids = new TreeSet<>();
 		ids.add( sampleId );
 		if( this.maxSeqFound.isEmpty() ) this.maxSeqFound.put( seqLen, ids );
@@ -473,7 +479,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 		return stats;
 	}
 
-	private Set<File> badFiles = new HashSet<>();
+	private Set<File> badFiles = Collections.synchronizedSet( new HashSet<>() );
 	private final Map<Long, TreeSet<String>> maxSeqFound = new HashMap<>();
 	private String otuColName = null;
 	private Map<String, String> readsPerSample = new HashMap<>();
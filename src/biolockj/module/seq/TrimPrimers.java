@@ -14,6 +14,7 @@ package biolockj.module.seq;
 import java.io.*;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
@@ -340,7 +341,14 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 			SeqUtil.getReadDirectionSuffix( file ) + "." + SeqUtil.getSeqType();
 	}
 
-	private Set<String> getValidHeaders( final File file, final Set<String> primers ) throws Exception {
+	private List<PrimerMatcher> getPrimerMatchers( final Set<String> primers ) {
+		final List<PrimerMatcher> matchers = new ArrayList<>();
+		for( final String primer: primers )
+			matchers.add( new PrimerMatcher( primer ) );
+		return matchers;
+	}
+
+	private Set<String> getValidHeaders( final File file, final List<PrimerMatcher> primers ) throws Exception {
 		final Set<String> validHeaders = new HashSet<>();
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		int lineCounter = 1;
@@ -351,10 +359,15 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 				if( lineCounter % SeqUtil.getNumLinesPerRead() == 1 ) header = SeqUtil.getHeader( line );
 				else if( lineCounter % SeqUtil.getNumLinesPerRead() == 2 ) {
 					boolean foundHeader = false;
-					for( final String seq: primers ) {
-						final int seqLength = line.length();
-						line = line.replaceFirst( seq, "" );
-						if( seqLength != line.length() ) foundHeader = true;
+					int start = 0;
+					int end = line.length();
+					for( final PrimerMatcher primer: primers ) {
+						final int primerLength = primer.matchLength( line, start, end );
+						if( primerLength > 0 ) {
+							foundHeader = true;
+							if( primer.isForward() ) start += primerLength;
+							else end -= primerLength;
+						}
 					}
 
 					if( foundHeader ) {
@@ -377,7 +390,7 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 	}
 
 	private Map<String, String> getValidReadsPerSample() throws Exception {
-		if( !MetaUtil.getFieldNames().contains( NUM_TRIMMED_READS ) && this.validReadsPerSample.isEmpty() )
+		if( !MetaUtil.hasColumn( NUM_TRIMMED_READS ) && this.validReadsPerSample.isEmpty() )
 			for( final File f: this.seqsWithPrimersTrimmed.keySet() )
 			if( !SeqUtil.hasPairedReads() || SeqUtil.isForwardRead( f.getName() ) ) this.validReadsPerSample
 				.put( SeqUtil.getSampleId( f ), Long.toString( this.seqsWithPrimersTrimmed.get( f ) ) );
@@ -407,11 +420,11 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 		else if( this.mergedReadTwoPrimers ) Log.warn( getClass(), "TrimPrimers # " + reportLabel + " = 0" );
 	}
 
-	private void processFile( final File file, final Set<String> primers ) throws Exception {
+	private void processFile( final File file, final List<PrimerMatcher> primers ) throws Exception {
 		processFile( file, new HashSet<>(), primers );
 	}
 
-	private void processFile( final File file, final Set<String> validHeaders, final Set<String> primers )
+	private void processFile( final File file, final Set<String> validHeaders, final List<PrimerMatcher> primers )
 		throws Exception {
 		Log.info( getClass(), "Processing file = " + file.getAbsolutePath() );
 		this.seqs.add( file );
@@ -421,6 +434,9 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 		final File trimmedFile = new File( getTrimFilePath( file ) );
 		Log.info( getClass(), "Create trimmed file = " + trimmedFile.getAbsolutePath() );
 
+		long numWithPrimer = 0L;
+		long numNoPrimer = 0L;
+		long numTrimmed = 0L;
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		final BufferedWriter writer = new BufferedWriter( new FileWriter( trimmedFile ) );
 		try {
@@ -434,23 +450,23 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 				if( seqLines.size() == 1 ) {
 					origSequence = line;
 					found = false;
-					for( final String seq: primers )
-						if( line.replaceFirst( seq, "" ).length() != line.length() ) {
-							if( seq.startsWith( "^" ) ) {
+					for( final PrimerMatcher primer: primers ) {
+						final int primerLength =
+							primer.matchLength( line, fwPrimerLength, line.length() - rvPrimerLength );
+						if( primerLength > 0 ) {
+							if( primer.isForward() ) {
 								if( fwPrimerLength != 0 ) throw new Exception(
 									"INVALID SEQ!  Read contains 2 forward primers!  " + origSequence );
 
-								fwPrimerLength = line.length() - line.replaceFirst( seq, "" ).length();
-							} else if( seq.endsWith( "$" ) ) {
+								fwPrimerLength = primerLength;
+							} else if( primer.isReverse() ) {
 								if( rvPrimerLength != 0 ) throw new Exception(
 									"INVALID SEQ!  Read contains 2 reverse primers!  " + origSequence );
 
-								rvPrimerLength = line.length() - line.replaceFirst( seq, "" ).length();
+								rvPrimerLength = primerLength;
 							} else throw new Exception(
 								"INVALID PRIMER!  Primers must start with \"^\" or end with \"$\"" );
 
-							line = line.replaceFirst( seq, "" );
-
 							if( this.mergedReadTwoPrimers && fwPrimerLength < 1 && rvPrimerLength < 1 ) {
 								// Log.warn( getClass(), "Read missing BOTH primers " + origSequence );
 								if( this.missingBothPrimers.get( file.getName() ) == null ) {
@@ -478,14 +494,13 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 									this.missingRvPrimers.get( file.getName() ).put( seqLines.get( 0 ), origSequence );
 							} else found = true;
 						}
-
-					if( found ) {
-						final Long x = this.numLinesWithPrimer.get( file.getAbsolutePath() );
-						this.numLinesWithPrimer.put( file.getAbsolutePath(), x == null ? 1L: x + 1L );
-					} else {
-						final Long x = this.numLinesNoPrimer.get( file.getAbsolutePath() );
-						this.numLinesNoPrimer.put( file.getAbsolutePath(), x == null ? 1L: x + 1L );
 					}
+
+					if( fwPrimerLength > 0 || rvPrimerLength > 0 )
+						line = line.substring( fwPrimerLength, line.length() - rvPrimerLength );
+
+					if( found ) numWithPrimer++;
+					else numNoPrimer++;
 				} else if( seqLines.size() == 3 ) {
 					if( fwPrimerLength > 0 ) line = line.substring( fwPrimerLength );
 					if( rvPrimerLength > 0 ) line = line.substring( 0, line.length() - rvPrimerLength );
@@ -498,8 +513,7 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 						found && ( SeqUtil.hasPairedReads() ? validHeaders.contains( seqLines.get( 0 ) ): true );
 
 					if( !Config.getBoolean( this, INPUT_REQUIRE_PRIMER ) || validRecord ) {
-						final Long x = this.seqsWithPrimersTrimmed.get( file );
-						this.seqsWithPrimersTrimmed.put( file, x == null ? 1L: x + 1L );
+						numTrimmed++;
 
 						for( int j = 0; j < SeqUtil.getNumLinesPerRead(); j++ )
 							writer.write( seqLines.get( j ) + RETURN );
@@ -509,6 +523,10 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 					seqLines.clear();
 				}
 			}
+
+			if( numWithPrimer > 0 ) this.numLinesWithPrimer.put( file.getAbsolutePath(), numWithPrimer );
+			if( numNoPrimer > 0 ) this.numLinesNoPrimer.put( file.getAbsolutePath(), numNoPrimer );
+			if( numTrimmed > 0 ) this.seqsWithPrimersTrimmed.put( file, numTrimmed );
 		} catch( final Exception ex ) {
 			Log.error( getClass(), "Error removing primers from file = " + file.getAbsolutePath(), ex );
 		} finally {
@@ -518,27 +536,28 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 	}
 
 	private void trimSeqs() throws Exception {
-		final Set<String> primers = getPrimers();
+		final List<PrimerMatcher> primers = getPrimerMatchers( getPrimers() );
 		final boolean hasPairedReads = SeqUtil.hasPairedReads();
 		final Map<File, File> pairedReads = hasPairedReads ? SeqUtil.getPairedReads( getInputFiles() ): null;
 		final List<File> files = getFwReads( pairedReads );
 		if( files == null ) throw new Exception( "Failed to obtain input sequence files" );
 		final int count = files.size();
-		int i = 0;
 		Log.info( getClass(), "Trimming primers from " + ( hasPairedReads ? 2 * count: count ) + " files..." );
-		for( final File file: files ) {
-			final Set<String> validReads = getValidHeaders( file, primers );
+		runPerFile( files, ( file, index ) -> {
 			if( pairedReads != null ) {
+				final Set<String> validReads = getValidHeaders( file, primers );
 				validReads.retainAll( getValidHeaders( pairedReads.get( file ), primers ) );
 				processFile( file, validReads, primers );
-				processFile( pairedReads.get( file ), validReads );
+				processFile( pairedReads.get( file ), validReads, primers );
 			} else processFile( file, primers );
-
-			if( ( i++ + 1 ) % 25 == 0 ) Log.info( getClass(),
+			return index;
+		}, ( file, index ) -> {
+			final int i = index + 1;
+			if( i % 25 == 0 ) Log.info( getClass(),
 				"Done trimming " + i + "/" + count + ( hasPairedReads ? " file pairs": " files" ) );
-		}
+		} );
 
-		Log.info( getClass(), "Done trimming " + i + "/" + count + ( hasPairedReads ? " file pairs": " files" ) );
+		Log.info( getClass(), "Done trimming " + count + "/" + count + ( hasPairedReads ? " file pairs": " files" ) );
 
 		printReports( this.missingBothPrimers, "missingBothPrimers" );
 		printReports( this.missingFwPrimers, "missingFwPrimers" );
@@ -558,16 +577,16 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 	}
 
 	private final DecimalFormat df = new DecimalFormat( "##.##" );
-	private boolean foundPaired = false;
+	private volatile boolean foundPaired = false;
 	private boolean mergedReadTwoPrimers = false;
-	private final Map<String, Map<String, String>> missingBothPrimers = new HashMap<>();
-	private final Map<String, Map<String, String>> missingFwPrimers = new HashMap<>();
-	private final Map<String, Map<String, String>> missingRvPrimers = new HashMap<>();
-	private final Map<String, Long> numLinesNoPrimer = new HashMap<>();
-	private final Map<String, Long> numLinesWithPrimer = new HashMap<>();
+	private final Map<String, Map<String, String>> missingBothPrimers = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, String>> missingFwPrimers = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, String>> missingRvPrimers = new ConcurrentHashMap<>();
+	private final Map<String, Long> numLinesNoPrimer = new ConcurrentHashMap<>();
+	private final Map<String, Long> numLinesWithPrimer = new ConcurrentHashMap<>();
 	private String otuColName = null;
-	private final Set<File> seqs = new HashSet<>();
-	private final Map<File, Long> seqsWithPrimersTrimmed = new HashMap<>();
+	private final Set<File> seqs = Collections.synchronizedSet( new HashSet<>() );
+	private final Map<File, Long> seqsWithPrimersTrimmed = new ConcurrentHashMap<>();
 	private final Map<String, String> validReadsPerSample = new HashMap<>();
 
 	/**
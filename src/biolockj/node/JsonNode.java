@@ -12,17 +12,17 @@
 package biolockj.node;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.*;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import biolockj.Log;
 
 /**
- * Each JsonNode holds an OTU, count, and link to its parent node.
+ * Each JsonNode holds an OTU, count, and links to its parent node and its child nodes. Child nodes are ordered and
+ * found by taxa name.
  */
 public class JsonNode implements Serializable, Comparable<JsonNode> {
 	/**
-	 * JsonNode Constructor
+	 * JsonNode Constructor, also adds the new node to the children of the parent node.
 	 * 
 	 * @param taxa Taxa name
 	 * @param count Taxa count
@@ -34,6 +34,7 @@ public class JsonNode implements Serializable, Comparable<JsonNode> {
 		this.count = count;
 		this.parent = parent;
 		this.level = level;
+		if( parent != null ) parent.children.put( taxa, this );
 	}
 
 	/**
@@ -65,6 +66,25 @@ public class JsonNode implements Serializable, Comparable<JsonNode> {
 		return false;
 	}
 
+	/**
+	 * Get the child node with the given taxa name.
+	 * 
+	 * @param name Taxa name
+	 * @return Child node, or null if not found
+	 */
+	public JsonNode getChild( final String name ) {
+		return this.children.get( name );
+	}
+
+	/**
+	 * Get the child nodes, ordered by taxa name.
+	 * 
+	 * @return Unmodifiable collection of child nodes
+	 */
+	public Collection<JsonNode> getChildren() {
+		return Collections.unmodifiableCollection( this.children.values() );
+	}
+
 	/**
 	 * Getter method for count
 	 * 
@@ -133,12 +153,14 @@ public class JsonNode implements Serializable, Comparable<JsonNode> {
 	}
 
 	/**
-	 * Setter method for parent
+	 * Setter method for parent, moves the node to the children of the new parent.
 	 * 
 	 * @param parent Node parent
 	 */
 	public void setParent( final JsonNode parent ) {
+		if( this.parent != null ) this.parent.children.remove( this.taxa );
 		this.parent = parent;
+		if( parent != null ) parent.children.put( this.taxa, this );
 	}
 
 	/**
@@ -147,7 +169,9 @@ public class JsonNode implements Serializable, Comparable<JsonNode> {
 	 * @param taxa Taxa name
 	 */
 	public void setTaxa( final String taxa ) {
+		if( this.parent != null ) this.parent.children.remove( this.taxa );
 		this.taxa = taxa;
+		if( this.parent != null ) this.parent.children.put( taxa, this );
 	}
 
 	/**
@@ -162,6 +186,7 @@ public class JsonNode implements Serializable, Comparable<JsonNode> {
 		this.stats.put( name, this.stats.get( name ) + val );
 	}
 
+	private final TreeMap<String, JsonNode> children = new TreeMap<>();
 	private Long count = 0L;
 	private String level;
 	private JsonNode parent;
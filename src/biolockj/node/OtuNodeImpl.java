@@ -42,8 +42,8 @@ public abstract class OtuNodeImpl implements OtuNode, Comparable<OtuNode> {
 	@Override
 	public void addTaxa( final String taxa, final String level ) throws Exception {
 		if( level == null || taxa == null || level.trim().isEmpty() || taxa.trim().isEmpty() ) {
-			Log.debug( getClass(), "ID=[ " + this.sampleId + " ] --> Taxa missing for: level=[ " + level +
-				" ]; Taxa=[ " + taxa + " ]; Line =[ " + this.line + " ]" );
+			if( Log.doDebug( getClass() ) ) Log.debug( getClass(), "ID=[ " + this.sampleId +
+				" ] --> Taxa missing for: level=[ " + level + " ]; Taxa=[ " + taxa + " ]; Line =[ " + this.line + " ]" );
 			return;
 		}
 
@@ -73,8 +73,8 @@ public abstract class OtuNodeImpl implements OtuNode, Comparable<OtuNode> {
 			return;
 		}
 
-		if( this.taxaMap.get( level ) != null ) Log.debug( getClass(), this.sampleId + " overwriting OTU: " +
-			this.taxaMap.get( level ) + " with " + taxa + "  --> Line = " + this.line );
+		if( this.taxaMap.get( level ) != null && Log.doDebug( getClass() ) ) Log.debug( getClass(), this.sampleId +
+			" overwriting OTU: " + this.taxaMap.get( level ) + " with " + taxa + "  --> Line = " + this.line );
 
 		// Log.debug( getClass(), "taxaMap.put( level=" + level + ", taxa=" + taxa + " )" );
 		this.taxaMap.put( level, taxa );
@@ -144,8 +144,9 @@ public abstract class OtuNodeImpl implements OtuNode, Comparable<OtuNode> {
 	@Override
 	public Map<String, String> getTaxaMap() throws ConfigFormatException {
 		if( !this.taxaMap.containsKey( TaxaUtil.topTaxaLevel() ) ) {
-			Log.debug( getClass(), "Omit incomplete [ " + this.sampleId + " ] OTU missing the top taxonomy level: " +
-				TaxaUtil.topTaxaLevel() + ( this.line.isEmpty() ? "": ", classifier output = " + this.line ) );
+			if( Log.doDebug( getClass() ) ) Log.debug( getClass(), "Omit incomplete [ " + this.sampleId +
+				" ] OTU missing the top taxonomy level: " + TaxaUtil.topTaxaLevel() +
+				( this.line.isEmpty() ? "": ", classifier output = " + this.line ) );
 			return null;
 		}
 
@@ -164,7 +165,7 @@ public abstract class OtuNodeImpl implements OtuNode, Comparable<OtuNode> {
 	@Override
 	public void setLine( final String line ) {
 		try {
-			if( Log.doDebug() ) this.line = line;
+			if( Log.doDebug( getClass() ) ) this.line = line;
 		} catch( final Exception ex ) {
 			Log.error( getClass(),
 				"Unable to set OtuNode line: " + ( this.sampleId == null ? "sampleId UNDEFINED": this.sampleId ), ex );
@@ -215,7 +216,7 @@ public abstract class OtuNodeImpl implements OtuNode, Comparable<OtuNode> {
 	 * 
 	 * @return Map delim to level name
 	 */
-	public static Map<String, String> delimToLevelMap() {
+	public static synchronized Map<String, String> delimToLevelMap() {
 		if( delimToLevelMap.isEmpty() ) {
 			delimToLevelMap.put( DOMAIN_DELIM, Constants.DOMAIN );
 			delimToLevelMap.put( PHYLUM_DELIM, Constants.PHYLUM );
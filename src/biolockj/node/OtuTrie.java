@@ -0,0 +1,100 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.node;
+
+import java.util.HashMap;
+import java.util.Map;
+import biolockj.Constants;
+
+/**
+ * Prefix tree of OTU paths keyed on the taxa between each {@value biolockj.Constants#OTU_SEPARATOR}. Each node tracks
+ * the number of OTUs stored at or below it and the sum of their counts, so the total count of every descendant of an
+ * OTU is found by walking the OTU path once, without scanning the other OTUs in the sample.
+ */
+public class OtuTrie {
+
+	/**
+	 * Store the OTU count, replacing any count previously stored for the same OTU.
+	 *
+	 * @param otu OTU path
+	 * @param count OTU count
+	 */
+	public void put( final String otu, final long count ) {
+		final Node node = getNode( otu, true );
+		long diff = count;
+		int added = 1;
+		if( node.hasCount ) {
+			diff -= node.count;
+			added = 0;
+		}
+		node.hasCount = true;
+		node.count = count;
+		for( Node n = node; n != null; n = n.parent ) {
+			n.subtreeTotal += diff;
+			n.subtreeSize += added;
+		}
+	}
+
+	/**
+	 * Get the number of OTUs stored at or below the given OTU path.
+	 *
+	 * @param otu OTU path
+	 * @return Number of OTUs in the subtree
+	 */
+	public int getSubtreeSize( final String otu ) {
+		final Node node = getNode( otu, false );
+		return node == null ? 0: node.subtreeSize;
+	}
+
+	/**
+	 * Get the sum of the OTU counts stored at or below the given OTU path.
+	 *
+	 * @param otu OTU path
+	 * @return Total count of the subtree
+	 */
+	public long getSubtreeTotal( final String otu ) {
+		final Node node = getNode( otu, false );
+		return node == null ? 0L: node.subtreeTotal;
+	}
+
+	private Node getNode( final String otu, final boolean create ) {
+		Node node = this.root;
+		int start = 0;
+		while( start <= otu.length() ) {
+			int end = otu.indexOf( Constants.OTU_SEPARATOR, start );
+			if( end < 0 ) end = otu.length();
+			final String taxa = otu.substring( start, end );
+			Node child = node.children.get( taxa );
+			if( child == null ) {
+				if( !create ) return null;
+				child = new Node( node );
+				node.children.put( taxa, child );
+			}
+			node = child;
+			start = end + Constants.OTU_SEPARATOR.length();
+		}
+		return node;
+	}
+
+	private static final class Node {
+		Node( final Node parent ) {
+			this.parent = parent;
+		}
+
+		final Map<String, Node> children = new HashMap<>();
+		long count = 0L;
+		boolean hasCount = false;
+		final Node parent;
+		int subtreeSize = 0;
+		long subtreeTotal = 0L;
+	}
+
+	private final Node root = new Node( null );
+}
@@ -42,15 +42,28 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 	public void addNode( final OtuNode node ) {
 		final String name = node.getOtuName();
 		if( this.otuCounts.get( name ) == null ) {
-			Log.debug( getClass(), "Add new OtuNode: " + name + "=" + node.getCount() );
+			Log.debug( getClass(), "Add new OtuNode: {}={}", name, node.getCount() );
 			this.otuCounts.put( name, node.getCount() );
 		} else {
 			final long count = this.otuCounts.get( name ) + node.getCount();
-			Log.debug( getClass(), "Update OtuNode: " + name + "=" + count );
+			Log.debug( getClass(), "Update OtuNode: {}={}", name, count );
 			this.otuCounts.put( name, count );
 		}
 	}
 
+	/**
+	 * Add the OTU counts of another ParsedSample with the same sample ID, as if each of its nodes had been added to
+	 * this sample.
+	 *
+	 * @param sample ParsedSample
+	 */
+	public void addSample( final ParsedSample sample ) {
+		for( final String name: sample.otuCounts.keySet() ) {
+			final Long count = this.otuCounts.get( name );
+			this.otuCounts.put( name, count == null ? sample.otuCounts.get( name ): count + sample.otuCounts.get( name ) );
+		}
+	}
+
 	@Override
 	public int compareTo( final ParsedSample o ) {
 		return o.getSampleId().compareTo( getSampleId() );
@@ -73,7 +86,9 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 	 * sample.<br>
 	 * Example:
 	 * d__Bacteria;p__Bacteroidetes;c__Bacteroidia;o__Bacteroidales;f__Bacteroidaceae;g__Bacteroides;s__Bacteroides_vulgatus
-	 * 87342
+	 * 87342<br>
+	 * Child totals are read from an {@link biolockj.node.OtuTrie}, so each OTU is resolved with a single walk down its
+	 * path rather than a scan of every OTU already added.
 	 * 
 	 * @return map OTU-count
 	 * @throws Exception if errors occur
@@ -87,15 +102,16 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 		}
 
 		final TreeMap<String, Long> fullPathOtuCounts = new TreeMap<>();
+		final OtuTrie otuTrie = new OtuTrie();
 		for( String otu: this.otuCounts.keySet() ) {
 			if( otu.isEmpty() ) continue;
-			final Set<String> kids = getChildren( fullPathOtuCounts, otu );
 			final long otuCount = this.otuCounts.get( otu );
-			if( kids.isEmpty() ) {
-				Log.debug( getClass(), "Add [ " + this.sampleId + " ] OTU " + otu + "=" + otuCount );
+			if( otuTrie.getSubtreeSize( otu ) == 0 ) {
+				Log.debug( getClass(), "Add [ {} ] OTU {}={}", this.sampleId, otu, otuCount );
 				fullPathOtuCounts.put( otu, otuCount );
+				otuTrie.put( otu, otuCount );
 			} else {
-				final long totalCount = totalCount( fullPathOtuCounts, kids );
+				final long totalCount = otuTrie.getSubtreeTotal( otu );
 				if( totalCount < otuCount ) {
 					String parentTaxa = null;
 					String parentLevel = null;
@@ -109,9 +125,10 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 
 					final long diff = otuCount - totalCount;
 					fullPathOtuCounts.put( otu, diff );
-					Log.debug( getClass(), "Add [ " + this.sampleId + " ] Unclassified OTU: " + otu + "=" + diff );
+					otuTrie.put( otu, diff );
+					Log.debug( getClass(), "Add [ {} ] Unclassified OTU: {}={}", this.sampleId, otu, diff );
 				} else if( otuCount >= totalCount )
-					Log.debug( getClass(), "Ignore [" + this.sampleId + " ] Parent OTU " + otu + "=" + otuCount );
+					Log.debug( getClass(), "Ignore [{} ] Parent OTU {}={}", this.sampleId, otu, otuCount );
 			}
 		}
 
@@ -143,20 +160,6 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 		this.otuCounts = overrideOtuCounts;
 	}
 
-	private static Set<String> getChildren( final TreeMap<String, Long> otuCounts, final String otu ) {
-		final Set<String> kids = new HashSet<>();
-		for( final String key: otuCounts.keySet() )
-			if( key.contains( otu ) ) kids.add( key );
-		return kids;
-	}
-
-	private static long totalCount( final TreeMap<String, Long> otuCounts, final Set<String> otus ) {
-		long count = 0;
-		for( final String otu: otus )
-			count += otuCounts.get( otu );
-		return count;
-	}
-
 	private Map<String, Long> otuCounts = new TreeMap<>();
 	private final String sampleId;
 	private static final long serialVersionUID = 4882054401193953055L;
@@ -42,7 +42,7 @@ public class BashScriptBuilder {
 	 * @param data Bash script lines
 	 * @throws PipelineScriptException if any errors occur writing module script
 	 */
-	public static void buildScripts( final ScriptModule module, final List<List<String>> data )
+	public static synchronized void buildScripts( final ScriptModule module, final List<List<String>> data )
 		throws PipelineScriptException {
 		if( data == null || data.size() < 1 )
 			throw new PipelineScriptException( module, "All worker scripts are empty" );
@@ -376,6 +376,14 @@ public class BashScriptBuilder {
 
 	private static void buildWorkerScripts( final ScriptModule module, final List<List<String>> data )
 		throws Exception {
+		final File loads = new File( module.getScriptDir(), WorkerBatchUtil.LOADS_FILE );
+		if( loads.isFile() ) loads.delete();
+		final List<WorkerBatchUtil.Batch> batches = WorkerBatchUtil.getBatches( module, data );
+		if( batches != null ) {
+			buildBalancedWorkerScripts( module, batches );
+			return;
+		}
+
 		int sampleCount = 0;
 		String workerScriptPath = getWorkerScriptPath( module );
 		List<String> workerLines = initWorkerScript( module, workerScriptPath );
@@ -405,6 +413,35 @@ public class BashScriptBuilder {
 		Log.info( BashScriptBuilder.class, Constants.LOG_SPACER );
 	}
 
+	/**
+	 * Build one worker script per batch, and save the predicted load of each worker.
+	 */
+	private static void buildBalancedWorkerScripts( final ScriptModule module,
+		final List<WorkerBatchUtil.Batch> batches ) throws Exception {
+		final Map<String, Long> loads = new LinkedHashMap<>();
+		for( final WorkerBatchUtil.Batch batch: batches ) {
+			final String workerScriptPath = getWorkerScriptPath( module );
+			final List<String> workerLines = initWorkerScript( module, workerScriptPath );
+			for( final List<String> lines: batch.getData() ) {
+				if( lines.isEmpty() )
+					throw new PipelineScriptException( module, true, " Worker script #" + workerNum() + " is empty." );
+				workerLines.addAll( getWorkerScriptLines( lines ) );
+			}
+			if( !( module instanceof JavaModule ) )
+				workerLines.add( "touch \"" + workerScriptPath + "_" + Constants.SCRIPT_SUCCESS + "\"" );
+			workerLines.add( "echo 'Created " + Constants.SCRIPT_SUCCESS + " flag.'" );
+			final File script = createScript( module, workerScriptPath, insertPathVars( module, workerLines ) );
+			workerScripts.add( script );
+			loads.put( script.getName(), batch.getLoad() );
+		}
+		WorkerBatchUtil.saveLoads( module, loads, batches.get( 0 ).getUnit() );
+
+		Log.info( BashScriptBuilder.class, Constants.LOG_SPACER );
+		Log.info( BashScriptBuilder.class, workerNum() + " WORKER scripts created for: " +
+			module.getClass().getName() + " balanced by predicted load" );
+		Log.info( BashScriptBuilder.class, Constants.LOG_SPACER );
+	}
+
 	private static String getMainScriptPath( final ScriptModule module ) {
 		return new File( module.getScriptDir().getAbsolutePath() + File.separator + BioModule.MAIN_SCRIPT_PREFIX +
 			module.getModuleDir().getName() + Constants.SH_EXT ).getAbsolutePath();
@@ -0,0 +1,258 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.exception.ConfigFormatException;
+import biolockj.module.report.taxa.TaxaLevelTable;
+
+/**
+ * This utility saves taxa tables in a compact binary file next to the tab delimited table, if
+ * {@link biolockj.Config}.{@value biolockj.Constants#REPORT_BINARY_TABLES}={@value biolockj.Constants#TRUE}. Java
+ * modules read the binary file instead of parsing the table text, while R scripts and users still get the same tab
+ * delimited table.<br>
+ * The binary file is hidden, so it is never picked up as a module input file. It stores the taxa and Sample ID
+ * dictionaries, then each row as either a dense array of values with a bit set of assigned cells, or a sparse list of
+ * column indexes and values, whichever is smaller. In a sparse row of a count table, unlisted cells are zero counts;
+ * otherwise they are unassigned. Values are doubles, or longs for count tables. The file is read through a memory
+ * mapped buffer. It is ignored if it does not match the size of the table it was written with, or is older than the
+ * table.
+ */
+public class BinaryTableUtil {
+
+	// Prevent instantiation
+	private BinaryTableUtil() {}
+
+	/**
+	 * Get the binary file saved next to a tab delimited table: "." + table file name + {@value #BINARY_EXT}
+	 *
+	 * @param table Tab delimited table
+	 * @return Binary table file
+	 */
+	public static File getBinaryFile( final File table ) {
+		return new File( table.getParentFile(), "." + table.getName() + BINARY_EXT );
+	}
+
+	/**
+	 * Check if binary tables are enabled:
+	 * {@link biolockj.Config}.{@value biolockj.Constants#REPORT_BINARY_TABLES}
+	 *
+	 * @return TRUE if binary tables should be written
+	 * @throws ConfigFormatException if the property is not a boolean value
+	 */
+	public static boolean isEnabled() throws ConfigFormatException {
+		return Config.getBoolean( null, Constants.REPORT_BINARY_TABLES );
+	}
+
+	/**
+	 * Read the binary file of a tab delimited taxa table.
+	 *
+	 * @param table Tab delimited taxa table
+	 * @return Taxa table, or null if there is no valid binary file for the table
+	 */
+	public static TaxaLevelTable readTable( final File table ) {
+		final File file = getBinaryFile( table );
+		if( !file.isFile() || file.lastModified() < table.lastModified() ) return null;
+		try {
+			final RandomAccessFile raf = new RandomAccessFile( file, "r" );
+			try {
+				final MappedByteBuffer buf = raf.getChannel().map( FileChannel.MapMode.READ_ONLY, 0, raf.length() );
+				if( buf.getInt() != MAGIC || buf.getInt() != VERSION || buf.getLong() != table.length() ) return null;
+				final boolean longValues = buf.get() == LONG_VALUES;
+				final TaxaLevelTable data = new TaxaLevelTable( TaxaUtil.getTaxonomyTableLevel( table ) );
+				final int[] columns = new int[ buf.getInt() ];
+				for( int i = 0; i < columns.length; i++ )
+					columns[ i ] = data.addTaxon( readString( buf ) );
+				final int numSamples = buf.getInt();
+				for( int i = 0; i < numSamples; i++ ) {
+					final int row = data.newSampleRow( readString( buf ) );
+					final byte rowType = buf.get();
+					if( rowType == DENSE_ROW ) {
+						final long[] words = new long[ ( columns.length + 63 ) / 64 ];
+						for( int j = 0; j < words.length; j++ )
+							words[ j ] = buf.getLong();
+						final BitSet assigned = BitSet.valueOf( words );
+						for( int col = 0; col < columns.length; col++ ) {
+							final double val = readValue( buf, longValues );
+							if( assigned.get( col ) ) data.setValue( row, columns[ col ], val );
+						}
+					} else {
+						if( rowType == SPARSE_COUNT_ROW ) for( final int col: columns )
+							data.setValue( row, col, 0 );
+						final int[] cols = new int[ buf.getInt() ];
+						for( int j = 0; j < cols.length; j++ )
+							cols[ j ] = buf.getInt();
+						for( final int col: cols )
+							data.setValue( row, columns[ col ], readValue( buf, longValues ) );
+					}
+				}
+				Log.debug( BinaryTableUtil.class, "Read binary table: " + file.getAbsolutePath() );
+				return data;
+			} finally {
+				raf.close();
+			}
+		} catch( final Exception ex ) {
+			Log.warn( BinaryTableUtil.class,
+				"Unable to read binary table: " + file.getAbsolutePath() + " --> " + ex.getMessage() );
+		}
+		return null;
+	}
+
+	/**
+	 * Write the binary file of a count table, given as sparse rows. Every cell is assigned, cells not listed in a row
+	 * are zero counts. Must be called after the tab delimited table is written.
+	 *
+	 * @param table Tab delimited taxa table
+	 * @param sampleIds Sample ID of each row
+	 * @param taxa Taxa name of each column
+	 * @param rowCols Sorted column indexes of the non-zero cells of each row
+	 * @param rowVals Counts of the non-zero cells of each row
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeCounts( final File table, final List<String> sampleIds, final String[] taxa,
+		final List<int[]> rowCols, final List<long[]> rowVals ) throws IOException {
+		final DataOutputStream out = open( table, Arrays.asList( taxa ), LONG_VALUES );
+		try {
+			out.writeInt( sampleIds.size() );
+			for( int row = 0; row < sampleIds.size(); row++ ) {
+				writeString( out, sampleIds.get( row ) );
+				final int[] cols = rowCols.get( row );
+				final long[] vals = rowVals.get( row );
+				if( isSparse( cols.length, taxa.length ) ) {
+					out.writeByte( SPARSE_COUNT_ROW );
+					out.writeInt( cols.length );
+					for( final int col: cols )
+						out.writeInt( col );
+					for( final long val: vals )
+						out.writeLong( val );
+				} else {
+					out.writeByte( DENSE_ROW );
+					final BitSet assigned = new BitSet( taxa.length );
+					assigned.set( 0, taxa.length );
+					final long[] dense = new long[ taxa.length ];
+					for( int i = 0; i < cols.length; i++ )
+						dense[ cols[ i ] ] = vals[ i ];
+					writeWords( out, assigned, taxa.length );
+					for( final long val: dense )
+						out.writeLong( val );
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Write the binary file of a taxa table with the given rows and columns. Must be called after the tab delimited
+	 * table is written.
+	 *
+	 * @param table Tab delimited taxa table
+	 * @param sampleNames Sample IDs to write, in table order
+	 * @param taxaNames Taxa to write, in table order
+	 * @param data Taxa table values
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeTable( final File table, final List<String> sampleNames, final List<String> taxaNames,
+		final TaxaLevelTable data ) throws IOException {
+		final int[] columns = new int[ taxaNames.size() ];
+		for( int i = 0; i < columns.length; i++ )
+			columns[ i ] = data.getTaxonIndex( taxaNames.get( i ) );
+
+		final DataOutputStream out = open( table, taxaNames, DOUBLE_VALUES );
+		try {
+			out.writeInt( sampleNames.size() );
+			for( final String sampleId: sampleNames ) {
+				writeString( out, sampleId );
+				final int row = data.getSampleIndex( sampleId );
+				final BitSet assigned = new BitSet( columns.length );
+				for( int i = 0; i < columns.length; i++ )
+					if( row >= 0 && columns[ i ] >= 0 && data.hasValue( row, columns[ i ] ) ) assigned.set( i );
+
+				if( isSparse( assigned.cardinality(), columns.length ) ) {
+					out.writeByte( SPARSE_ROW );
+					out.writeInt( assigned.cardinality() );
+					for( int i = assigned.nextSetBit( 0 ); i >= 0; i = assigned.nextSetBit( i + 1 ) )
+						out.writeInt( i );
+					for( int i = assigned.nextSetBit( 0 ); i >= 0; i = assigned.nextSetBit( i + 1 ) )
+						out.writeDouble( data.getValue( row, columns[ i ] ) );
+				} else {
+					out.writeByte( DENSE_ROW );
+					writeWords( out, assigned, columns.length );
+					for( int i = 0; i < columns.length; i++ )
+						out.writeDouble( assigned.get( i ) ? data.getValue( row, columns[ i ] ): 0 );
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private static boolean isSparse( final int numAssigned, final int numCols ) {
+		return numAssigned * 12L + 4L < numCols * 8L + ( numCols + 63 ) / 64 * 8L;
+	}
+
+	private static DataOutputStream open( final File table, final List<String> taxa, final byte valueType )
+		throws IOException {
+		final DataOutputStream out =
+			new DataOutputStream( new BufferedOutputStream( new FileOutputStream( getBinaryFile( table ) ) ) );
+		out.writeInt( MAGIC );
+		out.writeInt( VERSION );
+		out.writeLong( table.length() );
+		out.writeByte( valueType );
+		out.writeInt( taxa.size() );
+		for( final String taxon: taxa )
+			writeString( out, taxon );
+		return out;
+	}
+
+	private static String readString( final ByteBuffer buf ) {
+		final byte[] bytes = new byte[ buf.getInt() ];
+		buf.get( bytes );
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+	private static double readValue( final ByteBuffer buf, final boolean longValues ) {
+		return longValues ? buf.getLong(): buf.getDouble();
+	}
+
+	private static void writeString( final DataOutputStream out, final String val ) throws IOException {
+		final byte[] bytes = val.getBytes( StandardCharsets.UTF_8 );
+		out.writeInt( bytes.length );
+		out.write( bytes );
+	}
+
+	private static void writeWords( final DataOutputStream out, final BitSet bits, final int numBits )
+		throws IOException {
+		final long[] words = Arrays.copyOf( bits.toLongArray(), ( numBits + 63 ) / 64 );
+		for( final long word: words )
+			out.writeLong( word );
+	}
+
+	/**
+	 * File extension of binary taxa tables: {@value #BINARY_EXT}
+	 */
+	public static final String BINARY_EXT = ".bin";
+
+	private static final byte DENSE_ROW = 0;
+	private static final byte DOUBLE_VALUES = 0;
+	private static final byte LONG_VALUES = 1;
+	private static final int MAGIC = 0x424C4A54;
+	private static final byte SPARSE_COUNT_ROW = 2;
+	private static final byte SPARSE_ROW = 1;
+	private static final int VERSION = 1;
+}
@@ -74,7 +74,7 @@ public class DemuxUtil {
 	 */
 	public static boolean demuxWithBarcode() throws Exception {
 		if( ( barcodeInHeader() || barcodeInSeq() || barcodeInMapping() ) &&
-			MetaUtil.getFieldNames().contains( Config.requireString( null, MetaUtil.META_BARCODE_COLUMN ) ) &&
+			MetaUtil.hasColumn( Config.requireString( null, MetaUtil.META_BARCODE_COLUMN ) ) &&
 			!MetaUtil.getFieldValues( Config.requireString( null, MetaUtil.META_BARCODE_COLUMN ), true ).isEmpty() )
 			return true;
 		return false;
@@ -109,7 +109,7 @@ public class DemuxUtil {
 	 */
 	public static String getSampleId( final List<String> seqLines ) throws Exception {
 		if( demuxWithBarcode() ) {
-			final Map<String, String> map = getIdMap();
+			final Map<String, String> map = idMap == null ? getIdMap(): idMap;
 			if( map != null ) for( final String barCodeId: map.keySet() )
 				if( ( barcodeInHeader() || barcodeInMapping() ) && seqLines.get( 0 ).contains( barCodeId ) ||
 					barcodeInSeq() && seqLines.get( 1 ).startsWith( barCodeId ) ) return map.get( barCodeId );
@@ -126,7 +126,7 @@ public class DemuxUtil {
 	public static boolean hasValidBarcodes() {
 		try {
 			final String barCodeCol = Config.getString( null, MetaUtil.META_BARCODE_COLUMN );
-			if( barCodeCol != null && MetaUtil.getFieldNames().contains( barCodeCol ) ) {
+			if( barCodeCol != null && MetaUtil.hasColumn( barCodeCol ) ) {
 				final Set<String> sampleIds = new HashSet<>( MetaUtil.getSampleIds() );
 				final Set<String> vals = new HashSet<>( MetaUtil.getFieldValues( barCodeCol, true ) );
 				if( sampleIds.size() == vals.size() ) return true;
@@ -188,13 +188,14 @@ public class DemuxUtil {
 	/**
 	 * Return the ID map (key=barcodeID, value=sampleId) Print the map to the log file.<br>
 	 * Barcodes, if used, are located in the metadata column defined by property:
-	 * {@link biolockj.Config}.{@value biolockj.util.MetaUtil#META_BARCODE_COLUMN}
+	 * {@link biolockj.Config}.{@value biolockj.util.MetaUtil#META_BARCODE_COLUMN}<br>
+	 * The map is built once and published unmodifiable, so it can be read by several threads.
 	 *
 	 * @return Id map
 	 * @throws Exception if propagated from {@link biolockj.util.MetaUtil} or {@link biolockj.Config}
 	 */
-	protected static Map<String, String> getIdMap() throws Exception {
-		if( !idMap.isEmpty() ) return idMap;
+	public static synchronized Map<String, String> getIdMap() throws Exception {
+		if( idMap != null ) return idMap;
 
 		if( demuxWithBarcode() ) {
 			Log.info( DemuxUtil.class,
@@ -209,18 +210,20 @@ public class DemuxUtil {
 			return null;
 		}
 
+		final Map<String, String> map = new HashMap<>();
 		for( final String id: MetaUtil.getSampleIds() ) {
 			String val = MetaUtil.getField( id, Config.requireString( null, MetaUtil.META_BARCODE_COLUMN ) );
 
 			if( Config.getBoolean( null, BARCODE_USE_REV_COMP ) ) val = SeqUtil.reverseComplement( val );
 
-			idMap.put( val, id );
+			map.put( val, id );
 		}
 
-		for( final String key: idMap.keySet() )
+		for( final String key: map.keySet() )
 			Log.info( DemuxUtil.class,
-				"Barcode-SampleID Map key[ " + key + " ] -->  value[ " + idMap.get( key ) + " ]" );
+				"Barcode-SampleID Map key[ " + key + " ] -->  value[ " + map.get( key ) + " ]" );
 
+		idMap = Collections.unmodifiableMap( map );
 		return idMap;
 	}
 	
@@ -290,6 +293,6 @@ public class DemuxUtil {
 	 */
 	protected static final String SAMPLE_ID_SUFFIX_TRIM_DEFAULT = "_";
 
-	private static final Map<String, String> idMap = new HashMap<>();
+	private static volatile Map<String, String> idMap = null;
 
 }
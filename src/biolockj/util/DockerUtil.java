@@ -112,6 +112,71 @@ public class DockerUtil {
 		return ( hasStopped );
 	}
 
+	/**
+	 * Find the worker scripts whose Docker containers have stopped. The container IDs are read from the MAIN script
+	 * {@value biolockj.Constants#SCRIPT_STARTED} file once, and all containers are checked with a single docker
+	 * inspect command.
+	 *
+	 * @param mainStarted MAIN script {@value biolockj.Constants#SCRIPT_STARTED} file
+	 * @param workerScripts Worker scripts
+	 * @return Worker scripts with a stopped container
+	 */
+	public static List<File> workerContainersStopped( final File mainStarted, final Collection<File> workerScripts ) {
+		final Map<String, String> containerIds = new HashMap<>();
+		try {
+			final BufferedReader reader = new BufferedReader( new FileReader( mainStarted ) );
+			try {
+				for( String s = reader.readLine(); s != null; s = reader.readLine() ) {
+					final String[] parts = s.split( ":" + DOCKER_KEY + ":" );
+					if( parts.length == 2 ) containerIds.put( parts[ 0 ], parts[ 1 ].trim() );
+				}
+			} finally {
+				reader.close();
+			}
+		} catch( final IOException e ) {
+			Log.warn( DockerUtil.class, "Failed to extract container ids from [" + mainStarted.getName() + "]." );
+			e.printStackTrace();
+		}
+
+		final List<String> args = new ArrayList<>( Arrays.asList( "docker", "inspect", "-f", "{{.Id}} {{.State.Running}}" ) );
+		for( final File workerScript: workerScripts )
+			if( containerIds.get( workerScript.getName() ) == null )
+				Log.warn( DockerUtil.class, "No container id for [" + workerScript.getName() + "]." );
+			else args.add( containerIds.get( workerScript.getName() ) );
+
+		final List<File> stopped = new ArrayList<>();
+		if( args.size() == 4 ) return stopped;
+		final Set<String> running = new HashSet<>();
+		try {
+			final Process p = new ProcessBuilder( args )
+				.redirectError( ProcessBuilder.Redirect.appendTo( new File( "/dev/null" ) ) ).start();
+			final BufferedReader br = new BufferedReader( new InputStreamReader( p.getInputStream() ) );
+			try {
+				for( String s = br.readLine(); s != null; s = br.readLine() ) {
+					Log.debug( DockerUtil.class, "Docker inspect result: " + s );
+					if( s.endsWith( " true" ) ) running.add( s.substring( 0, s.indexOf( " " ) ) );
+				}
+			} finally {
+				br.close();
+			}
+			p.waitFor();
+		} catch( IOException | InterruptedException e ) {
+			Log.warn( DockerUtil.class, "Could not determine if worker containers are running." );
+			e.printStackTrace();
+			return stopped;
+		}
+
+		for( final File workerScript: workerScripts ) {
+			final String containerId = containerIds.get( workerScript.getName() );
+			if( containerId == null ) continue;
+			boolean isRunning = false;
+			for( final String id: running )
+				if( id.startsWith( containerId ) ) isRunning = true;
+			if( !isRunning ) stopped.add( workerScript );
+		}
+		return stopped;
+	}
+
 	private static boolean containerIsRunning( final String containerId ) throws IOException {
 		String cmd = "docker inspect -f '{{.State.Running}}' " + containerId + " 2>/dev/null";
 		final Process p = Runtime.getRuntime().exec( cmd );
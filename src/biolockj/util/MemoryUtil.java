@@ -18,6 +18,27 @@ import biolockj.Log;
  * This Java memory report utility can be used to help identify memory leaks in the application.
  */
 public class MemoryUtil {
+	/**
+	 * Get the number of bytes the JVM can still allocate: the maximum heap size less the memory in use.
+	 * 
+	 * @return Available memory in bytes
+	 */
+	public static long getAvailableMemory() {
+		final Runtime runtime = Runtime.getRuntime();
+		return runtime.maxMemory() - ( runtime.totalMemory() - runtime.freeMemory() );
+	}
+
+	/**
+	 * Get the number of tasks that can run at the same time without using more than the available memory.
+	 * 
+	 * @param bytesPerTask Estimated memory used by each task, in bytes
+	 * @return Max number of concurrent tasks, at least 1
+	 */
+	public static int getMaxConcurrentTasks( final long bytesPerTask ) {
+		if( bytesPerTask <= 0 ) return Integer.MAX_VALUE;
+		return (int) Math.max( 1L, Math.min( Integer.MAX_VALUE, getAvailableMemory() / bytesPerTask ) );
+	}
+
 	/**
 	 * Print stats on memory usage: Max, Total, ∆Total, %Free, Free, ∆Free.
 	 * 
@@ -0,0 +1,280 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.util.*;
+import biolockj.Constants;
+
+/**
+ * Immutable, column-oriented copy of the metadata file cached by {@link biolockj.util.MetaUtil}.<br>
+ * Field names and Sample IDs are mapped to column and row indexes, so a single field value is found without scanning
+ * the header or copying a row. Values are stored in one array per column, and repeated values within a column
+ * (including every null value) share a single String instance.<br>
+ * Adding or removing a column builds a new table that shares the unchanged column arrays with the old one.
+ */
+final class MetaTable {
+
+	/**
+	 * Build the table from the parsed metadata rows.
+	 *
+	 * @param id Name of the Sample ID column
+	 * @param fieldNames Column names, excluding the Sample ID column
+	 * @param ids Sample ID of each row
+	 * @param rows Field values of each row, excluding the Sample ID
+	 * @param nullValue Value used for missing cells
+	 */
+	MetaTable( final String id, final List<String> fieldNames, final List<String> ids, final List<List<String>> rows,
+		final String nullValue ) {
+		this( id, fieldNames, ids, toColumns( fieldNames.size(), rows, nullValue ) );
+	}
+
+	private MetaTable( final String id, final List<String> fieldNames, final List<String> ids,
+		final String[][] columns ) {
+		this.id = id;
+		this.fieldNames = Collections.unmodifiableList( new ArrayList<>( fieldNames ) );
+		this.rowIds = Collections.unmodifiableList( new ArrayList<>( ids ) );
+		this.columns = columns;
+		for( int i = 0; i < fieldNames.size(); i++ )
+			this.fieldIndex.putIfAbsent( fieldNames.get( i ), i );
+		for( int i = 0; i < ids.size(); i++ )
+			this.rowIndex.put( ids.get( i ), i );
+
+		final List<String> sampleIds = new ArrayList<>( this.rowIndex.keySet() );
+		Collections.sort( sampleIds );
+		this.sampleIds = Collections.unmodifiableList( sampleIds );
+	}
+
+	/**
+	 * Build a copy of this table with a new last column. Existing columns are shared with this table, unless rows are
+	 * removed.
+	 *
+	 * @param field New column name
+	 * @param values Map of Sample ID to new column value
+	 * @param removeMissingIds if TRUE, rows with a Sample ID not in values are removed
+	 * @param nullValue Value used for Sample IDs not in values
+	 * @return New table
+	 */
+	MetaTable addColumn( final String field, final Map<String, String> values, final boolean removeMissingIds,
+		final String nullValue ) {
+		final MetaTable base = removeMissingIds ? retainRows( values.keySet() ): this;
+		final List<String> names = new ArrayList<>( base.fieldNames );
+		names.add( field );
+		final String[][] cols = Arrays.copyOf( base.columns, base.columns.length + 1 );
+		final String[] col = new String[ base.rowIds.size() ];
+		final Map<String, String> shared = new HashMap<>();
+		if( nullValue != null ) shared.put( nullValue, nullValue );
+		for( int row = 0; row < col.length; row++ ) {
+			final String val = values.get( base.rowIds.get( row ) );
+			col[ row ] = val == null ? nullValue: shared.computeIfAbsent( val, v -> v );
+		}
+		cols[ base.columns.length ] = col;
+		return new MetaTable( this.id, names, base.rowIds, cols );
+	}
+
+	/**
+	 * Build a copy of this table without a column. Other columns are shared with this table.
+	 *
+	 * @param field Column name
+	 * @return New table
+	 */
+	MetaTable removeColumn( final String field ) {
+		final Integer index = this.fieldIndex.get( field );
+		if( index == null ) return this;
+		final List<String> names = new ArrayList<>( this.fieldNames );
+		names.remove( index.intValue() );
+		final String[][] cols = new String[ this.columns.length - 1 ][];
+		for( int i = 0, j = 0; i < this.columns.length; i++ )
+			if( i != index ) cols[ j++ ] = this.columns[ i ];
+		return new MetaTable( this.id, names, this.rowIds, cols );
+	}
+
+	/**
+	 * Build a copy of this table with only the rows of the given Sample IDs, in the same order.
+	 *
+	 * @param ids Sample IDs to keep
+	 * @return New table
+	 */
+	MetaTable retainRows( final Collection<String> ids ) {
+		final Set<String> keep = ids instanceof Set ? (Set<String>) ids: new HashSet<>( ids );
+		final List<Integer> rows = new ArrayList<>();
+		final List<String> kept = new ArrayList<>();
+		for( int row = 0; row < this.rowIds.size(); row++ )
+			if( keep.contains( this.rowIds.get( row ) ) ) {
+				rows.add( row );
+				kept.add( this.rowIds.get( row ) );
+			}
+		if( rows.size() == this.rowIds.size() ) return this;
+		final String[][] cols = new String[ this.columns.length ][ rows.size() ];
+		for( int col = 0; col < cols.length; col++ )
+			for( int i = 0; i < rows.size(); i++ )
+				cols[ col ][ i ] = this.columns[ col ][ rows.get( i ) ];
+		return new MetaTable( this.id, this.fieldNames, kept, cols );
+	}
+
+	/**
+	 * Write the table as tab delimited metadata, rows in their original order.
+	 *
+	 * @param writer Output writer
+	 * @param fields Columns to write, or null to write every column
+	 * @throws IOException if unable to write the table
+	 */
+	void write( final Writer writer, final Collection<String> fields ) throws IOException {
+		final List<String> names = fields == null ? this.fieldNames: new ArrayList<>( fields );
+		final int[] cols = new int[ names.size() ];
+		for( int i = 0; i < cols.length; i++ )
+			cols[ i ] = this.fieldIndex.get( names.get( i ) );
+		writer.write( this.id );
+		for( final String name: names )
+			writer.write( DELIM + name );
+		writer.write( Constants.RETURN );
+		for( int row = 0; row < this.rowIds.size(); row++ ) {
+			writer.write( this.rowIds.get( row ) );
+			for( final int col: cols )
+				writer.write( DELIM + this.columns[ col ][ row ] );
+			writer.write( Constants.RETURN );
+		}
+	}
+
+	/**
+	 * Get the values of one column, in row order. The array is shared and must not be modified.
+	 *
+	 * @param field Column name
+	 * @return Column values, or null if the field is not found
+	 */
+	String[] getColumn( final String field ) {
+		final Integer col = this.fieldIndex.get( field );
+		return col == null ? null: this.columns[ col ];
+	}
+
+	/**
+	 * Get the column names, excluding the Sample ID column.
+	 *
+	 * @return Unmodifiable list of column names
+	 */
+	List<String> getFieldNames() {
+		return this.fieldNames;
+	}
+
+	/**
+	 * Get the name of the Sample ID column.
+	 *
+	 * @return Sample ID column name
+	 */
+	String getId() {
+		return this.id;
+	}
+
+	/**
+	 * Get the Sample IDs in sorted order.
+	 *
+	 * @return Unmodifiable list of Sample IDs
+	 */
+	List<String> getSampleIds() {
+		return this.sampleIds;
+	}
+
+	/**
+	 * Get the row index of a Sample ID.
+	 *
+	 * @param sampleId Sample ID
+	 * @return Row index, or -1 if not found
+	 */
+	int getRow( final String sampleId ) {
+		final Integer row = this.rowIndex.get( sampleId );
+		return row == null ? -1: row;
+	}
+
+	/**
+	 * Get an unmodifiable view of the field values of one row. The Sample ID column row returns the field names.
+	 *
+	 * @param sampleId Sample ID
+	 * @return Row values, or null if the Sample ID is not found
+	 */
+	List<String> getRecord( final String sampleId ) {
+		if( sampleId != null && sampleId.equals( this.id ) ) return this.fieldNames;
+		final int row = getRow( sampleId );
+		if( row < 0 ) return null;
+		return new AbstractList<String>() {
+			@Override
+			public String get( final int col ) {
+				return MetaTable.this.columns[ col ][ row ];
+			}
+
+			@Override
+			public int size() {
+				return MetaTable.this.columns.length;
+			}
+		};
+	}
+
+	/**
+	 * Get a single field value.
+	 *
+	 * @param sampleId Sample ID
+	 * @param field Column name
+	 * @return Field value, or null if the Sample ID or field is not found
+	 */
+	String getValue( final String sampleId, final String field ) {
+		final int row = getRow( sampleId );
+		final Integer col = this.fieldIndex.get( field );
+		return row < 0 || col == null ? null: this.columns[ col ][ row ];
+	}
+
+	/**
+	 * Check if the table has a column.
+	 *
+	 * @param field Column name
+	 * @return TRUE if found
+	 */
+	boolean hasField( final String field ) {
+		return this.fieldIndex.containsKey( field );
+	}
+
+	/**
+	 * Check if the table has a row for a Sample ID.
+	 *
+	 * @param sampleId Sample ID
+	 * @return TRUE if found
+	 */
+	boolean hasSample( final String sampleId ) {
+		return sampleId != null && this.rowIndex.containsKey( sampleId );
+	}
+
+	private static String[][] toColumns( final int numCols, final List<List<String>> rows, final String nullValue ) {
+		final String[][] columns = new String[ numCols ][ rows.size() ];
+		for( int col = 0; col < numCols; col++ ) {
+			final Map<String, String> values = new HashMap<>();
+			if( nullValue != null ) values.put( nullValue, nullValue );
+			for( int row = 0; row < rows.size(); row++ ) {
+				final List<String> record = rows.get( row );
+				final String val = col < record.size() ? record.get( col ): nullValue;
+				final String shared = val == null ? null: values.putIfAbsent( val, val );
+				columns[ col ][ row ] = shared == null ? val: shared;
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Table with no metadata.
+	 */
+	static final MetaTable EMPTY = new MetaTable( null, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), null );
+
+	private final String[][] columns;
+	private final Map<String, Integer> fieldIndex = new HashMap<>();
+	private final List<String> fieldNames;
+	private final String id;
+	private final List<String> rowIds;
+	private final Map<String, Integer> rowIndex = new HashMap<>();
+	private final List<String> sampleIds;
+
+	private static final String DELIM = Constants.TAB_DELIM;
+}
@@ -34,8 +34,10 @@ public class MetaUtil {
 	private MetaUtil() {}
 
 	/**
-	 * Adds a column to the metadata file. The updated metadata file is output to the fileDir. Once the new file is
-	 * created, the new file is cached in memory and used as the new metadata.
+	 * Adds a column to the metadata. The new column is added to the metadata cache, and the metadata file path is set
+	 * to fileDir. The new metadata file is not written until it is requested by {@link #getMetadata()} or
+	 * {@link #getPath()}. Until then, the columns added or removed since the last metadata file was written are saved
+	 * to a small column file in fileDir, so a restarted pipeline can rebuild the metadata cache.
 	 *
 	 * @param colName Name of new column
 	 * @param map Map relates Sample ID to a field value
@@ -46,37 +48,20 @@ public class MetaUtil {
 	 * @throws DockerVolCreationException 
 	 * @throws FileNotFoundException if metadata file not found
 	 */
-	public static void addColumn( final String colName, final Map<String, String> map, final File fileDir,
+	public static synchronized void addColumn( final String colName, final Map<String, String> map, final File fileDir,
 		final boolean removeMissingIds ) throws MetadataException, IOException, DockerVolCreationException {
 		final File newMeta = new File( fileDir.getAbsolutePath() + File.separator + getFileName() );
 		Log.info( MetaUtil.class, "Adding new field [" + colName + "] to metadata: " + newMeta.getAbsolutePath() );
-		Log.debug( MetaUtil.class, "Current metadata: " + getPath() );
-		if( getFieldNames().contains( colName ) ) {
-			Log.warn( MetaUtil.class, "Metadata column [" + colName + "] already exists in: " + getPath() );
+		Log.debug( MetaUtil.class, "Current metadata: " + getFilePath() );
+		if( table.hasField( colName ) ) {
+			Log.warn( MetaUtil.class, "Metadata column [" + colName + "] already exists in: " + getFilePath() );
 			return;
 		}
 
-		final Set<String> sampleIds = map.keySet();
-		final BufferedReader reader = BioLockJUtil.getFileReader( getMetadata() );
-		setFile( newMeta );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( getMetadata() ) );
-		try {
-			writer.write( reader.readLine() + METADATA_COL_DELIM + colName + Constants.RETURN );
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				final StringTokenizer st = new StringTokenizer( line, METADATA_COL_DELIM );
-				final String id = st.nextToken();
-				if( sampleIds.contains( id ) )
-					writer.write( line + METADATA_COL_DELIM + map.get( id ) + Constants.RETURN );
-				else if( !removeMissingIds )
-					writer.write( line + METADATA_COL_DELIM + getNullValue( null ) + Constants.RETURN );
-				else Log.warn( MetaUtil.class, getRemoveIdMsg( id ) );
+		if( removeMissingIds ) for( final String id: table.getSampleIds() )
+			if( !map.containsKey( id ) ) Log.warn( MetaUtil.class, getRemoveIdMsg( id ) );
 
-			}
-		} finally {
-			reader.close();
-			writer.close();
-			refreshCache();
-		}
+		stage( newMeta, table.addColumn( colName, map, removeMissingIds, getNullValue( null ) ), colName, null );
 	}
 
 	/**
@@ -86,7 +71,7 @@ public class MetaUtil {
 	 */
 	public static boolean exists() {
 		try {
-			return getMetadata() != null;
+			return getMetadataFile() != null;
 		} catch( final Exception ex ) {
 			Log.error( MetaUtil.class, "Error occurred trying to dtermine if metadata file exists on file sytsem", ex );
 		}
@@ -119,28 +104,24 @@ public class MetaUtil {
 	 * @throws MetadataException if field not found in the metadata for the given sample Id.
 	 */
 	public static String getField( final String sampleId, final String field ) throws MetadataException {
-		if( !getFieldNames().contains( field ) )
-			throw new MetadataException( "Invalid field [" + field + "] not found in Metadata = " + getPath() );
+		final MetaTable meta = table;
+		if( !meta.hasField( field ) )
+			throw new MetadataException( "Invalid field [" + field + "] not found in Metadata = " + getFilePath() );
 
-		if( getRecord( sampleId ) == null )
-			throw new MetadataException( "Invalid Sample ID [" + sampleId + "] not found in Metadata = " + getPath() );
+		if( !meta.hasSample( sampleId ) )
+			throw new MetadataException( "Invalid Sample ID [" + sampleId + "] not found in Metadata = " + getFilePath() );
 
-		return getRecord( sampleId ).get( getFieldNames().indexOf( field ) );
+		return meta.getValue( sampleId, field );
 	}
 
 	/**
 	 * Get a list of all metadata fields (metadata file column names except the 1st).
 	 *
-	 * @return List of metadata column names, excluding the 1st column
+	 * @return Unmodifiable list of metadata column names, excluding the 1st column
 	 * 
 	 */
 	public static List<String> getFieldNames() {
-		try {
-			return getRecord( metaId );
-		} catch( final MetadataException ex ) {
-			Log.error( MetaUtil.class, "Error occurred accessing Config property: " + META_FILE_PATH, ex );
-		}
-		return new ArrayList<>();
+		return table.getFieldNames();
 	}
 
 	/**
@@ -153,14 +134,15 @@ public class MetaUtil {
 	 */
 	public static List<String> getFieldValues( final String field, final boolean ignoreNulls )
 		throws MetadataException {
-		final List<String> vals = new ArrayList<>();
-		if( !getFieldNames().contains( field ) )
-			throw new MetadataException( "Invalid field [" + field + "] in Metadata = " + getPath() );
+		final MetaTable meta = table;
+		final String[] column = meta.getColumn( field );
+		if( column == null ) throw new MetadataException( "Invalid field [" + field + "] in Metadata = " + getFilePath() );
 
-		for( final String id: getSampleIds() ) {
-			final String val = getField( id, field );
-			if( val != null && val.trim().length() > 0 && !val.equals( getNullValue( null ) ) || !ignoreNulls )
-				vals.add( val );
+		final String nullVal = getNullValue( null );
+		final List<String> vals = new ArrayList<>();
+		for( final String id: meta.getSampleIds() ) {
+			final String val = column[ meta.getRow( id ) ];
+			if( !ignoreNulls || val != null && val.trim().length() > 0 && !val.equals( nullVal ) ) vals.add( val );
 		}
 
 		return vals;
@@ -173,7 +155,7 @@ public class MetaUtil {
 	 */
 	public static String getFileName() {
 		try {
-			if( getMetadata() != null ) return getMetadata().getName();
+			if( getMetadataFile() != null ) return getMetadataFile().getName();
 		} catch( final Exception ex ) {
 			Log.error( MetaUtil.class, "Error occurred accessing Config property: " + META_FILE_PATH, ex );
 		}
@@ -196,7 +178,7 @@ public class MetaUtil {
 	public static String getForcedColumnName( final String name )
 		throws MetadataException, FileNotFoundException, IOException, DockerVolCreationException {
 		String suffix = "";
-		while( getFieldNames().contains( name + suffix ) ) {
+		while( table.hasField( name + suffix ) ) {
 			if( getFieldValues( name + suffix, true ).isEmpty() ) {
 				removeColumn( name + suffix, null );
 				break; // reuse the column
@@ -226,7 +208,7 @@ public class MetaUtil {
 		int suffix = 1;
 		String testName = name;
 		String foundName = null;
-		while( getFieldNames().contains( testName ) ) {
+		while( table.hasField( testName ) ) {
 			foundName = testName;
 			testName = name + "_" + suffix++;
 		}
@@ -234,12 +216,29 @@ public class MetaUtil {
 	}
 
 	/**
-	 * Metadata file getter. This path changes as new versions are created by the BioModules.
+	 * Metadata file getter. This path changes as new versions are created by the BioModules. If columns have been
+	 * added or removed since the file was last written, the file is written first.
 	 * 
 	 * @return Metadata file
-	 * @throws MetadataException if attempt to assign new metadata file fails
+	 * @throws MetadataException if attempt to assign or write new metadata file fails
 	 */
 	public static File getMetadata() throws MetadataException {
+		final File file = getMetadataFile();
+		writeStaged();
+		return file;
+	}
+
+	/**
+	 * Get the column file that stores the metadata columns added or removed since the last metadata file was written.
+	 * 
+	 * @param metadata Metadata file
+	 * @return Column file in the same directory
+	 */
+	public static File getColumnFile( final File metadata ) {
+		return new File( metadata.getParentFile(), "." + metadata.getName() + COLUMN_FILE_EXT );
+	}
+
+	private static File getMetadataFile() throws MetadataException {
 		if( metadataFile != null ) return metadataFile;
 		try {
 			if( Config.getString( null, META_FILE_PATH ) == null ) return null;
@@ -248,7 +247,7 @@ public class MetaUtil {
 				if( !metadataFile.isFile() )
 					throw new ConfigPathException( metadataFile, "Metadata file not found in Docker container" );
 			} else setFile( new File( Config.getString( null, META_FILE_PATH ) ) );
-			Log.debug( MetaUtil.class, "Returning new metadata file path: " + getPath() );
+			Log.debug( MetaUtil.class, "Returning new metadata file path: " + getFilePath() );
 		} catch( final Exception ex ) {
 			throw new MetadataException( "Failed to get handle to metadata file:  " + ex.getMessage() );
 		}
@@ -276,13 +275,23 @@ public class MetaUtil {
 	}
 
 	/**
-	 * Return the metadata file path
+	 * Return the metadata file path. If columns have been added or removed since the file was last written, the file
+	 * is written first.
 	 * 
 	 * @return String the metadata file path
 	 */
 	public static String getPath() {
 		try {
-			if( getMetadata() != null ) return getMetadata().getAbsolutePath();
+			writeStaged();
+		} catch( final Exception ex ) {
+			Log.error( MetaUtil.class, "Failed to write metadata file: " + getFilePath(), ex );
+		}
+		return getFilePath();
+	}
+
+	private static String getFilePath() {
+		try {
+			if( getMetadataFile() != null ) return getMetadataFile().getAbsolutePath();
 		} catch( final Exception ex ) {
 			Log.error( MetaUtil.class, "Failed to return meatada file path -  metadata file not found! ", ex );
 		}
@@ -297,22 +306,18 @@ public class MetaUtil {
 	 * @throws MetadataException if Sample ID not found or metadata file doesn't exist
 	 */
 	public static List<String> getRecord( final String sampleId ) throws MetadataException {
-		if( metadataMap == null || !metadataMap.keySet().contains( sampleId ) )
-			throw new MetadataException( "Invalid Sample ID: " + sampleId );
-		return metadataMap.get( sampleId );
+		final List<String> record = table.getRecord( sampleId );
+		if( record == null ) throw new MetadataException( "Invalid Sample ID: " + sampleId );
+		return record;
 	}
 
 	/**
 	 * Get the first column from the metadata file.
 	 *
-	 * @return Sample IDs found in metadata file
+	 * @return Sample IDs found in metadata file, sorted
 	 */
 	public static List<String> getSampleIds() {
-		final List<String> ids = new ArrayList<>();
-		for( final String key: metadataMap.keySet() )
-			if( !key.equals( metaId ) ) ids.add( key );
-		Collections.sort( ids );
-		return ids;
+		return new ArrayList<>( table.getSampleIds() );
 	}
 
 	/**
@@ -328,12 +333,7 @@ public class MetaUtil {
 	 */
 	public static String getSystemMetaCol( final BioModule module, final String col )
 		throws MetadataException, FileNotFoundException, IOException, DockerVolCreationException {
-		final File outputMeta = module.getMetadata();
-		if( ModuleUtil.isComplete( module ) || outputMeta.isFile() ) {
-			setFile( outputMeta );
-			refreshCache();
-			return getLatestColumnName( col );
-		}
+		if( useModuleMetadata( module.getMetadata() ) ) return getLatestColumnName( col );
 		return getForcedColumnName( col );
 	}
 
@@ -357,7 +357,17 @@ public class MetaUtil {
 	 * @return TRUE if columnName exists in hearder row of metadata file
 	 */
 	public static boolean hasColumn( final String columnName ) {
-		return exists() && columnName != null && getFieldNames().contains( columnName );
+		return exists() && columnName != null && table.hasField( columnName );
+	}
+
+	/**
+	 * Check if the current metadata file has a row for the sampleId.
+	 * 
+	 * @param sampleId Sample ID
+	 * @return TRUE if sampleId is found in the 1st column of the metadata file (excluding the header row)
+	 */
+	public static boolean hasSampleId( final String sampleId ) {
+		return table.hasSample( sampleId );
 	}
 
 	/**
@@ -383,7 +393,7 @@ public class MetaUtil {
 
 		if( Config.getString( null, META_FILE_PATH ) != null ) {
 			Config.requireExistingFile( null, META_FILE_PATH );
-			setFile( getMetadata() );
+			setFile( getMetadataFile() );
 			refreshCache();
 		}
 		
@@ -439,7 +449,7 @@ public class MetaUtil {
 		}
 		if ( sampleAssignmentFile().exists() ) {
 			BufferedReader reader = new BufferedReader( new FileReader( sampleAssignmentFile() ) );
-			String ignoreHeader = reader.readLine();
+			reader.readLine();
 			try {
 				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
 					final StringTokenizer st = new StringTokenizer( line, Constants.TAB_DELIM );
@@ -484,8 +494,9 @@ public class MetaUtil {
 	}
 	
 	private static String getSampleIdFromFileName(String filename) throws ConfigViolationException, ConfigFormatException, MetadataException, IOException {
-		Log.debug(MetaUtil.class, "Checking metadata for file name: " + filename);
 		String id = getNameToSampleMap().get( filename );
+		if( !Log.doDebug( MetaUtil.class ) ) return id;
+		Log.debug(MetaUtil.class, "Checking metadata for file name: " + filename);
 		Log.debug(MetaUtil.class, "Map has keys: " + BioLockJUtil.getCollectionAsString( getNameToSampleMap().keySet() ));
 		String msg = id == null ? "File is not given in the metadata." : "Linked " + filename + " to sample [" + id + "].";
 		if (getNameToSampleMap().size() > 0 && id==null ) Log.debug( MetaUtil.class, "Files in metadata include: " + BioLockJUtil.printLongFormList( getNameToSampleMap().keySet() ) );
@@ -511,7 +522,7 @@ public class MetaUtil {
 	 */
 	public static boolean setSampleId(String filename, String sampleId) throws ConfigViolationException, ConfigFormatException, MetadataException, IOException {
 		//TODO add mechanism to permit adding samples to metadata.
-		if (!getSampleIds().contains( sampleId )) {
+		if (!hasSampleId( sampleId )) {
 			Log.debug(MetaUtil.class, "No such sample [" + sampleId + "] in metadata.");
 			return false; 
 		}
@@ -534,15 +545,14 @@ public class MetaUtil {
 	 */
 	public static void refreshCache() throws MetadataException {
 		if( isUpdated() ) {
-			Log.info( MetaUtil.class, "Update metadata cache: " + getPath() );
-			metadataMap.clear();
-			cacheMetadata( parseMetadataFile() );
+			Log.info( MetaUtil.class, "Update metadata cache: " + getFilePath() );
+			table = cacheMetadata( parseMetadataFile( getMetadataFile() ) );
 
 			if( !BioLockJUtil.isDirectMode() ) report();
 
-			reportedMetadata = getMetadata();
+			reportedMetadata = getMetadataFile();
 		} else Log.debug( MetaUtil.class, "Skip metadata refresh cache, path unchanged: " +
-			( getMetadata() == null ? "<NO_METADATA_PATH>": getPath() ) );
+			( getMetadataFile() == null ? "<NO_METADATA_PATH>": getFilePath() ) );
 	}
 
 	/**
@@ -555,7 +565,7 @@ public class MetaUtil {
 	 * @throws FileNotFoundException if metadata file path not found
 	 * @throws DockerVolCreationException 
 	 */
-	public static void removeColumn( final String colName, final File fileDir )
+	public static synchronized void removeColumn( final String colName, final File fileDir )
 		throws FileNotFoundException, IOException, MetadataException, DockerVolCreationException {
 		File myDir = fileDir;
 		if( fileDir == null ) {
@@ -563,34 +573,15 @@ public class MetaUtil {
 			if( !myDir.isDirectory() ) myDir.mkdirs();
 		}
 
-		if( !getFieldNames().contains( colName ) ) {
+		if( !table.hasField( colName ) ) {
 			Log.warn( MetaUtil.class,
-				"Metadata column [" + colName + "] cannot be removed, because it does not exists in: " + getPath() );
+				"Metadata column [" + colName + "] cannot be removed, because it does not exists in: " + getFilePath() );
 			return;
 		}
 
-		Log.info( MetaUtil.class, "Removing field [" + colName + "] from metadata: " + getPath() );
-		final int index = getFieldNames().indexOf( colName );
+		Log.info( MetaUtil.class, "Removing field [" + colName + "] from metadata: " + getFilePath() );
 		final File newMeta = new File( myDir.getAbsolutePath() + File.separator + getFileName() );
-		final BufferedReader reader = BioLockJUtil.getFileReader( getMetadata() );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( newMeta ) );
-		try {
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				int i = 1;
-				final StringTokenizer st = new StringTokenizer( line, METADATA_COL_DELIM );
-				writer.write( st.nextToken() );
-				while( st.hasMoreTokens() ) {
-					final String token = st.nextToken();
-					if( i++ != index ) writer.write( METADATA_COL_DELIM + token );
-				}
-				writer.write( Constants.RETURN );
-			}
-		} finally {
-			reader.close();
-			writer.close();
-			setFile( newMeta );
-			refreshCache();
-		}
+		stage( newMeta, table.removeColumn( colName ), null, colName );
 	}
 
 	/**
@@ -600,38 +591,127 @@ public class MetaUtil {
 	 * @throws MetadataException if null parameter is passed
 	 * @throws DockerVolCreationException 
 	 */
-	public static void setFile( final File file ) throws MetadataException, DockerVolCreationException {
+	public static synchronized void setFile( final File file ) throws MetadataException, DockerVolCreationException {
 		if( file == null ) throw new MetadataException( "Cannot pass NULL to MetaUtil.setFile( file )" );
-		if( metadataFile != null && file.getAbsolutePath().equals( getPath() ) )
-			Log.debug( MetaUtil.class, "===> MetaUtil.setFile() not required, no changes to: " + getPath() );
+		if( metadataFile != null && file.getAbsolutePath().equals( getFilePath() ) )
+			Log.debug( MetaUtil.class, "===> MetaUtil.setFile() not required, no changes to: " + getFilePath() );
+		else writeStaged();
 		BioLockJUtil.ignoreFile( file );
 		metadataFile = file;
 	}
 
-	private static void cacheMetadata( final List<List<String>> data ) {
+	/**
+	 * Use the metadata saved in a module output directory: the metadata file if it exists, otherwise the column file
+	 * saved by {@link #addColumn(String, Map, File, boolean)} or {@link #removeColumn(String, File)} when the metadata
+	 * file has not been written yet.
+	 * 
+	 * @param file Module metadata file
+	 * @return TRUE if the module saved metadata
+	 * @throws MetadataException if unable to read the metadata or column file
+	 * @throws IOException if unable to read the column file
+	 * @throws DockerVolCreationException if unable to register the metadata file path
+	 */
+	public static synchronized boolean useModuleMetadata( final File file )
+		throws MetadataException, IOException, DockerVolCreationException {
+		if( file.isFile() ) {
+			setFile( file );
+			refreshCache();
+			return true;
+		}
+		final File columnFile = getColumnFile( file );
+		if( !columnFile.isFile() ) return false;
+		if( staged && file.getAbsolutePath().equals( getFilePath() ) ) return true;
+		applyColumnFile( file, columnFile );
+		return true;
+	}
+
+	/**
+	 * Rebuild the metadata cache from a column file: parse the base metadata file it references, then remove and add
+	 * the columns it lists, keeping only the rows it lists.
+	 */
+	private static void applyColumnFile( final File file, final File columnFile )
+		throws MetadataException, IOException, DockerVolCreationException {
+		Log.info( MetaUtil.class, "Restore metadata from column file: " + columnFile.getAbsolutePath() );
+		File base = null;
+		final List<String> removed = new ArrayList<>();
+		final List<String> ids = new ArrayList<>();
+		final List<String[]> rows = new ArrayList<>();
+		String[] header = null;
+		final BufferedReader reader = BioLockJUtil.getFileReader( columnFile );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final String[] cells = line.split( METADATA_COL_DELIM, -1 );
+				if( header == null && cells[ 0 ].equals( COLUMN_FILE_BASE ) ) base = new File( cells[ 1 ] );
+				else if( header == null && cells[ 0 ].equals( COLUMN_FILE_REMOVED ) )
+					removed.addAll( Arrays.asList( cells ).subList( 1, cells.length ) );
+				else if( header == null ) header = cells;
+				else {
+					ids.add( cells[ 0 ] );
+					rows.add( cells );
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		if( base == null || !base.isFile() || header == null ) throw new MetadataException(
+			"Base metadata file " + ( base == null ? "": base.getAbsolutePath() + " " ) + "not found for column file: " +
+				columnFile.getAbsolutePath() );
+
+		MetaTable newTable = cacheMetadata( parseMetadataFile( base ) );
+		for( final String col: removed )
+			newTable = newTable.removeColumn( col );
+		newTable = newTable.retainRows( ids );
+		for( int i = 1; i < header.length; i++ ) {
+			final Map<String, String> values = new HashMap<>();
+			for( final String[] row: rows )
+				values.put( row[ 0 ], row[ i ] );
+			newTable = newTable.addColumn( header[ i ], values, false, getNullValue( null ) );
+		}
+
+		BioLockJUtil.ignoreFile( file );
+		metadataFile = file;
+		reportedMetadata = file;
+		baseFile = base;
+		stagedColumns.clear();
+		stagedColumns.addAll( Arrays.asList( header ).subList( 1, header.length ) );
+		removedColumns.clear();
+		removedColumns.addAll( removed );
+		table = newTable;
+		staged = true;
+	}
+
+	private static MetaTable cacheMetadata( final List<List<String>> data ) {
+		final boolean updated = isUpdated();
+		final String nullVal = getNullValue( null );
+		List<String> fieldNames = new ArrayList<>();
+		final List<String> ids = new ArrayList<>();
+		final List<List<String>> records = new ArrayList<>();
 		int rowNum = 0;
-		final Iterator<List<String>> rows = data.iterator();
-		while( rows.hasNext() ) {
-			final List<String> row = rows.next();
+		for( final List<String> row: data ) {
 			final String idRaw = row.get( 0 );
 			final String id = BioLockJUtil.removeOuterQuotes( idRaw );
-			if (!id.equals( idRaw )) Log.debug(MetaUtil.class, "Removed outer quotes for id: " + id);
+			if( !id.equals( idRaw ) ) Log.debug( MetaUtil.class, "Removed outer quotes for id: " + id );
 			if( rowNum == 0 ) {
 				metaId = id;
-				if( isUpdated() ) Log.debug( MetaUtil.class, "Metadata Headers: " + row );
-			} else if( rowNum == 1 && isUpdated() ) Log.debug( MetaUtil.class, "Metadata Record (1st Row): " + row );
-
-			if( id != null && !id.equals( getNullValue( null ) ) ) {
-				row.remove( 0 );
-				if( isUpdated() ) Log.debug( MetaUtil.class, "metadataMap add: " + id + " = " + row );
-				metadataMap.put( id, row );
+				if( updated ) Log.debug( MetaUtil.class, "Metadata Headers: " + row );
+			} else if( rowNum == 1 && updated ) Log.debug( MetaUtil.class, "Metadata Record (1st Row): " + row );
+
+			if( id != null && !id.equals( nullVal ) ) {
+				final List<String> record = row.subList( 1, row.size() );
+				if( rowNum == 0 ) fieldNames = record;
+				else {
+					if( updated ) Log.debug( MetaUtil.class, "Metadata cache add: " + id + " = " + record );
+					ids.add( id );
+					records.add( record );
+				}
 			}
 			rowNum++;
 		}
+		return new MetaTable( metaId, fieldNames, ids, records, nullVal );
 	}
 
 	private static String getRemoveIdMsg( final String id ) {
-		String msg = "REMOVE SAMPLE ID [" + id + "] from metadata file " + getPath() + " | Reason:  ";
+		String msg = "REMOVE SAMPLE ID [" + id + "] from metadata file " + getFilePath() + " | Reason:  ";
 		try {
 			final String dirs = Config.requireString( null, Constants.INPUT_DIRS );
 			if( SeqUtil.piplineHasSeqInput() ) {
@@ -651,9 +731,9 @@ public class MetaUtil {
 
 	private static boolean isUpdated() {
 		try {
-			final boolean foundNewReport = getMetadata() != null && reportedMetadata != null &&
-				!reportedMetadata.getAbsolutePath().equals( getPath() );
-			final boolean noReport = getMetadata() != null && reportedMetadata == null;
+			final boolean foundNewReport = getMetadataFile() != null && reportedMetadata != null &&
+				!reportedMetadata.getAbsolutePath().equals( getFilePath() );
+			final boolean noReport = getMetadataFile() != null && reportedMetadata == null;
 			return foundNewReport || noReport;
 		} catch( final MetadataException ex ) {
 			Log.error( MetaUtil.class, "Failed to determine if metadata has been updated - file may not exists", ex );
@@ -661,22 +741,24 @@ public class MetaUtil {
 		}
 	}
 
-	private static List<List<String>> parseMetadataFile() {
+	private static List<List<String>> parseMetadataFile( final File file ) {
 		final List<List<String>> data = new ArrayList<>();
 		BufferedReader reader = null;
 		try {
-			reader = BioLockJUtil.getFileReader( getMetadata() );
+			final String comment = Config.getString( null, META_COMMENT_CHAR );
+			final String nullVal = getNullValue( null );
+			final boolean updated = isUpdated();
+			reader = BioLockJUtil.getFileReader( file );
 			for( String line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine() ) {
-				String comment = Config.getString( null, META_COMMENT_CHAR );
-				if( comment !=null && line.startsWith( Config.getString( null, META_COMMENT_CHAR ) ) ) {
+				if( comment !=null && line.startsWith( comment ) ) {
 					Log.debug( MetaUtil.class, "Ignoring commented line in metadata file: " + line );
 				} else {
-					if( isUpdated() ) Log.debug( MetaUtil.class, "===> Meta line: " + line );
-					final ArrayList<String> record = new ArrayList<>();
+					if( updated ) Log.debug( MetaUtil.class, "===> Meta line: " + line );
 					final String[] cells = line.split( METADATA_COL_DELIM, -1 );
+					final ArrayList<String> record = new ArrayList<>( cells.length );
 					for( final String cell: cells ) {
-						if( cell == null || cell.trim().isEmpty() ) record.add( getNullValue( null ) );
-						else record.add( cell.trim() );
+						final String val = cell.trim();
+						record.add( val.isEmpty() ? nullVal: val );
 					}
 					data.add( record );
 				}
@@ -693,11 +775,74 @@ public class MetaUtil {
 		return data;
 	}
 
+	/**
+	 * Save the columns added or removed since the last metadata file was written to the column file of the new
+	 * metadata file.
+	 */
+	private static void saveColumnFile() throws IOException, DockerVolCreationException {
+		final File file = getColumnFile( metadataFile );
+		BioLockJUtil.ignoreFile( file );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			writer.write( COLUMN_FILE_BASE + METADATA_COL_DELIM + baseFile.getAbsolutePath() + Constants.RETURN );
+			if( !removedColumns.isEmpty() ) writer.write( COLUMN_FILE_REMOVED + METADATA_COL_DELIM +
+				String.join( METADATA_COL_DELIM, removedColumns ) + Constants.RETURN );
+			table.write( writer, stagedColumns );
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Cache a new version of the metadata without writing the metadata file.
+	 */
+	private static void stage( final File file, final MetaTable newTable, final String added, final String removed )
+		throws MetadataException, IOException, DockerVolCreationException {
+		if( !staged ) {
+			baseFile = getMetadataFile();
+			if( baseFile == null ) throw new MetadataException( "Cannot update metadata, no metadata file found" );
+			stagedColumns.clear();
+			removedColumns.clear();
+		}
+		if( added != null ) stagedColumns.add( added );
+		if( removed != null && !stagedColumns.remove( removed ) ) removedColumns.add( removed );
+		BioLockJUtil.ignoreFile( file );
+		metadataFile = file;
+		reportedMetadata = file;
+		table = newTable;
+		staged = true;
+		saveColumnFile();
+		if( !BioLockJUtil.isDirectMode() ) report();
+	}
+
+	/**
+	 * Write the metadata file if columns have been added or removed since it was last written.
+	 */
+	private static synchronized void writeStaged() throws MetadataException {
+		if( !staged ) return;
+		staged = false;
+		try {
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( metadataFile ) );
+			try {
+				table.write( writer, null );
+			} finally {
+				writer.close();
+			}
+		} catch( final IOException ex ) {
+			final MetadataException mex = new MetadataException(
+				"Failed to write metadata file: " + metadataFile.getAbsolutePath() + " --> " + ex.getMessage() );
+			staged = true;
+			throw mex;
+		}
+		getColumnFile( metadataFile ).delete();
+		Log.info( MetaUtil.class, "Saved metadata file: " + metadataFile.getAbsolutePath() );
+	}
+
 	private static void report() {
 		try {
 			final String exId = getSampleIds().get( 0 );
 			Log.info( MetaUtil.class, META_SPACER );
-			Log.info( MetaUtil.class, "===> New Metadata file: " + getPath() );
+			Log.info( MetaUtil.class, "===> New Metadata file: " + getFilePath() );
 			Log.info( MetaUtil.class, "===> Sample IDs: " + getSampleIds() );
 			Log.info( MetaUtil.class, "===> Metadata fields: " + getFieldNames() );
 			Log.info( MetaUtil.class, "===> 1st Record: [" + exId + "]: " + getRecord( exId ) );
@@ -846,10 +991,17 @@ public class MetaUtil {
 	 */
 	protected static final String DEFAULT_NULL_VALUE = "NA";
 
+	private static final String COLUMN_FILE_BASE = "#base";
+	private static final String COLUMN_FILE_EXT = ".columns";
+	private static final String COLUMN_FILE_REMOVED = "#removed";
 	private static String META_SPACER = "************************************************************************";
 	private static File metadataFile = null;
-	private static final Map<String, List<String>> metadataMap = new HashMap<>();
+	private static File baseFile = null;
 	private static String metaId = "SAMPLE_ID";
 	private static String metaNullVal = null;
+	private static final Set<String> removedColumns = new LinkedHashSet<>();
 	private static File reportedMetadata = null;
+	private static boolean staged = false;
+	private static final Set<String> stagedColumns = new LinkedHashSet<>();
+	private static volatile MetaTable table = MetaTable.EMPTY;
 }
@@ -366,7 +366,8 @@ public class ModuleUtil {
 		boolean foundOther = false;
 		final List<File> files = Arrays.asList( module.getOutputDir().listFiles() );
 		for( final File f: files )
-			if( f.getName().equals( MetaUtil.getFileName() ) ) foundMeta = true;
+			if( f.getName().equals( MetaUtil.getFileName() ) ||
+				f.getName().equals( MetaUtil.getColumnFile( module.getMetadata() ).getName() ) ) foundMeta = true;
 			else if( !Config.getSet( module, Constants.INPUT_IGNORE_FILES ).contains( f.getName() ) ) foundOther = true;
 
 		return foundMeta && !foundOther;
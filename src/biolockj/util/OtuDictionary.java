@@ -0,0 +1,91 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.util.*;
+
+/**
+ * Dictionary of OTU lineage strings, shared by the samples read by one module.<br>
+ * Each unique OTU is stored once and assigned an int ID in the order it is first found, so per-sample counts
+ * ({@link biolockj.util.OtuUtil.OtuCounts}) only store IDs. All methods are synchronized so samples can be read by
+ * several threads.
+ */
+public class OtuDictionary {
+
+	/**
+	 * Construct an empty dictionary.
+	 */
+	public OtuDictionary() {}
+
+	/**
+	 * Get the ID of an OTU, adding it to the dictionary if not found.
+	 *
+	 * @param otu OTU
+	 * @return OTU ID
+	 */
+	public synchronized int getId( final String otu ) {
+		final Integer id = this.ids.get( otu );
+		if( id != null ) return id;
+		this.ids.put( otu, this.otus.size() );
+		this.otus.add( otu );
+		this.sortedIds = null;
+		return this.otus.size() - 1;
+	}
+
+	/**
+	 * Get the OTU of an ID.
+	 *
+	 * @param id OTU ID
+	 * @return OTU
+	 */
+	public synchronized String getOtu( final int id ) {
+		return this.otus.get( id );
+	}
+
+	/**
+	 * Get every OTU in the dictionary, in ID order.
+	 *
+	 * @return Unmodifiable list of OTUs
+	 */
+	public synchronized List<String> getOtus() {
+		return Collections.unmodifiableList( new ArrayList<>( this.otus ) );
+	}
+
+	/**
+	 * Get every OTU ID, ordered by OTU name.
+	 *
+	 * @return OTU IDs
+	 */
+	public synchronized int[] getSortedIds() {
+		if( this.sortedIds == null ) {
+			final Integer[] order = new Integer[ this.otus.size() ];
+			for( int i = 0; i < order.length; i++ )
+				order[ i ] = i;
+			Arrays.sort( order, ( a, b ) -> this.otus.get( a ).compareTo( this.otus.get( b ) ) );
+			this.sortedIds = new int[ order.length ];
+			for( int i = 0; i < order.length; i++ )
+				this.sortedIds[ i ] = order[ i ];
+		}
+		return this.sortedIds.clone();
+	}
+
+	/**
+	 * Get the number of unique OTUs in the dictionary.
+	 *
+	 * @return Number of OTUs
+	 */
+	public synchronized int size() {
+		return this.otus.size();
+	}
+
+	private final Map<String, Integer> ids = new HashMap<>();
+	private final List<String> otus = new ArrayList<>();
+	private int[] sortedIds = null;
+}
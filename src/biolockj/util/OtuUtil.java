@@ -13,6 +13,7 @@ package biolockj.util;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.IntPredicate;
 import biolockj.*;
 import biolockj.exception.OtuFileException;
 
@@ -61,6 +62,128 @@ public class OtuUtil {
 		private String otu = null;
 	}
 
+	/**
+	 * This inner class holds the OTU counts of one sample as parallel arrays of {@link biolockj.util.OtuDictionary} IDs
+	 * and counts, ordered by OTU name as in the OTU count file.
+	 */
+	public static class OtuCounts {
+		/**
+		 * Construct the OTU counts of a sample.
+		 *
+		 * @param dictionary OTU dictionary of the IDs
+		 * @param ids OTU IDs, ordered by OTU name without duplicates
+		 * @param counts Count of each OTU
+		 */
+		public OtuCounts( final OtuDictionary dictionary, final int[] ids, final long[] counts ) {
+			this.dictionary = dictionary;
+			this.ids = ids;
+			this.counts = counts;
+		}
+
+		/**
+		 * Get the count of the OTU at the given index.
+		 *
+		 * @param index OTU index
+		 * @return OTU count
+		 */
+		public long getCount( final int index ) {
+			return this.counts[ index ];
+		}
+
+		/**
+		 * Get the OTU dictionary of the IDs.
+		 *
+		 * @return OTU dictionary
+		 */
+		public OtuDictionary getDictionary() {
+			return this.dictionary;
+		}
+
+		/**
+		 * Get the dictionary ID of the OTU at the given index.
+		 *
+		 * @param index OTU index
+		 * @return OTU ID
+		 */
+		public int getId( final int index ) {
+			return this.ids[ index ];
+		}
+
+		/**
+		 * Get the OTU at the given index.
+		 *
+		 * @param index OTU index
+		 * @return OTU
+		 */
+		public String getOtu( final int index ) {
+			return this.dictionary.getOtu( this.ids[ index ] );
+		}
+
+		/**
+		 * Get the sum of the OTU counts.
+		 *
+		 * @return Total count
+		 */
+		public long getTotal() {
+			long total = 0L;
+			for( final long count: this.counts )
+				total += count;
+			return total;
+		}
+
+		/**
+		 * Check if the sample has no OTUs.
+		 *
+		 * @return TRUE if empty
+		 */
+		public boolean isEmpty() {
+			return this.ids.length == 0;
+		}
+
+		/**
+		 * Build a copy with only the OTUs whose index passes the test.
+		 *
+		 * @param keep Test of the OTU index
+		 * @return Selected OTU counts
+		 */
+		public OtuCounts select( final IntPredicate keep ) {
+			int size = 0;
+			final int[] selectedIds = new int[ this.ids.length ];
+			final long[] selectedCounts = new long[ this.ids.length ];
+			for( int i = 0; i < this.ids.length; i++ )
+				if( keep.test( i ) ) {
+					selectedIds[ size ] = this.ids[ i ];
+					selectedCounts[ size++ ] = this.counts[ i ];
+				}
+			if( size == this.ids.length ) return this;
+			return new OtuCounts( this.dictionary, Arrays.copyOf( selectedIds, size ),
+				Arrays.copyOf( selectedCounts, size ) );
+		}
+
+		/**
+		 * Get the number of OTUs.
+		 *
+		 * @return Number of OTUs
+		 */
+		public int size() {
+			return this.ids.length;
+		}
+
+		/**
+		 * Build a copy with new counts for the same OTUs. OTUs with a count of zero are removed.
+		 *
+		 * @param newCounts New count of each OTU, in index order
+		 * @return Updated OTU counts
+		 */
+		public OtuCounts update( final long[] newCounts ) {
+			return new OtuCounts( this.dictionary, this.ids, newCounts ).select( i -> newCounts[ i ] > 0 );
+		}
+
+		private final long[] counts;
+		private final OtuDictionary dictionary;
+		private final int[] ids;
+	}
+
 	// Prevent instantiation
 	private OtuUtil() {}
 
@@ -100,6 +223,24 @@ public class OtuUtil {
 		return otuCounts;
 	}
 
+	/**
+	 * Find the OTU count file of each sample.
+	 *
+	 * @param files Collection of OTU count files
+	 * @return TreeMap(SampleID, File) OTU count file by sample
+	 * @throws Exception if any of the input file names are missing "_{@value biolockj.Constants#OTU_COUNT}_"
+	 */
+	public static TreeMap<String, File> getSampleFiles( final Collection<File> files ) throws Exception {
+		final TreeMap<String, File> sampleFiles = new TreeMap<>();
+		for( final File file: files ) {
+			if( !file.getName().contains( "_" + Constants.OTU_COUNT + "_" ) )
+				throw new Exception( "Module input files must contain sample OTU counts with \"_" +
+					Constants.OTU_COUNT + "_\" as part of the file name.  Found file: " + file.getAbsolutePath() );
+			sampleFiles.put( getSampleId( file ), file );
+		}
+		return sampleFiles;
+	}
+
 	/**
 	 * Find every unique OTU across all samples.
 	 * 
@@ -166,17 +307,93 @@ public class OtuUtil {
 	public static TreeMap<String, TreeMap<String, Long>> getSampleOtuCounts( final Collection<File> files )
 		throws Exception {
 		final TreeMap<String, TreeMap<String, Long>> otuCountsBySample = new TreeMap<>();
-		for( final File file: files ) {
-			if( !file.getName().contains( "_" + Constants.OTU_COUNT + "_" ) )
-				throw new Exception( "Module input files must contain sample OTU counts with \"_" +
-					Constants.OTU_COUNT + "_\" as part of the file name.  Found file: " + file.getAbsolutePath() );
+		final TreeMap<String, File> sampleFiles = getSampleFiles( files );
+		for( final String sampleId: sampleFiles.keySet() )
+			otuCountsBySample.put( sampleId, compileSampleOtuCounts( sampleFiles.get( sampleId ) ) );
 
-			otuCountsBySample.put( getSampleId( file ), compileSampleOtuCounts( file ) );
-		}
+		return otuCountsBySample;
+	}
+
+	/**
+	 * Read the OTU counts of each sample file formatted and named as in
+	 * {@link biolockj.module.implicit.parser.ParserModule} output, storing each OTU once in the dictionary.
+	 * 
+	 * @param files Collection of OTU count files
+	 * @param dictionary OTU dictionary
+	 * @return TreeMap(SampleID, OtuCounts) OTU counts by sample
+	 * @throws Exception if any of the input file names are missing "_{@value biolockj.Constants#OTU_COUNT}_"
+	 */
+	public static TreeMap<String, OtuCounts> getSampleOtuCounts( final Collection<File> files,
+		final OtuDictionary dictionary ) throws Exception {
+		final TreeMap<String, OtuCounts> otuCountsBySample = new TreeMap<>();
+		final TreeMap<String, File> sampleFiles = getSampleFiles( files );
+		for( final String sampleId: sampleFiles.keySet() )
+			otuCountsBySample.put( sampleId, readOtuCounts( sampleFiles.get( sampleId ), dictionary ) );
 
 		return otuCountsBySample;
 	}
 
+	/**
+	 * Read the OTU counts of a sample OTU count file, storing each OTU once in the dictionary. If an OTU is listed more
+	 * than once, the last count is used.
+	 * 
+	 * @param file OTU count file
+	 * @param dictionary OTU dictionary
+	 * @return OTU counts, ordered by OTU name
+	 * @throws OtuFileException If the file is not formatted as an OTU file.
+	 * @throws IOException if unable to parse the input file
+	 */
+	public static OtuCounts readOtuCounts( final File file, final OtuDictionary dictionary )
+		throws OtuFileException, IOException {
+		final List<String> otus = new ArrayList<>();
+		final List<Long> counts = new ArrayList<>();
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final OtuCountLine ocl = new OtuCountLine( line );
+				otus.add( ocl.getOtu() );
+				counts.add( ocl.getCount() );
+			}
+		} finally {
+			reader.close();
+		}
+
+		final Integer[] order = new Integer[ otus.size() ];
+		for( int i = 0; i < order.length; i++ )
+			order[ i ] = i;
+		Arrays.sort( order, ( a, b ) -> otus.get( a ).compareTo( otus.get( b ) ) );
+
+		int size = 0;
+		final int[] ids = new int[ order.length ];
+		final long[] vals = new long[ order.length ];
+		for( int i = 0; i < order.length; i++ ) {
+			final String otu = otus.get( order[ i ] );
+			if( i + 1 < order.length && otu.equals( otus.get( order[ i + 1 ] ) ) ) continue;
+			ids[ size ] = dictionary.getId( otu );
+			vals[ size++ ] = counts.get( order[ i ] );
+		}
+
+		return new OtuCounts( dictionary, Arrays.copyOf( ids, size ), Arrays.copyOf( vals, size ) );
+	}
+
+	/**
+	 * Write the OTU counts of a sample in the OTU count file format: OTU + TAB + count on each line.
+	 * 
+	 * @param file OTU count file
+	 * @param otuCounts OTU counts
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeOtuCounts( final File file, final OtuCounts otuCounts ) throws IOException {
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			for( int i = 0; i < otuCounts.size(); i++ )
+				writer.write(
+					otuCounts.getOtu( i ) + Constants.TAB_DELIM + otuCounts.getCount( i ) + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+	}
+
 	/**
 	 * Check the file name and contents to determine if file is an OTU count file.
 	 * 
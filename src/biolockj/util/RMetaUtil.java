@@ -280,7 +280,7 @@ public final class RMetaUtil {
 	public static void verifyMetadataFieldsExist( final BioModule module, final String prop,
 		final Collection<String> fields ) throws Exception {
 		for( final String field: fields )
-			if( !MetaUtil.getFieldNames().contains( field ) && !isQiimeMetric( module, field ) )
+			if( !MetaUtil.hasColumn( field ) && !isQiimeMetric( module, field ) )
 				throw new Exception( "Config property [ " + prop + "] contians a field [" + field +
 					"] not found in metadata: " + MetaUtil.getPath() );
 	}
@@ -315,7 +315,7 @@ public final class RMetaUtil {
 	}
 
 	private static boolean isValidNumericField( final String field ) throws Exception {
-		if( field != null && MetaUtil.getFieldNames().contains( field ) ) {
+		if( field != null && MetaUtil.hasColumn( field ) ) {
 			final int count = MetaUtil.getUniqueFieldValues( field, true ).size();
 			if( count > 1 ) return true;
 			Log.warn( RMetaUtil.class, "Metadata field [" + field + "] has only " + count +
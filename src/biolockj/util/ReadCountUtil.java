@@ -0,0 +1,267 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+
+/**
+ * This utility counts the lines in sequence files by scanning raw bytes for newlines, without decoding any lines.
+ * <ul>
+ * <li>Plain files are memory-mapped and scanned directly
+ * <li>Gzipped files in the blocked gzip format written by bgzip are split into ranges of blocks that are inflated and
+ * scanned in parallel
+ * <li>Other gzipped files are inflated in a single stream with a large buffer
+ * </ul>
+ * Line counts are cached in the pipeline root directory, keyed by file path, size, and last modified time, so a
+ * restarted pipeline does not count the same file again.
+ */
+public class ReadCountUtil {
+
+	// Prevent instantiation
+	private ReadCountUtil() {}
+
+	/**
+	 * Count the lines in the file, as {@link java.io.BufferedReader#readLine()} would return them. A final line without
+	 * a trailing newline is counted.
+	 *
+	 * @param file Plain or gzipped file
+	 * @return Number of lines
+	 * @throws IOException if errors occur reading the file
+	 */
+	public static long countLines( final File file ) throws IOException {
+		final String key = file.getAbsolutePath();
+		final long size = file.length();
+		final long modified = file.lastModified();
+		final long[] cached = getCache().get( key );
+		if( cached != null && cached[ 0 ] == size && cached[ 1 ] == modified ) return cached[ 2 ];
+
+		final long numLines = SeqUtil.isGzipped( file.getName() ) ?
+			isBlockGzipped( file ) ? countBlockGzipLines( file ): countGzipLines( file ): countPlainLines( file );
+		saveCount( key, new long[] { size, modified, numLines } );
+		return numLines;
+	}
+
+	private static long countBlockGzipLines( final File file ) throws IOException {
+		final List<Long> blocks = new ArrayList<>();
+		final FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		try {
+			final ByteBuffer header = ByteBuffer.allocate( BGZF_HEADER_LEN ).order( ByteOrder.LITTLE_ENDIAN );
+			final long size = channel.size();
+			for( long pos = 0; pos < size; pos += getBlockSize( header ) ) {
+				header.clear();
+				channel.read( header, pos );
+				if( !isBlockHeader( header ) ) throw new IOException( "Invalid block gzip header at byte " + pos +
+					" of " + file.getAbsolutePath() );
+				blocks.add( pos );
+			}
+			blocks.add( size );
+
+			final int numParts = Math.min( blocks.size() - 1, Runtime.getRuntime().availableProcessors() );
+			final long[][] counts = new long[ numParts ][];
+			final IOException[] errors = new IOException[ 1 ];
+			IntStream.range( 0, numParts ).parallel().forEach( part -> {
+				try {
+					counts[ part ] = countBlockLines( channel, blocks, ( blocks.size() - 1 ) * part / numParts,
+						( blocks.size() - 1 ) * ( part + 1 ) / numParts );
+				} catch( final IOException ex ) {
+					errors[ 0 ] = ex;
+				}
+			} );
+			if( errors[ 0 ] != null ) throw errors[ 0 ];
+
+			long numLines = 0L;
+			int lastByte = NEW_LINE;
+			for( final long[] count: counts ) {
+				numLines += count[ 0 ];
+				if( count[ 1 ] >= 0 ) lastByte = (int) count[ 1 ];
+			}
+			return lastByte == NEW_LINE ? numLines: numLines + 1;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Inflate the blocks from index first (inclusive) to last (exclusive) and count their newlines.
+	 *
+	 * @return [ number of newlines, last byte or -1 if the blocks are empty ]
+	 */
+	private static long[] countBlockLines( final FileChannel channel, final List<Long> blocks, final int first,
+		final int last ) throws IOException {
+		final long start = blocks.get( first );
+		final MappedByteBuffer data =
+			channel.map( FileChannel.MapMode.READ_ONLY, start, blocks.get( last ) - start );
+		data.order( ByteOrder.LITTLE_ENDIAN );
+		final Inflater inflater = new Inflater( true );
+		final byte[] input = new byte[ BGZF_MAX_BLOCK ];
+		final byte[] output = new byte[ BGZF_MAX_BLOCK ];
+		long numLines = 0L;
+		long lastByte = -1L;
+		try {
+			for( int i = first; i < last; i++ ) {
+				final int offset = (int) ( blocks.get( i ) - start );
+				final int xlen = data.getShort( offset + 10 ) & 0xFFFF;
+				final int blockLen = (int) ( blocks.get( i + 1 ) - blocks.get( i ) );
+				final int dataLen = blockLen - 12 - xlen - 8;
+				data.position( offset + 12 + xlen );
+				data.get( input, 0, dataLen );
+				inflater.reset();
+				inflater.setInput( input, 0, dataLen );
+				int len = 0;
+				while( !inflater.finished() && len < output.length ) {
+					final int n = inflater.inflate( output, len, output.length - len );
+					if( n == 0 && ( inflater.needsInput() || inflater.needsDictionary() ) ) break;
+					len += n;
+				}
+				for( int j = 0; j < len; j++ )
+					if( output[ j ] == NEW_LINE ) numLines++;
+				if( len > 0 ) lastByte = output[ len - 1 ];
+			}
+		} catch( final DataFormatException ex ) {
+			throw new IOException( "Invalid block gzip data: " + ex.getMessage(), ex );
+		} finally {
+			inflater.end();
+		}
+		return new long[] { numLines, lastByte };
+	}
+
+	private static long countGzipLines( final File file ) throws IOException {
+		final InputStream in = new GZIPInputStream( new FileInputStream( file ), BUFFER_SIZE );
+		final byte[] buffer = new byte[ BUFFER_SIZE ];
+		long numLines = 0L;
+		int lastByte = NEW_LINE;
+		try {
+			for( int n = in.read( buffer ); n >= 0; n = in.read( buffer ) ) {
+				for( int i = 0; i < n; i++ )
+					if( buffer[ i ] == NEW_LINE ) numLines++;
+				if( n > 0 ) lastByte = buffer[ n - 1 ];
+			}
+		} finally {
+			in.close();
+		}
+		return lastByte == NEW_LINE ? numLines: numLines + 1;
+	}
+
+	private static long countPlainLines( final File file ) throws IOException {
+		final FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		long numLines = 0L;
+		int lastByte = NEW_LINE;
+		try {
+			final long size = channel.size();
+			for( long pos = 0; pos < size; pos += MAX_MAP_SIZE ) {
+				final MappedByteBuffer data =
+					channel.map( FileChannel.MapMode.READ_ONLY, pos, Math.min( MAX_MAP_SIZE, size - pos ) );
+				final int limit = data.limit();
+				for( int i = 0; i < limit; i++ )
+					if( data.get( i ) == NEW_LINE ) numLines++;
+				if( limit > 0 ) lastByte = data.get( limit - 1 );
+			}
+		} finally {
+			channel.close();
+		}
+		return lastByte == NEW_LINE ? numLines: numLines + 1;
+	}
+
+	private static int getBlockSize( final ByteBuffer header ) {
+		return ( header.getShort( 16 ) & 0xFFFF ) + 1;
+	}
+
+	private static synchronized Map<String, long[]> getCache() {
+		if( cache == null ) {
+			cache = new ConcurrentHashMap<>();
+			final File file = getCacheFile();
+			if( file != null && file.isFile() ) try {
+				final BufferedReader reader = new BufferedReader( new FileReader( file ) );
+				try {
+					for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+						final String[] cols = line.split( TAB );
+						if( cols.length == 4 ) cache.put( cols[ 0 ], new long[] { Long.parseLong( cols[ 1 ] ),
+							Long.parseLong( cols[ 2 ] ), Long.parseLong( cols[ 3 ] ) } );
+					}
+				} finally {
+					reader.close();
+				}
+			} catch( final Exception ex ) {
+				Log.warn( ReadCountUtil.class, "Ignoring read count cache: " + file.getAbsolutePath() + " --> " +
+					ex.getMessage() );
+			}
+		}
+		return cache;
+	}
+
+	private static File getCacheFile() {
+		final String pipelinePath = Config.pipelinePath();
+		return pipelinePath == null ? null: new File( pipelinePath + File.separator + CACHE_FILE );
+	}
+
+	private static boolean isBlockGzipped( final File file ) throws IOException {
+		final FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		try {
+			final ByteBuffer header = ByteBuffer.allocate( BGZF_HEADER_LEN );
+			return channel.read( header, 0 ) == BGZF_HEADER_LEN && isBlockHeader( header );
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Check for the gzip member header of a bgzip block: gzip magic, deflate method, FEXTRA flag, and a "BC" extra
+	 * subfield that holds the block size.
+	 */
+	private static boolean isBlockHeader( final ByteBuffer header ) {
+		return header.position() == BGZF_HEADER_LEN && ( header.get( 0 ) & 0xFF ) == 0x1F &&
+			( header.get( 1 ) & 0xFF ) == 0x8B && header.get( 2 ) == 8 && ( header.get( 3 ) & 4 ) != 0 &&
+			header.get( 12 ) == 'B' && header.get( 13 ) == 'C' && header.get( 14 ) == 2 && header.get( 15 ) == 0;
+	}
+
+	private static synchronized void saveCount( final String key, final long[] count ) {
+		getCache().put( key, count );
+		final File file = getCacheFile();
+		if( file != null ) try {
+			final BufferedWriter writer = new BufferedWriter( new FileWriter( file, true ) );
+			try {
+				writer.write( key + TAB + count[ 0 ] + TAB + count[ 1 ] + TAB + count[ 2 ] + RETURN );
+			} finally {
+				writer.close();
+			}
+		} catch( final IOException ex ) {
+			Log.warn( ReadCountUtil.class, "Unable to save read count to cache: " + file.getAbsolutePath() +
+				" --> " + ex.getMessage() );
+		}
+	}
+
+	/**
+	 * Name of the line count cache file in the pipeline root directory: {@value #CACHE_FILE}
+	 */
+	public static final String CACHE_FILE = ".readCounts";
+
+	private static final int BGZF_HEADER_LEN = 18;
+	private static final int BGZF_MAX_BLOCK = 1 << 16;
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final long MAX_MAP_SIZE = 1L << 30;
+	private static final byte NEW_LINE = '\n';
+	private static final String RETURN = Constants.RETURN;
+	private static final String TAB = Constants.TAB_DELIM;
+	private static Map<String, long[]> cache = null;
+}
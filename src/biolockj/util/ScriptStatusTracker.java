@@ -0,0 +1,194 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import biolockj.Constants;
+import biolockj.Log;
+
+/**
+ * Tracks the {@value biolockj.Constants#SCRIPT_STARTED}, {@value biolockj.Constants#SCRIPT_SUCCESS} and
+ * {@value biolockj.Constants#SCRIPT_FAILURES} indicator files of a set of worker scripts.<br>
+ * The script directory is listed once when the tracker is created. After that, a
+ * {@link java.nio.file.WatchService} reports new indicator files as they are created, so
+ * {@link #awaitChange(long)} returns as soon as a worker changes status. File system events are not reported for
+ * every file system (such as changes made on another host of a network file system), so the directory is listed
+ * again each time {@link #awaitChange(long)} times out. If the file system does not support a WatchService, the
+ * directory is listed on a polling interval that doubles while no status changes, up to the given maximum wait.
+ */
+public class ScriptStatusTracker implements Closeable {
+
+	/**
+	 * Start tracking the worker scripts.
+	 *
+	 * @param scriptDir Directory that holds the worker scripts and their indicator files
+	 * @param workerScripts Worker scripts
+	 */
+	public ScriptStatusTracker( final File scriptDir, final Collection<File> workerScripts ) {
+		this.scriptDir = scriptDir;
+		for( final File script: workerScripts )
+			this.scripts.put( script.getName(), script );
+
+		WatchService watchService = null;
+		try {
+			watchService = scriptDir.toPath().getFileSystem().newWatchService();
+			scriptDir.toPath().register( watchService, StandardWatchEventKinds.ENTRY_CREATE );
+		} catch( final IOException | UnsupportedOperationException ex ) {
+			Log.warn( getClass(), "Unable to watch " + scriptDir.getAbsolutePath() +
+				" for script status changes, poll the directory instead --> " + ex.getMessage() );
+			close( watchService );
+			watchService = null;
+		}
+		this.watchService = watchService;
+		refresh();
+	}
+
+	/**
+	 * Wait until an indicator file is created, or until maxMillis have passed.
+	 *
+	 * @param maxMillis Maximum time to wait in milliseconds
+	 * @return TRUE if the status of any worker script changed
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public boolean awaitChange( final long maxMillis ) throws InterruptedException {
+		final int numChanges = this.numChanges;
+		if( this.watchService != null ) {
+			WatchKey key = this.watchService.poll( maxMillis, TimeUnit.MILLISECONDS );
+			if( key == null ) refresh();
+			while( key != null ) {
+				for( final WatchEvent<?> event: key.pollEvents() )
+					if( event.kind() == StandardWatchEventKinds.OVERFLOW ) refresh();
+					else record( event.context().toString() );
+				key.reset();
+				key = this.watchService.poll();
+			}
+		} else {
+			Thread.sleep( Math.min( this.pollMillis, maxMillis ) );
+			refresh();
+			this.pollMillis = numChanges == this.numChanges ? Math.min( 2 * this.pollMillis, maxMillis ): MIN_POLL_MILLIS;
+		}
+		return numChanges != this.numChanges;
+	}
+
+	@Override
+	public void close() {
+		close( this.watchService );
+	}
+
+	/**
+	 * Get the number of worker scripts with a {@value biolockj.Constants#SCRIPT_FAILURES} indicator file.
+	 *
+	 * @return Number of failed scripts
+	 */
+	public int getNumFailed() {
+		return this.failed.size();
+	}
+
+	/**
+	 * Get the number of worker scripts tracked.
+	 *
+	 * @return Number of scripts
+	 */
+	public int getNumScripts() {
+		return this.scripts.size();
+	}
+
+	/**
+	 * Get the number of worker scripts with a {@value biolockj.Constants#SCRIPT_STARTED} indicator file.
+	 *
+	 * @return Number of started scripts
+	 */
+	public int getNumStarted() {
+		return this.started.size();
+	}
+
+	/**
+	 * Get the number of worker scripts with a {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file.
+	 *
+	 * @return Number of successful scripts
+	 */
+	public int getNumSuccess() {
+		return this.success.size();
+	}
+
+	/**
+	 * Get the worker scripts that have started but have neither succeeded nor failed.
+	 *
+	 * @return Running worker scripts
+	 */
+	public List<File> getRunningScripts() {
+		final List<File> running = new ArrayList<>();
+		for( final String name: this.started )
+			if( !this.success.contains( name ) && !this.failed.contains( name ) ) running.add( this.scripts.get( name ) );
+		return running;
+	}
+
+	/**
+	 * Create the {@value biolockj.Constants#SCRIPT_FAILURES} indicator file for a worker script that stopped without
+	 * reporting its status, unless its {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file has since been
+	 * created.
+	 *
+	 * @param script Worker script
+	 * @throws IOException if unable to create the indicator file
+	 */
+	public void markFailed( final File script ) throws IOException {
+		final File success = new File( script.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS );
+		if( success.isFile() ) record( success.getName() );
+		else {
+			final File failure = new File( script.getAbsolutePath() + "_" + Constants.SCRIPT_FAILURES );
+			failure.createNewFile();
+			record( failure.getName() );
+		}
+	}
+
+	/**
+	 * List the script directory and record every indicator file found.
+	 */
+	public void refresh() {
+		final String[] names = this.scriptDir.list();
+		if( names != null ) for( final String name: names )
+			record( name );
+	}
+
+	private void record( final String fileName ) {
+		final int index = fileName.lastIndexOf( "_" );
+		if( index < 0 || !this.scripts.containsKey( fileName.substring( 0, index ) ) ) return;
+		final String script = fileName.substring( 0, index );
+		final String flag = fileName.substring( index + 1 );
+		final boolean isNew = flag.equals( Constants.SCRIPT_STARTED ) ? this.started.add( script ):
+			flag.equals( Constants.SCRIPT_SUCCESS ) ? this.success.add( script ):
+				flag.equals( Constants.SCRIPT_FAILURES ) ? this.failed.add( script ): false;
+		if( isNew ) this.numChanges++;
+	}
+
+	private static void close( final WatchService watchService ) {
+		if( watchService != null ) try {
+			watchService.close();
+		} catch( final IOException ex ) {
+			Log.warn( ScriptStatusTracker.class, "Unable to close script status watch service --> " + ex.getMessage() );
+		}
+	}
+
+	private final Set<String> failed = new HashSet<>();
+	private int numChanges = 0;
+	private long pollMillis = MIN_POLL_MILLIS;
+	private final File scriptDir;
+	private final Map<String, File> scripts = new HashMap<>();
+	private final Set<String> started = new HashSet<>();
+	private final Set<String> success = new HashSet<>();
+	private final WatchService watchService;
+
+	private static final long MIN_POLL_MILLIS = 1000L;
+}
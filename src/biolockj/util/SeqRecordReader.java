@@ -0,0 +1,227 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads fasta or fastq records from a sequence file without decoding lines into Strings.<br>
+ * The file is read into a reusable byte buffer, directly from a {@link java.nio.channels.FileChannel} for plain files
+ * or through a {@link java.util.zip.GZIPInputStream} with a large inflater buffer for gzipped files. Each call to
+ * {@link #next()} locates the lines of the next record in the buffer, which are exposed as byte slices with
+ * {@link #getBuffer()}, {@link #getStart(int)} and {@link #getLength(int)}. Line terminators, including a carriage
+ * return before the newline, are not part of a line.<br>
+ * The buffer contents change on every call to {@link #next()}, so callers that keep a record must copy it with
+ * {@link #copyRecord()} or {@link #getLine(int)}. A partial record at the end of the file is ignored, so
+ * {@link #getNumRecords()} matches the number of lines divided by the number of lines per read.
+ */
+public class SeqRecordReader implements Closeable {
+
+	/**
+	 * Open a reader for the sequence file, with {@link SeqUtil#getNumLinesPerRead()} lines per record.
+	 *
+	 * @param file Sequence file, may be gzipped
+	 * @throws Exception if unable to open the file or determine the sequence format
+	 */
+	public SeqRecordReader( final File file ) throws Exception {
+		this( file, SeqUtil.getNumLinesPerRead() );
+	}
+
+	/**
+	 * Open a reader for the sequence file.
+	 *
+	 * @param file Sequence file, may be gzipped
+	 * @param numLinesPerRecord Number of lines per record (fasta=2, fastq=4)
+	 * @throws IOException if unable to open the file
+	 */
+	public SeqRecordReader( final File file, final int numLinesPerRecord ) throws IOException {
+		this.channel = SeqUtil.isGzipped( file.getName() ) ?
+			Channels.newChannel( new GZIPInputStream( new FileInputStream( file ), BUFFER_SIZE ) ):
+			FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		this.starts = new int[ numLinesPerRecord ];
+		this.lengths = new int[ numLinesPerRecord ];
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * Copy the current record, each line followed by {@value biolockj.Constants#RETURN}.
+	 *
+	 * @return Record bytes
+	 */
+	public byte[] copyRecord() {
+		int size = 0;
+		for( final int length: this.lengths )
+			size += length + 1;
+		final byte[] record = new byte[ size ];
+		int pos = 0;
+		for( int i = 0; i < this.starts.length; i++ ) {
+			System.arraycopy( this.buffer, this.starts[ i ], record, pos, this.lengths[ i ] );
+			pos += this.lengths[ i ];
+			record[ pos++ ] = NEW_LINE;
+		}
+		return record;
+	}
+
+	/**
+	 * Get the buffer that holds the current record.
+	 *
+	 * @return Byte buffer
+	 */
+	public byte[] getBuffer() {
+		return this.buffer;
+	}
+
+	/**
+	 * Get the sequence header of the current record, as returned by {@link SeqUtil#getHeader(String)}.
+	 *
+	 * @return Sequence header
+	 */
+	public String getHeader() {
+		return SeqUtil.getHeader( getLine( 0 ) );
+	}
+
+	/**
+	 * Get the number of bytes in a line of the current record.
+	 *
+	 * @param line Line index in the record
+	 * @return Line length
+	 */
+	public int getLength( final int line ) {
+		return this.lengths[ line ];
+	}
+
+	/**
+	 * Decode a line of the current record.
+	 *
+	 * @param line Line index in the record
+	 * @return Line
+	 */
+	public String getLine( final int line ) {
+		return new String( this.buffer, this.starts[ line ], this.lengths[ line ], StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * Get the number of records read so far.
+	 *
+	 * @return Number of records
+	 */
+	public long getNumRecords() {
+		return this.numRecords;
+	}
+
+	/**
+	 * Get the buffer index of the first byte of a line of the current record.
+	 *
+	 * @param line Line index in the record
+	 * @return Start index
+	 */
+	public int getStart( final int line ) {
+		return this.starts[ line ];
+	}
+
+	/**
+	 * Read the next record.
+	 *
+	 * @return TRUE if a complete record was read, FALSE at the end of the file
+	 * @throws IOException if errors occur reading the file
+	 */
+	public boolean next() throws IOException {
+		this.recordStart = this.pos;
+		for( int line = 0; line < this.starts.length; line++ ) {
+			int end = indexOfNewLine( this.pos );
+			while( end < 0 )
+				if( this.eof ) {
+					if( this.pos == this.limit ) return false;
+					end = this.limit;
+				} else {
+					fill();
+					end = indexOfNewLine( this.pos );
+				}
+
+			this.starts[ line ] = this.pos;
+			this.lengths[ line ] = end > this.pos && this.buffer[ end - 1 ] == CARRIAGE_RETURN ? end - 1 - this.pos:
+				end - this.pos;
+			this.pos = Math.min( end + 1, this.limit );
+		}
+
+		this.numRecords++;
+		return true;
+	}
+
+	/**
+	 * Write the current record, each line followed by {@value biolockj.Constants#RETURN}.
+	 *
+	 * @param out Output stream
+	 * @throws IOException if errors occur writing the record
+	 */
+	public void writeRecord( final OutputStream out ) throws IOException {
+		for( int i = 0; i < this.starts.length; i++ ) {
+			out.write( this.buffer, this.starts[ i ], this.lengths[ i ] );
+			out.write( NEW_LINE );
+		}
+	}
+
+	/**
+	 * Fill the buffer after {@link #limit}. The current record is first moved to the start of the buffer, and the
+	 * buffer grows if the record already fills it.
+	 */
+	private void fill() throws IOException {
+		if( this.recordStart > 0 ) {
+			final int shift = this.recordStart;
+			System.arraycopy( this.buffer, shift, this.buffer, 0, this.limit - shift );
+			for( int i = 0; i < this.starts.length; i++ )
+				this.starts[ i ] -= shift;
+			this.limit -= shift;
+			this.pos -= shift;
+			this.recordStart = 0;
+		} else if( this.limit == this.buffer.length ) this.buffer = Arrays.copyOf( this.buffer, 2 * this.buffer.length );
+
+		final ByteBuffer bb = ByteBuffer.wrap( this.buffer, this.limit, this.buffer.length - this.limit );
+		while( bb.hasRemaining() )
+			if( this.channel.read( bb ) < 0 ) {
+				this.eof = true;
+				break;
+			}
+		this.limit = bb.position();
+	}
+
+	private int indexOfNewLine( final int from ) {
+		final byte[] buf = this.buffer;
+		for( int i = from; i < this.limit; i++ )
+			if( buf[ i ] == NEW_LINE ) return i;
+		return -1;
+	}
+
+	private byte[] buffer = new byte[ BUFFER_SIZE ];
+	private final ReadableByteChannel channel;
+	private boolean eof = false;
+	private final int[] lengths;
+	private int limit = 0;
+	private long numRecords = 0L;
+	private int pos = 0;
+	private int recordStart = 0;
+	private final int[] starts;
+
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final byte CARRIAGE_RETURN = '\r';
+	private static final byte NEW_LINE = '\n';
+}
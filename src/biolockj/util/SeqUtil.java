@@ -14,6 +14,7 @@ package biolockj.util;
 import java.io.BufferedReader;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
@@ -30,20 +31,14 @@ public class SeqUtil {
 
 	/**
 	 * Method counts number of reads in the given sequence file by counting the number of lines and dividing by the
-	 * number of lines/sample (fasta=2, fastq=4)
+	 * number of lines/sample (fasta=2, fastq=4). Lines are counted by {@link ReadCountUtil#countLines(File)}.
 	 * 
 	 * @param seqFile Sequence file
 	 * @return Number of reads in seqFile
 	 * @throws Exception if errors occur
 	 */
 	public static long countNumReads( final File seqFile ) throws Exception {
-		long count = 0;
-		final BufferedReader r = BioLockJUtil.getFileReader( seqFile );
-		for( String line = r.readLine(); line != null; line = r.readLine() )
-			count++;
-		r.close();
-
-		return count / getNumLinesPerRead();
+		return ReadCountUtil.countLines( seqFile ) / getNumLinesPerRead();
 	}
 
 	/**
@@ -74,11 +69,10 @@ public class SeqUtil {
 	 */
 	public static Set<String> getHeaders( final File seq ) throws Exception {
 		final Set<String> headers = new HashSet<>();
-		final BufferedReader reader = BioLockJUtil.getFileReader( seq );
-		int lineCounter = 1;
+		final SeqRecordReader reader = new SeqRecordReader( seq );
 		try {
-			for( String line = reader.readLine(); line != null; line = reader.readLine() )
-				if( lineCounter++ % getNumLinesPerRead() == 1 ) headers.add( getHeader( line ) );
+			while( reader.next() )
+				headers.add( reader.getHeader() );
 		} finally {
 			reader.close();
 		}
@@ -242,8 +236,9 @@ public class SeqUtil {
 
 		if( id.endsWith( Constants.PROCESSED ) ) return id.replace( Constants.PROCESSED, "" );
 
-		final String fwReadSuffix = Config.getString( null, Constants.INPUT_FORWARD_READ_SUFFIX );
-		final String rvReadSuffix = Config.getString( null, Constants.INPUT_REVERSE_READ_SUFFIX );
+		final ConfigSnapshot config = ConfigSnapshot.getPipelineSnapshot();
+		final String fwReadSuffix = config.getString( Constants.INPUT_FORWARD_READ_SUFFIX );
+		final String rvReadSuffix = config.getString( Constants.INPUT_REVERSE_READ_SUFFIX );
 
 		if( !isForwardRead( id ) ) {
 			final int rvIndex = value.lastIndexOf( rvReadSuffix );
@@ -260,8 +255,8 @@ public class SeqUtil {
 			id = id.substring( 0, id.length() - 6 );
 
 		// trim user defined file prefix and/or suffix patterns
-		final String trimPrefix = Config.getString( null, Constants.INPUT_TRIM_PREFIX );
-		final String trimSuffix = Config.getString( null, Constants.INPUT_TRIM_SUFFIX );
+		final String trimPrefix = config.getString( Constants.INPUT_TRIM_PREFIX );
+		final String trimSuffix = config.getString( Constants.INPUT_TRIM_SUFFIX );
 		if( trimPrefix != null && id.indexOf( trimPrefix ) > -1 )
 			id = id.substring( trimPrefix.length() + id.indexOf( trimPrefix ) );
 
@@ -272,14 +267,29 @@ public class SeqUtil {
 		return id;
 	}
 	
+	/**
+	 * Get the Sample ID of a file, from the metadata file name column(s) if the file is listed, otherwise from
+	 * {@link #getSampleIdFromString(String)}.<br>
+	 * Sample IDs are cached by file name, so each file name is only resolved once. Cached IDs are resolved again after
+	 * any {@link biolockj.Config} property changes, since the read suffix and trim properties change the result.
+	 * 
+	 * @param file File
+	 * @return Sample ID
+	 * @throws Exception if unable to determine the Sample ID
+	 */
 	public static String getSampleId( final File file ) throws ConfigFormatException, SequnceFormatException, Exception  {
-		Log.debug(SeqUtil.class, "Determining which sample this file belongs to: " + file.getName());
+		final int revision = Config.getRevision();
+		final Map.Entry<Integer, String> cached = sampleIdCache.get( file.getName() );
+		if( cached != null && cached.getKey() == revision ) return cached.getValue();
+
+		Log.debug( SeqUtil.class, "Determining which sample this file belongs to: {}", file.getName() );
 		String id = MetaUtil.getSampleId( file );
 		if( id == null ) {
 			id = getSampleIdFromString( file.getName() );
 			if (id != null) MetaUtil.setSampleId( file, id );
 		}
-		Log.debug(SeqUtil.class, "The file [" + file.getName() + "] belongs to sample [" + id + "].");
+		Log.debug( SeqUtil.class, "The file [{}] belongs to sample [{}].", file.getName(), id );
+		sampleIdCache.put( file.getName(), new AbstractMap.SimpleImmutableEntry<>( revision, id ) );
 		return id;
 	}
 
@@ -300,7 +310,7 @@ public class SeqUtil {
 			for( final File file: files )
 				try {
 					if( isSeqFile( file ) && !isMultiplexed() && MetaUtil.exists() &&
-						!MetaUtil.getSampleIds().contains( getSampleId( file ) ) ) {
+						!MetaUtil.hasSampleId( getSampleId( file ) ) ) {
 						seqsWithoutMetaId.add( file );
 						Log.info( SeqUtil.class, "The file \"" + file.getName() + "\" -> sample id [" +
 							getSampleId( file ) + "] is not in the metadata." );
@@ -344,7 +354,7 @@ public class SeqUtil {
 	 * @throws ConfigNotFoundException if property is undefined
 	 */
 	public static String getSeqType() throws ConfigNotFoundException {
-		return Config.requireString( null, Constants.INTERNAL_SEQ_TYPE ).toLowerCase();
+		return ConfigSnapshot.getPipelineSnapshot().requireString( Constants.INTERNAL_SEQ_TYPE ).toLowerCase();
 	}
 
 	/**
@@ -411,7 +421,7 @@ public class SeqUtil {
 	 * @return TRUE for unpaired or forward reads
 	 */
 	public static boolean isForwardRead( final String name ) {
-		final String suffix = Config.getString( null, Constants.INPUT_REVERSE_READ_SUFFIX );
+		final String suffix = ConfigSnapshot.getPipelineSnapshot().getString( Constants.INPUT_REVERSE_READ_SUFFIX );
 		if( suffix != null && name.contains( suffix ) ) return false;
 		return true;
 	}
@@ -434,7 +444,7 @@ public class SeqUtil {
 	 * @throws ConfigFormatException if property assignment is invalid
 	 */
 	public static Boolean isMultiplexed() throws ConfigFormatException {
-		return Config.getBoolean( null, Constants.INTERNAL_MULTIPLEXED );
+		return ConfigSnapshot.getPipelineSnapshot().getBoolean( Constants.INTERNAL_MULTIPLEXED );
 	}
 
 	/**
@@ -810,6 +820,7 @@ public class SeqUtil {
 	private static final Map<String, Boolean> fileSeqMap = new HashMap<>();
 	private static final Integer MAX_DISPLAY_LEN = 200;
 	private static Integer numMultiSeqLines = 0;
+	private static final Map<String, Map.Entry<Integer, String>> sampleIdCache = new ConcurrentHashMap<>();
 	static {
 		// IUPAC DNA BASE Substitutions
 		// http://www.dnabaser.com/articles/IUPAC%20ambiguity%20codes.html
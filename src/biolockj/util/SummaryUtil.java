@@ -344,7 +344,8 @@ public class SummaryUtil {
 	 * <ul>
 	 * <li>Number of output files
 	 * <li>Mean output file size
-	 * <li>Path of new metadata file if any created
+	 * <li>Path of new metadata file if any created, or of the column file of metadata changes not yet written to a
+	 * metadata file
 	 * </ul>
 	 *
 	 * @param module BioModule to summarize
@@ -353,13 +354,15 @@ public class SummaryUtil {
 	public static String getOutputDirSummary( final BioModule module ) {
 		final StringBuffer sb = new StringBuffer();
 		try {
-			if( module.getOutputDir().listFiles().length == 0 ) return "# Files Output:  0" + RETURN;
 			final Collection<File> outFiles =
 				FileUtils.listFiles( module.getOutputDir(), HiddenFileFilter.VISIBLE, HiddenFileFilter.VISIBLE );
+			if( outFiles.isEmpty() && !hasColumnFile( module ) ) return "# Files Output:  0" + RETURN;
 			int count = outFiles.size();
-			BigInteger outAvg = FileUtils.sizeOfAsBigInteger( module.getOutputDir() );
+			BigInteger outAvg = BigInteger.valueOf( 0 );
+			for( final File file: outFiles )
+				outAvg = outAvg.add( FileUtils.sizeOfAsBigInteger( file ) );
 			final File newMeta = module.getMetadata();
-			if( newMeta.isFile() && module.getOutputDir().listFiles().length > 1 ) {
+			if( newMeta.isFile() && count > 1 ) {
 				count--;
 				outAvg = outAvg.subtract( FileUtils.sizeOfAsBigInteger( newMeta ) );
 			}
@@ -369,7 +372,9 @@ public class SummaryUtil {
 
 			sb.append( "# Files Output:  " + count + RETURN );
 			sb.append( "Mean Output File Size:  " + FileUtils.byteCountToDisplaySize( outAvg ) + RETURN );
-			sb.append( newMeta.isFile() ? "New metadata: " + newMeta.getAbsolutePath() + RETURN: "" );
+			if( newMeta.isFile() ) sb.append( "New metadata: " + newMeta.getAbsolutePath() + RETURN );
+			else if( hasColumnFile( module ) ) sb.append(
+				"New metadata columns: " + MetaUtil.getColumnFile( newMeta ).getAbsolutePath() + RETURN );
 
 		} catch( final Exception ex ) {
 			final String msg =
@@ -794,6 +799,10 @@ public class SummaryUtil {
 		return new File( Config.pipelinePath() + File.separator + TEMP_SUMMARY_FILE );
 	}
 
+	private static boolean hasColumnFile( final BioModule module ) {
+		return MetaUtil.getColumnFile( module.getMetadata() ).isFile();
+	}
+
 	private static String spacedWord( final String word, final int gap ) {
 		final StringBuffer sb = new StringBuffer();
 		for( final char i: word.toCharArray() )
@@ -171,18 +171,22 @@ public class TaxaUtil {
 
 	/**
 	 * Return taxa levels from top to bottom level, including in-between levels not configured as part of
-	 * {@value Constants#REPORT_TAXONOMY_LEVELS}
+	 * {@value Constants#REPORT_TAXONOMY_LEVELS}<br>
+	 * The list is built once and published complete, since parser threads may call this method at the same time.
 	 * 
-	 * @return List of taxonomy levels
+	 * @return Unmodifiable list of taxonomy levels
 	 */
 	public static List<String> getTaxaLevelSpan() {
-		if( levelSpan != null ) return levelSpan;
-		levelSpan = new ArrayList<>();
+		List<String> span = levelSpan;
+		if( span != null ) return span;
+		final List<String> levels = new ArrayList<>();
 		for( final String level: allTaxonomyLevels() ) {
-			if( !levelSpan.isEmpty() || level.equals( topTaxaLevel() ) ) levelSpan.add( level );
+			if( !levels.isEmpty() || level.equals( topTaxaLevel() ) ) levels.add( level );
 			if( level.equals( bottomTaxaLevel() ) ) break;
 		}
-		return levelSpan;
+		span = Collections.unmodifiableList( levels );
+		levelSpan = span;
+		return span;
 	}
 
 	/**
@@ -358,6 +362,7 @@ public class TaxaUtil {
 
 	/**
 	 * Read a table of counts, formatted with samples as rows (ids in first column) and taxa as columns (ids in header).
+	 * If the table has a valid binary file saved by {@link biolockj.util.BinaryTableUtil}, it is read instead.
 	 * @param taxaTable
 	 * @return Map linking sample name to map that links taxa IDs to value.
 	 * @throws FileNotFoundException
@@ -365,6 +370,8 @@ public class TaxaUtil {
 	 * @throws BioLockJException
 	 */
 	public static TaxaLevelTable readTaxaTable(final File taxaTable) throws FileNotFoundException, IOException, BioLockJException{
+		final TaxaLevelTable binaryData = BinaryTableUtil.readTable( taxaTable );
+		if( binaryData != null ) return binaryData;
 		TaxaLevelTable data = new TaxaLevelTable(TaxaUtil.getTaxonomyTableLevel( taxaTable ));
 		final List<String> otuNames = new ArrayList<>();
 		boolean foundBigValues = false;
@@ -372,25 +379,27 @@ public class TaxaUtil {
 		final BufferedReader reader = BioLockJUtil.getFileReader( taxaTable );
 		try {
 			otuNames.addAll( getOtuNames( reader.readLine() ) );
+			final int[] columns = new int[ otuNames.size() ];
+			for( int i = 0; i < columns.length; i++ ) columns[ i ] = data.addTaxon( otuNames.get( i ) );
 			String nextLine = reader.readLine();
 
 			while( nextLine != null ) {
 				final StringTokenizer st = new StringTokenizer( nextLine, DELIM );
 				final String sampleID = st.nextToken();
-				final HashMap<String, Double> rowValues = data.newSampleRow( sampleID );
+				final int row = data.newSampleRow( sampleID );
 				int i = 0;
 				while( st.hasMoreTokens() ) {
 					final String nextToken = st.nextToken();
 					if( nextToken.length() > 0 ) {
-						Double cellValue = new Double( nextToken );
+						final double cellValue = Double.parseDouble( nextToken );
 						if ( (cellValue + 1) <= cellValue ) foundBigValues = true;
-						rowValues.put( otuNames.get( i ), cellValue);
+						data.setValue( row, columns[ i ], cellValue );
 					}
 					i++;
 				}
-				if ( rowValues.size() != otuNames.size() ) {
+				if ( i != otuNames.size() || data.numTaxa() != otuNames.size() ) {
 					throw new BioLockJException("Header included [" + otuNames.size() + "] taxa, but the row for sample [" + 
-				sampleID + "] has [" + rowValues.size() + "] values.");
+				sampleID + "] has [" + Math.min( i, data.numTaxa() ) + "] values.");
 				}
 
 				nextLine = reader.readLine();
@@ -435,15 +444,22 @@ public class TaxaUtil {
 
 		for( final String s: taxaNames ) writer.write( DELIM + s );
 
+		final int[] columns = new int[ taxaNames.size() ];
+		for( int i = 0; i < columns.length; i++ ) columns[ i ] = taxaCounts.getTaxonIndex( taxaNames.get( i ) );
+
 		for( String sampleID : sampleNames ) {
 			writer.write( Constants.RETURN );
 			writer.write( sampleID );
-			for( String taxaID : taxaNames ) {
-				writer.write( DELIM + taxaCounts.get( sampleID ).get( taxaID ) );
+			final int row = taxaCounts.getSampleIndex( sampleID );
+			for( int i = 0; i < columns.length; i++ ) {
+				writer.write( DELIM );
+				writer.write( columns[ i ] >= 0 && taxaCounts.hasValue( row, columns[ i ] ) ?
+					Double.toString( taxaCounts.getValue( row, columns[ i ] ) ): "null" );
 			}	
 		}
 
 		writer.close();
+		if( BinaryTableUtil.isEnabled() ) BinaryTableUtil.writeTable( outFile, sampleNames, taxaNames, taxaCounts );
 	}
 	
 	public static void writeDataToFile( final File outFile, final TaxaLevelTable taxaCounts ) throws Exception {
@@ -463,7 +479,7 @@ public class TaxaUtil {
 
 	private static String bottomLevel = null;
 	private static List<String> configLevels = null;
-	private static List<String> levelSpan = null;
+	private static volatile List<String> levelSpan = null;
 	private static final List<String> TAXA_LEVELS = Arrays.asList( Constants.DOMAIN, Constants.PHYLUM, Constants.CLASS,
 		Constants.ORDER, Constants.FAMILY, Constants.GENUS, Constants.SPECIES );
 	private static String topLevel = null;
@@ -0,0 +1,273 @@
+/**
+ * @UNCC Fodor Lab
+ * @date Oct 18, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.util.*;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.module.ScriptModule;
+import biolockj.module.implicit.RegisterNumReads;
+
+/**
+ * This utility assigns the per-sample script lines of a {@link biolockj.module.ScriptModule} to worker scripts so that
+ * each worker gets about the same amount of work, instead of the same number of samples.<br>
+ * Each sample is one input file, or a forward and reverse read file pair that always stays in one worker. Its cost is
+ * the number of reads registered in the metadata by {@link biolockj.module.implicit.RegisterNumReads} if every sample
+ * has one, otherwise the total size of its files. Samples are assigned in order of decreasing cost, each to the worker
+ * with the lowest total cost so far (longest processing time first).<br>
+ * The predicted cost of each worker is saved in the module script directory and reported in the module summary.
+ */
+public class WorkerBatchUtil {
+
+	/**
+	 * Script lines and predicted cost of one worker script.
+	 */
+	public static class Batch {
+
+		/**
+		 * Construct an empty batch.
+		 *
+		 * @param index Worker index, used to break ties between batches with the same cost
+		 * @param unit Unit of the predicted cost
+		 */
+		Batch( final int index, final String unit ) {
+			this.index = index;
+			this.unit = unit;
+		}
+
+		/**
+		 * Get the script lines of each sample in the batch.
+		 *
+		 * @return Script lines per sample
+		 */
+		public List<List<String>> getData() {
+			return this.data;
+		}
+
+		/**
+		 * Get the predicted cost of the batch.
+		 *
+		 * @return Number of reads or bytes
+		 */
+		public long getLoad() {
+			return this.load;
+		}
+
+		/**
+		 * Get the unit of the predicted cost.
+		 *
+		 * @return "reads" or "bytes"
+		 */
+		public String getUnit() {
+			return this.unit;
+		}
+
+		private final List<List<String>> data = new ArrayList<>();
+		private final SortedSet<Integer> entries = new TreeSet<>();
+		private final int index;
+		private long load = 0L;
+		private final String unit;
+	}
+
+	// Prevent instantiation
+	private WorkerBatchUtil() {}
+
+	/**
+	 * Assign the script lines of each sample to worker batches if
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_BALANCE_WORKERS}={@value biolockj.Constants#TRUE}.
+	 * Each data element must reference the input files of exactly one sample by name, otherwise null is returned and
+	 * the caller should batch by sample count. Script lines keep their original order within a batch, and the batch
+	 * that holds the last data element is returned last, so lines that expect to run after all other samples in
+	 * sequential execution still do.
+	 *
+	 * @param module ScriptModule
+	 * @param data Script lines per sample, as returned by {@link biolockj.module.ScriptModule#buildScript(List)}
+	 * @return Worker batches, or null if the data cannot be balanced
+	 * @throws Exception if errors occur reading the module configuration, input files, or metadata
+	 */
+	public static List<Batch> getBatches( final ScriptModule module, final List<List<String>> data )
+		throws Exception {
+		if( !Config.getBoolean( module, Constants.SCRIPT_BALANCE_WORKERS ) ) return null;
+		final List<File> files = module.getInputFiles();
+		if( files.isEmpty() || !SeqUtil.isSeqFile( files.get( 0 ) ) ) return null;
+
+		final List<List<File>> samples = new ArrayList<>();
+		if( SeqUtil.hasPairedReads() ) {
+			final Map<File, File> pairs = SeqUtil.getPairedReads( files );
+			final List<File> fwReads = new ArrayList<>( pairs.keySet() );
+			Collections.sort( fwReads );
+			for( final File fwRead: fwReads )
+				samples.add( Arrays.asList( fwRead, pairs.get( fwRead ) ) );
+		} else for( final File file: files )
+			samples.add( Arrays.asList( file ) );
+
+		final int[] sampleEntries = matchSamples( samples, data );
+		if( sampleEntries == null ) {
+			Log.info( WorkerBatchUtil.class, "Unable to match worker script lines to samples, batch " +
+				module.getClass().getSimpleName() + " worker scripts by number of samples" );
+			return null;
+		}
+
+		final long[] costs = new long[ samples.size() ];
+		final String unit = getCosts( samples, costs );
+		final Integer[] order = new Integer[ samples.size() ];
+		for( int i = 0; i < order.length; i++ )
+			order[ i ] = i;
+		Arrays.sort( order, ( a, b ) -> costs[ a ] == costs[ b ] ? a - b: Long.compare( costs[ b ], costs[ a ] ) );
+
+		final int numWorkers = Math.min( ModuleUtil.getNumWorkers( module ), samples.size() );
+		final List<Batch> batches = new ArrayList<>();
+		final PriorityQueue<Batch> queue = new PriorityQueue<>( numWorkers,
+			( a, b ) -> a.load == b.load ? a.index - b.index: Long.compare( a.load, b.load ) );
+		for( int i = 0; i < numWorkers; i++ ) {
+			batches.add( new Batch( i, unit ) );
+			queue.add( batches.get( i ) );
+		}
+		for( final Integer sample: order ) {
+			final Batch batch = queue.poll();
+			batch.entries.add( sampleEntries[ sample ] );
+			batch.load += costs[ sample ];
+			queue.add( batch );
+		}
+
+		final List<Batch> ordered = new ArrayList<>();
+		Batch last = null;
+		for( final Batch batch: batches ) {
+			if( batch.entries.isEmpty() ) continue;
+			for( final Integer entry: batch.entries )
+				batch.data.add( data.get( entry ) );
+			if( batch.entries.last() == data.size() - 1 ) last = batch;
+			else ordered.add( batch );
+		}
+		if( last != null ) ordered.add( last );
+		return ordered;
+	}
+
+	/**
+	 * Build the module summary lines that report the predicted cost of each worker script, if saved by
+	 * {@link #saveLoads(ScriptModule, Map, String)}.
+	 *
+	 * @param module ScriptModule
+	 * @return Summary lines, or an empty String if the worker scripts were not balanced
+	 */
+	public static String getSummary( final ScriptModule module ) {
+		final File file = new File( module.getScriptDir(), LOADS_FILE );
+		if( !file.isFile() ) return "";
+		final StringBuffer sb = new StringBuffer();
+		try {
+			final BufferedReader reader = BioLockJUtil.getFileReader( file );
+			try {
+				final String unit = reader.readLine();
+				long min = Long.MAX_VALUE;
+				long max = 0L;
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final String[] cols = line.split( Constants.TAB_DELIM );
+					final long load = Long.parseLong( cols[ 1 ] );
+					min = Math.min( min, load );
+					max = Math.max( max, load );
+					sb.append( "Predicted load " + cols[ 0 ] + ": " + load + " " + unit + RETURN );
+				}
+				if( min > 0 && max > 0 ) sb.append( "Predicted max/min worker load: " +
+					String.format( "%.2f", (double) max / (double) min ) + RETURN );
+			} finally {
+				reader.close();
+			}
+		} catch( final Exception ex ) {
+			Log.warn( WorkerBatchUtil.class, "Unable to read predicted worker loads: " + file.getAbsolutePath() +
+				" --> " + ex.getMessage() );
+			return "";
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Save the predicted cost of each worker script to the module script directory.
+	 *
+	 * @param module ScriptModule
+	 * @param loads Map of worker script name to predicted cost, in worker order
+	 * @param unit Unit of the predicted cost, as returned by {@link Batch#getUnit()}
+	 * @throws IOException if unable to write the file
+	 */
+	public static void saveLoads( final ScriptModule module, final Map<String, Long> loads, final String unit )
+		throws IOException {
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( new File( module.getScriptDir(), LOADS_FILE ) ) );
+		try {
+			writer.write( unit + RETURN );
+			for( final String script: loads.keySet() )
+				writer.write( script + Constants.TAB_DELIM + loads.get( script ) + RETURN );
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Set the cost of each sample: the number of reads in the metadata if every sample has a value, otherwise the total
+	 * size of the sample files.
+	 *
+	 * @return Unit of the costs: "reads" or "bytes"
+	 */
+	private static String getCosts( final List<List<File>> samples, final long[] costs ) throws Exception {
+		final String field = RegisterNumReads.getNumReadFieldName();
+		boolean useReadCounts = field != null && MetaUtil.exists() && MetaUtil.hasColumn( field );
+		for( int i = 0; useReadCounts && i < costs.length; i++ ) {
+			final String sampleId = SeqUtil.getSampleId( samples.get( i ).get( 0 ) );
+			final String numReads = MetaUtil.hasSampleId( sampleId ) ? MetaUtil.getField( sampleId, field ): null;
+			if( numReads != null && numReads.matches( "[0-9]+" ) ) costs[ i ] = Long.parseLong( numReads );
+			else useReadCounts = false;
+		}
+
+		if( !useReadCounts ) for( int i = 0; i < costs.length; i++ ) {
+			costs[ i ] = 0L;
+			for( final File file: samples.get( i ) )
+				costs[ i ] += file.length();
+		}
+		return useReadCounts ? "reads": "bytes";
+	}
+
+	/**
+	 * Find the data element for each sample: the only element with a line that contains the name of one of the sample
+	 * files.
+	 *
+	 * @return Data index per sample, or null if any sample or element does not match exactly once
+	 */
+	private static int[] matchSamples( final List<List<File>> samples, final List<List<String>> data ) {
+		if( samples.size() != data.size() ) return null;
+		final int[] sampleEntries = new int[ samples.size() ];
+		final boolean[] matched = new boolean[ data.size() ];
+		for( int i = 0; i < samples.size(); i++ ) {
+			sampleEntries[ i ] = -1;
+			for( int j = 0; j < data.size(); j++ )
+				if( references( data.get( j ), samples.get( i ) ) ) {
+					if( sampleEntries[ i ] >= 0 || matched[ j ] ) return null;
+					sampleEntries[ i ] = j;
+					matched[ j ] = true;
+				}
+			if( sampleEntries[ i ] < 0 ) return null;
+		}
+		return sampleEntries;
+	}
+
+	private static boolean references( final List<String> lines, final List<File> files ) {
+		for( final String line: lines )
+			for( final File file: files )
+				if( line.contains( File.separator + file.getName() ) || line.startsWith( file.getName() ) ||
+					line.contains( " " + file.getName() ) ) return true;
+		return false;
+	}
+
+	/**
+	 * Name of the file in the module script directory that stores the predicted worker loads: {@value #LOADS_FILE}
+	 */
+	public static final String LOADS_FILE = ".workerLoads";
+
+	private static final String RETURN = Constants.RETURN;
+}